@@ -0,0 +1,197 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+
+// Mixed read/write traffic against a database filled by the datagen profile.
+// Every request is tagged with its endpoint; the summary reports throughput,
+// latency percentiles and errors per endpoint, and compares them with a
+// previous run when BASELINE points at its results file.
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8181';
+const USERNAME = __ENV.USERNAME || 'admin';
+const PASSWORD = __ENV.PASSWORD || 'admin123';
+const USER_PASSWORD = __ENV.USER_PASSWORD || 'password123';
+const CLIENT_USERS = Number(__ENV.CLIENT_USERS || 50);
+const LABEL = __ENV.LABEL || 'run';
+const DURATION = __ENV.DURATION || '3m';
+const BASELINE = __ENV.BASELINE ? JSON.parse(open(__ENV.BASELINE)) : null;
+
+// Relative share of each endpoint in the mix.
+const WEIGHTS = {
+    pets_page: 15,
+    pets_cursor: 15,
+    pet_by_id: 15,
+    appointments_page: 10,
+    appointments_cursor: 10,
+    appointments_by_pet: 10,
+    client_appointments: 15,
+    create_appointment: 8,
+    login: 2,
+};
+
+const ENDPOINTS = Object.keys(WEIGHTS);
+const TOTAL_WEIGHT = Object.values(WEIGHTS).reduce((a, b) => a + b, 0);
+const latency = Object.fromEntries(ENDPOINTS.map((e) => [e, new Trend(`endpoint_${e}_duration`, true)]));
+const failures = Object.fromEntries(ENDPOINTS.map((e) => [e, new Counter(`endpoint_${e}_failures`)]));
+
+export const options = {
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max', 'count'],
+    scenarios: {
+        mixed: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 100),
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function login(name, password) {
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ name, password }), {
+        headers: { 'Content-Type': 'application/json' },
+        tags: { endpoint: 'login' },
+    });
+    return res.status === 200 ? res.json('token') : null;
+}
+
+export function setup() {
+    const admin = login(USERNAME, PASSWORD);
+    check(admin, { 'admin logged in': (token) => token !== null });
+
+    // user_0 owns the hottest client, so the first users cover the heavy
+    // owners as well as ordinary ones.
+    const clients = [];
+    for (let i = 0; i < CLIENT_USERS; i++) {
+        const token = login(`user_${i}`, USER_PASSWORD);
+        if (token)
+            clients.push(token);
+    }
+
+    const petIds = [];
+    let cursor = null;
+    for (let page = 0; page < 5; page++) {
+        const query = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+        const res = http.get(`${BASE_URL}/api/v1/pets/cursor?size=1000${query}`, { headers: { Authorization: admin } });
+        if (res.status !== 200)
+            break;
+        res.json('content').forEach((pet) => petIds.push(pet.id));
+        cursor = res.json('nextCursor');
+        if (!res.json('hasNext'))
+            break;
+    }
+
+    check(petIds, { 'pets found': (ids) => ids.length > 0 });
+    return { admin, clients, petIds };
+}
+
+function pick(values) {
+    return values[Math.floor(Math.random() * values.length)];
+}
+
+function chooseEndpoint() {
+    let roll = Math.random() * TOTAL_WEIGHT;
+    for (const endpoint of ENDPOINTS) {
+        roll -= WEIGHTS[endpoint];
+        if (roll < 0)
+            return endpoint;
+    }
+    return ENDPOINTS[0];
+}
+
+function call(endpoint, data) {
+    const admin = { headers: { Authorization: data.admin }, tags: { endpoint } };
+    const page = Math.floor(Math.random() * 20);
+
+    switch (endpoint) {
+        case 'pets_page':
+            return http.get(`${BASE_URL}/api/v1/pets?page=${page}&size=50`, admin);
+        case 'pets_cursor':
+            return http.get(`${BASE_URL}/api/v1/pets/cursor?size=50`, admin);
+        case 'pet_by_id':
+            return http.get(`${BASE_URL}/api/v1/pets/${pick(data.petIds)}`, admin);
+        case 'appointments_page':
+            return http.get(`${BASE_URL}/api/v1/appointments?page=${page}&size=50`, admin);
+        case 'appointments_cursor':
+            return http.get(`${BASE_URL}/api/v1/appointments/cursor?size=50`, admin);
+        case 'appointments_by_pet':
+            return http.get(`${BASE_URL}/api/v1/appointments/pet/${pick(data.petIds)}?page=0&size=20`, admin);
+        case 'client_appointments':
+            return http.get(`${BASE_URL}/api/v1/appointments?page=0&size=50`, {
+                headers: { Authorization: pick(data.clients.length ? data.clients : [data.admin]) },
+                tags: { endpoint },
+            });
+        case 'create_appointment':
+            return http.post(`${BASE_URL}/api/v1/appointments`, JSON.stringify({
+                petId: pick(data.petIds),
+                description: 'Consulta de carga',
+                cost: 120.5,
+                date: new Date().toISOString().slice(0, 19),
+            }), { headers: { Authorization: data.admin, 'Content-Type': 'application/json' }, tags: { endpoint } });
+        default:
+            return http.post(`${BASE_URL}/auth/login`, JSON.stringify({ name: USERNAME, password: PASSWORD }), {
+                headers: { 'Content-Type': 'application/json' },
+                tags: { endpoint },
+            });
+    }
+}
+
+export default function (data) {
+    const endpoint = chooseEndpoint();
+    const res = call(endpoint, data);
+
+    latency[endpoint].add(res.timings.duration);
+    if (!check(res, { [`${endpoint} 2xx`]: (r) => r.status >= 200 && r.status < 300 }))
+        failures[endpoint].add(1);
+}
+
+function delta(current, previous) {
+    if (previous === undefined || previous === null || previous === 0 || current === null)
+        return '';
+    const change = ((current - previous) / previous) * 100;
+    return ` (${change >= 0 ? '+' : ''}${change.toFixed(1)}%)`;
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const result = { label: LABEL, vus: options.scenarios.mixed.vus, durationSeconds: seconds, endpoints: {} };
+
+    for (const endpoint of ENDPOINTS) {
+        const trend = data.metrics[`endpoint_${endpoint}_duration`];
+        const failed = data.metrics[`endpoint_${endpoint}_failures`];
+        const count = trend ? trend.values.count : 0;
+
+        result.endpoints[endpoint] = {
+            requests: count,
+            throughput: count / seconds,
+            errors: failed ? failed.values.count : 0,
+            p50: trend ? trend.values['p(50)'] : null,
+            p95: trend ? trend.values['p(95)'] : null,
+            p99: trend ? trend.values['p(99)'] : null,
+            max: trend ? trend.values.max : null,
+        };
+    }
+
+    const lines = [`endpoint               req/s        p50 ms       p95 ms       p99 ms       errors`];
+    for (const endpoint of ENDPOINTS) {
+        const current = result.endpoints[endpoint];
+        const previous = BASELINE ? BASELINE.endpoints[endpoint] || {} : {};
+        const cell = (key, digits) => (current[key] === null ? '-' : current[key].toFixed(digits))
+            + delta(current[key], previous[key]);
+
+        lines.push([
+            endpoint.padEnd(22),
+            cell('throughput', 1).padEnd(12),
+            cell('p50', 1).padEnd(12),
+            cell('p95', 1).padEnd(12),
+            cell('p99', 1).padEnd(12),
+            String(current.errors),
+        ].join(' '));
+    }
+
+    return {
+        stdout: (BASELINE ? `compared with ${BASELINE.label}\n` : '') + lines.join('\n') + '\n',
+        [`loadtest/results/dataset-${LABEL}.json`]: JSON.stringify(result, null, 2),
+    };
+}
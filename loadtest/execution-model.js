@@ -0,0 +1,102 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8181';
+const USERNAME = __ENV.USERNAME || 'admin';
+const PASSWORD = __ENV.PASSWORD || 'admin123';
+const MODE = __ENV.MODE || 'platform';
+const PET_ID = __ENV.PET_ID || '1';
+const DURATION = __ENV.DURATION || '2m';
+const IMAGE = open('../grafana.jpg', 'b');
+
+const SCENARIOS = ['login', 'lists', 'download', 'upload'];
+
+export const options = {
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    scenarios: {
+        login: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.LOGIN_RATE || 20),
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 50,
+            maxVUs: 200,
+            exec: 'login',
+        },
+        lists: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 100),
+            duration: DURATION,
+            exec: 'lists',
+        },
+        download: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 100),
+            duration: DURATION,
+            exec: 'download',
+        },
+        upload: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.UPLOAD_VUS || 20),
+            duration: DURATION,
+            exec: 'upload',
+        },
+    },
+    thresholds: Object.fromEntries(SCENARIOS.flatMap((scenario) => [
+        [`http_req_duration{scenario:${scenario}}`, ['p(99)<2000']],
+        [`http_reqs{scenario:${scenario}}`, ['count>0']],
+    ])),
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ name: USERNAME, password: PASSWORD }), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'logged in': (r) => r.status === 200 });
+    return { token: res.json('token') };
+}
+
+export function login() {
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ name: USERNAME, password: PASSWORD }), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'login 200': (r) => r.status === 200 });
+}
+
+export function lists(data) {
+    const page = Math.floor(Math.random() * 10);
+    const res = http.get(`${BASE_URL}/api/v1/pets?page=${page}&size=50`, { headers: { Authorization: data.token } });
+    check(res, { 'lists 200': (r) => r.status === 200 });
+}
+
+export function download(data) {
+    const res = http.get(`${BASE_URL}/api/v1/pets/${PET_ID}/download-image`, { headers: { Authorization: data.token } });
+    check(res, { 'download 200': (r) => r.status === 200 });
+}
+
+export function upload(data) {
+    const res = http.put(`${BASE_URL}/api/v1/pets/${PET_ID}/image`, IMAGE, {
+        headers: { Authorization: data.token, 'Content-Type': 'image/jpeg' },
+    });
+    check(res, { 'upload 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const result = { mode: MODE, scenarios: {} };
+
+    for (const scenario of SCENARIOS) {
+        const duration = data.metrics[`http_req_duration{scenario:${scenario}}`];
+        const requests = data.metrics[`http_reqs{scenario:${scenario}}`];
+
+        result.scenarios[scenario] = {
+            throughput: requests ? requests.values.rate : 0,
+            p99: duration ? duration.values['p(99)'] : null,
+            p95: duration ? duration.values['p(95)'] : null,
+        };
+    }
+
+    return {
+        stdout: JSON.stringify(result, null, 2) + '\n',
+        [`loadtest/results/execution-model-${MODE}.json`]: JSON.stringify(result, null, 2),
+    };
+}
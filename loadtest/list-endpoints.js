@@ -0,0 +1,41 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8181';
+const USERNAME = __ENV.USERNAME || 'admin';
+const PASSWORD = __ENV.PASSWORD || 'admin123';
+const PAGE_SIZE = __ENV.PAGE_SIZE || '100';
+
+export const options = {
+    scenarios: {
+        lists: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 50),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'http_req_duration{endpoint:pets}': ['p(95)<200'],
+        'http_req_duration{endpoint:appointments}': ['p(95)<200'],
+        'http_req_duration{endpoint:clients}': ['p(95)<200'],
+    },
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ name: USERNAME, password: PASSWORD }), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'logged in': (r) => r.status === 200 });
+    return { token: res.json('token') };
+}
+
+export default function (data) {
+    const params = (endpoint) => ({ headers: { Authorization: data.token }, tags: { endpoint } });
+    const page = Math.floor(Math.random() * 10);
+
+    for (const endpoint of ['pets', 'appointments', 'clients']) {
+        const res = http.get(`${BASE_URL}/api/v1/${endpoint}?page=${page}&size=${PAGE_SIZE}`, params(endpoint));
+        check(res, { [`${endpoint} 200`]: (r) => r.status === 200 });
+    }
+}
@@ -0,0 +1,79 @@
+package com.pedro.petshop.configs;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY = "SuaChaveSecretaMuitoSeguraParaJWT";
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(SECRET_KEY, 10000, 60);
+        token = jwtUtil.generateToken("admin", Map.of("cpf", "12345678900", "role", "ADMIN"));
+        tamperedToken = token.substring(0, token.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public Claims legacyRequestPath() {
+        String username = legacyParse(token).getSubject();
+        boolean valid = username.equals(legacyParse(token).getSubject())
+                && !legacyParse(token).getExpiration().before(new Date());
+
+        return valid ? legacyParse(token) : null;
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> cachedVerify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> cachedReject() {
+        return jwtUtil.verify(tamperedToken);
+    }
+
+    private Claims legacyParse(String value) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(value)
+                .getPayload();
+    }
+}
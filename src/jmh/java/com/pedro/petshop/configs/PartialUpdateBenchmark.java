@@ -0,0 +1,104 @@
+package com.pedro.petshop.configs;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import com.pedro.petshop.entities.Address;
+import com.pedro.petshop.entities.Breed;
+import com.pedro.petshop.entities.Client;
+import com.pedro.petshop.entities.Pet;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartialUpdateBenchmark {
+
+    private Pet petChanges;
+    private Pet existingPet;
+    private Address addressChanges;
+    private Address existingAddress;
+
+    @Setup
+    public void setup() {
+        Client client = new Client();
+        client.setId(1L);
+        Breed breed = new Breed();
+        breed.setId(2L);
+
+        existingPet = new Pet();
+        existingPet.setId(10L);
+        existingPet.setClient(client);
+        existingPet.setBreed(breed);
+        existingPet.setName("Buddy");
+        existingPet.setBirthDate(LocalDate.of(2020, 5, 15));
+
+        petChanges = new Pet();
+        petChanges.setName("Bella");
+
+        existingAddress = new Address();
+        existingAddress.setId(20L);
+        existingAddress.setClient(client);
+        existingAddress.setStreet("Rua A");
+        existingAddress.setCity("Sao Paulo");
+        existingAddress.setTag("Casa");
+
+        addressChanges = new Address();
+        addressChanges.setCity("Campinas");
+        addressChanges.setComplement("Apto 12");
+    }
+
+    @Benchmark
+    public Pet legacyPet() {
+        BeanUtils.copyProperties(petChanges, existingPet, legacyNullPropertyNames(petChanges));
+        return existingPet;
+    }
+
+    @Benchmark
+    public Pet partialUpdatePet() {
+        PartialUpdate.copyNonNullProperties(petChanges, existingPet);
+        return existingPet;
+    }
+
+    @Benchmark
+    public Address legacyAddress() {
+        BeanUtils.copyProperties(addressChanges, existingAddress, legacyNullPropertyNames(addressChanges));
+        return existingAddress;
+    }
+
+    @Benchmark
+    public Address partialUpdateAddress() {
+        PartialUpdate.copyNonNullProperties(addressChanges, existingAddress);
+        return existingAddress;
+    }
+
+    private static String[] legacyNullPropertyNames(Object source) {
+        return Arrays.stream(BeanUtils.getPropertyDescriptors(source.getClass()))
+                .map(pd -> {
+                    try {
+                        return pd.getReadMethod() != null && pd.getReadMethod().invoke(source) == null ? pd.getName()
+                                : null;
+                    } catch (Exception e) {
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .toArray(String[]::new);
+    }
+}
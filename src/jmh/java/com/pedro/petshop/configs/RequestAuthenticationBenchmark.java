@@ -0,0 +1,143 @@
+package com.pedro.petshop.configs;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import com.pedro.petshop.entities.User;
+import com.pedro.petshop.enums.Role;
+import com.pedro.petshop.repositories.UserRepository;
+import com.pedro.petshop.services.UserRoleCacheService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestAuthenticationBenchmark {
+
+    private static final String SECRET_KEY = "SuaChaveSecretaMuitoSeguraParaJWT";
+    private static final Map<String, Object> CLAIMS = Map.of("cpf", "12345678900", "role", "ADMIN");
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private RolesAllowedInterceptor interceptor;
+    private HandlerMethod handler;
+    private String authorization;
+    private String tamperedAuthorization;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        jwtUtil = new JwtUtil(SECRET_KEY, 10000, 60);
+        filter = new JwtAuthenticationFilter(jwtUtil);
+        // A zero-sized verify cache drops every entry, so each request parses and checks the signature.
+        uncachedFilter = new JwtAuthenticationFilter(new JwtUtil(SECRET_KEY, 0, 60));
+
+        String token = jwtUtil.generateToken("admin", CLAIMS);
+        authorization = "Bearer " + token;
+        tamperedAuthorization = "Bearer " + token.substring(0, token.length() - 2) + "xx";
+
+        User admin = new User();
+        admin.setCpf("12345678900");
+        admin.setName("admin");
+        admin.setRole(Role.ADMIN);
+        interceptor = new RolesAllowedInterceptor(new UserRoleCacheService(userRepository(admin),
+                new SimpleMeterRegistry(), 10000, 300));
+        handler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("list"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("admin", CLAIMS);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterValidToken() throws ServletException, IOException {
+        return filter(filter, authorization);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterValidTokenCacheMiss() throws ServletException, IOException {
+        return filter(uncachedFilter, authorization);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterTamperedToken() throws ServletException, IOException {
+        return filter(filter, tamperedAuthorization);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterAnonymous() throws ServletException, IOException {
+        return filter(filter, null);
+    }
+
+    @Benchmark
+    public boolean rolesAllowed() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new CustomAuthentication("admin", "12345678900",
+                "ADMIN", null));
+        try {
+            return interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public RolesAllowed annotationLookupPerRequest() {
+        return new HandlerMethod(handler.getBean(), handler.getMethod()).getMethodAnnotation(RolesAllowed.class);
+    }
+
+    private static MockHttpServletResponse filter(JwtAuthenticationFilter filter, String header)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pets");
+        if (header != null)
+            request.addHeader("Authorization", header);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return response;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static UserRepository userRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] { UserRepository.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("findByName"))
+                        return Optional.of(user);
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static class Endpoints {
+
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        public void list() {
+        }
+    }
+}
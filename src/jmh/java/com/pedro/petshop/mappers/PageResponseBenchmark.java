@@ -0,0 +1,119 @@
+package com.pedro.petshop.mappers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedro.petshop.dtos.AppointmentDTO;
+import com.pedro.petshop.dtos.ContactDTO;
+import com.pedro.petshop.entities.Appointment;
+import com.pedro.petshop.entities.Client;
+import com.pedro.petshop.entities.Contact;
+import com.pedro.petshop.entities.Pet;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageResponseBenchmark {
+
+    @Param({ "20", "50" })
+    private int size;
+
+    private final AppointmentMapper appointmentMapper = new AppointmentMapperImpl();
+    private final ContactMapper contactMapper = new ContactMapperImpl();
+    // Same defaults Spring Boot applies to the MVC converter (JavaTimeModule,
+    // ISO dates instead of timestamps).
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Appointment appointment;
+    private Page<Appointment> appointments;
+    private Page<Contact> contacts;
+    private PagedModel<AppointmentDTO> appointmentModel;
+
+    @Setup
+    public void setup() {
+        Client client = new Client();
+        client.setId(1L);
+
+        List<Appointment> appointmentRows = new ArrayList<>(size);
+        List<Contact> contactRows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Pet pet = new Pet();
+            pet.setId((long) i % 7);
+            pet.setClient(client);
+
+            Appointment row = new Appointment();
+            row.setId((long) i);
+            row.setPet(pet);
+            row.setDescription("Consulta de rotina");
+            row.setCost(120.5 + i);
+            row.setDate(LocalDateTime.of(2024, 3, 1, 9, 0).plusHours(i));
+            appointmentRows.add(row);
+
+            Contact contact = new Contact();
+            contact.setId((long) i);
+            contact.setClient(client);
+            contact.setTag("Pessoal");
+            contact.setType("EMAIL");
+            contact.setValue("contato" + i + "@example.com");
+            contactRows.add(contact);
+        }
+
+        PageRequest pageable = PageRequest.of(3, size);
+        appointment = appointmentRows.get(0);
+        appointments = new PageImpl<>(appointmentRows, pageable, 10_000);
+        contacts = new PageImpl<>(contactRows, pageable, 10_000);
+        appointmentModel = new PagedModel<>(appointments.map(appointmentMapper::toDto));
+    }
+
+    @Benchmark
+    public AppointmentDTO appointmentToDto() {
+        return appointmentMapper.toDto(appointment);
+    }
+
+    @Benchmark
+    public Page<AppointmentDTO> appointmentPageToDto() {
+        return appointments.map(appointmentMapper::toDto);
+    }
+
+    @Benchmark
+    public Page<ContactDTO> contactPageToPageDTO() {
+        return contactMapper.pageToPageDTO(contacts);
+    }
+
+    // What the controller returns: Page<AppointmentDTO> written as PagedModel
+    // (pageSerializationMode = VIA_DTO in WebConfig).
+    @Benchmark
+    public byte[] serializeAppointmentPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointmentModel);
+    }
+
+    // Mapping and serialization together, as one paged GET spends it.
+    @Benchmark
+    public byte[] mapAndSerializeAppointmentPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(appointments.map(appointmentMapper::toDto)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageStoreBenchmark {
+
+    @Param({ "filesystem", "pack" })
+    private String backend;
+
+    @Param({ "4096" })
+    private int imageSize;
+
+    @Param({ "10000" })
+    private int images;
+
+    private Path root;
+    private ImageStore store;
+    private String[] keys;
+    private Path upload;
+    private long uploads;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("image-store-benchmark");
+        store = backend.equals("pack")
+                ? new PackFileImageStore(new SimpleMeterRegistry(), root.toString(), 256L << 20, 0.5)
+                : new FileSystemImageStore(root.toString());
+
+        Random random = new Random(42);
+        byte[] content = new byte[imageSize];
+        keys = new String[images];
+
+        for (int i = 0; i < images; i++) {
+            random.nextBytes(content);
+            keys[i] = HexFormat.of().formatHex(content, 0, 32);
+
+            Path temporary = store.createTempFile(".tmp");
+            Files.write(temporary, content);
+            store.put(keys[i], temporary);
+            Files.deleteIfExists(temporary);
+        }
+
+        random.nextBytes(content);
+        upload = Files.write(root.resolve("upload.bin"), content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (store instanceof PackFileImageStore pack)
+            pack.close();
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.deleteIfExists(path);
+        }
+    }
+
+    @Benchmark
+    public long readRandomImage() throws IOException {
+        String key = keys[ThreadLocalRandom.current().nextInt(images)];
+
+        try (InputStream in = store.open(key, "image/jpeg", key).orElseThrow().getResource().getInputStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public boolean containsRandomImage() {
+        return store.contains(keys[ThreadLocalRandom.current().nextInt(images)]);
+    }
+
+    @Benchmark
+    public void putImage() throws IOException {
+        Path temporary = store.createTempFile(".tmp");
+        Files.copy(upload, temporary, StandardCopyOption.REPLACE_EXISTING);
+        store.put(String.format("%064x", uploads++), temporary);
+        Files.deleteIfExists(temporary);
+    }
+}
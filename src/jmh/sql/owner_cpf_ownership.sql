@@ -0,0 +1,72 @@
+-- Compares the old ownership joins (appointments -> pets -> clients -> users)
+-- with the denormalized owner_cpf filter on a generated dataset.
+--
+-- Run against a scratch database after the Flyway migrations:
+--   psql -h localhost -U postgres -d petshop_bench -f src/jmh/sql/owner_cpf_ownership.sql
+
+\timing on
+
+TRUNCATE appointments, pets, contacts, address, clients, breeds, users RESTART IDENTITY CASCADE;
+
+INSERT INTO users (cpf, name, role, password)
+SELECT lpad(g::text, 11, '0'), 'user_' || g, 'CLIENT', 'x'
+FROM generate_series(1, 50000) g;
+
+INSERT INTO clients (name, cpf)
+SELECT 'client_' || g, lpad(((g - 1) % 50000 + 1)::text, 11, '0')
+FROM generate_series(1, 100000) g;
+
+INSERT INTO breeds (description)
+SELECT 'breed_' || g FROM generate_series(1, 200) g;
+
+INSERT INTO pets (client_id, breed_id, name, birth_date)
+SELECT (g - 1) % 100000 + 1, (g - 1) % 200 + 1, 'pet_' || g, DATE '2015-01-01' + (g % 3000)
+FROM generate_series(1, 500000) g;
+
+INSERT INTO appointments (pet_id, description, cost, date)
+SELECT (g - 1) % 500000 + 1, 'appointment_' || g, (g % 500) + 0.99,
+       TIMESTAMP '2020-01-01' + (g % 1500) * INTERVAL '1 day'
+FROM generate_series(1, 5000000) g;
+
+ANALYZE;
+
+-- A cpf in the middle of the range owns 2 clients, 10 pets and 100 appointments.
+\set cpf '''00000025000'''
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.* FROM appointments a
+JOIN pets p ON p.id = a.pet_id
+JOIN clients c ON c.id = p.client_id
+JOIN users u ON u.cpf = c.cpf
+WHERE u.cpf = :cpf
+ORDER BY a.date, a.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.* FROM appointments a
+WHERE a.owner_cpf = :cpf
+ORDER BY a.date, a.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(a.id) > 0 FROM appointments a
+JOIN pets p ON p.id = a.pet_id
+JOIN clients c ON c.id = p.client_id
+JOIN users u ON u.cpf = c.cpf
+WHERE a.id = 2500000 AND u.cpf = :cpf;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(a.id) > 0 FROM appointments a
+WHERE a.id = 2500000 AND a.owner_cpf = :cpf;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM pets p
+JOIN clients c ON c.id = p.client_id
+JOIN users u ON u.cpf = c.cpf
+WHERE u.cpf = :cpf
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM pets p
+WHERE p.owner_cpf = :cpf
+LIMIT 20;
@@ -0,0 +1,75 @@
+package com.pedro.petshop.configs;
+
+/**
+ * Gradient concurrency limit: compares a slow moving average of request
+ * latency with the latest sample and shrinks the limit when requests start
+ * queueing, growing it back by roughly sqrt(limit) while latency is flat.
+ */
+public class AdaptiveLimit {
+
+    private static final double LONG_RTT_SMOOTHING = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double reservedFraction;
+
+    private double limit;
+    private double longRtt;
+    private int inFlight;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+            double reservedFraction) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.reservedFraction = reservedFraction;
+    }
+
+    /**
+     * Priority requests may use the whole limit; the rest stop at the share
+     * left after {@code reservedFraction}, so /auth and admins still get in
+     * while regular traffic is being shed.
+     */
+    public synchronized boolean tryAcquire(boolean priority) {
+        int allowed = priority ? (int) limit : Math.max(1, (int) (limit * (1 - reservedFraction)));
+        if (inFlight >= allowed)
+            return false;
+
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release(long rttNanos, boolean sample) {
+        int observedInFlight = inFlight--;
+        if (!sample || rttNanos <= 0)
+            return;
+
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            return;
+        }
+
+        longRtt = longRtt * (1 - LONG_RTT_SMOOTHING) + rttNanos * LONG_RTT_SMOOTHING;
+        if (longRtt / rttNanos > 2)
+            longRtt *= 0.95;
+
+        if (observedInFlight < limit / 2)
+            return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,94 @@
+package com.pedro.petshop.configs;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Caps how many threads use a scarce resource at once. With virtual threads
+ * the request pool no longer does that, so callers past the limit wait here
+ * for up to {@code maxWaitMillis} and then fail fast instead of piling up on
+ * the resource itself. Rejections surface as {@link BulkheadFullException}.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final Counter rejected;
+    private final Timer waits;
+
+    public Bulkhead(String name, int permits, long maxWaitMillis, long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejected = Counter.builder("petshop.bulkhead.rejected")
+                .tag("bulkhead", name)
+                .description("Calls that gave up waiting for a bulkhead permit")
+                .register(meterRegistry);
+        this.waits = Timer.builder("petshop.bulkhead.wait")
+                .tag("bulkhead", name)
+                .description("Time spent waiting for a bulkhead permit")
+                .register(meterRegistry);
+        Gauge.builder("petshop.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .tag("bulkhead", name)
+                .description("Bulkhead permits currently free")
+                .register(meterRegistry);
+        Gauge.builder("petshop.bulkhead.permits", () -> permits)
+                .tag("bulkhead", name)
+                .description("Bulkhead size")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        long start = System.nanoTime();
+
+        try {
+            boolean acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            if (!acquired)
+                rejected.increment();
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public BulkheadFullException rejection() {
+        return new BulkheadFullException(name, retryAfterSeconds);
+    }
+
+    public <T, E extends Exception> T call(Task<T, E> task) throws E {
+        if (!tryAcquire())
+            throw rejection();
+
+        try {
+            return task.run();
+        } finally {
+            release();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task<T, E extends Exception> {
+        T run() throws E;
+    }
+}
@@ -0,0 +1,56 @@
+package com.pedro.petshop.configs;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkhead diskBulkhead(MeterRegistry meterRegistry,
+            @Value("${bulkhead.disk.permits:16}") int permits,
+            @Value("${bulkhead.max-wait-ms:2000}") long maxWaitMillis,
+            @Value("${bulkhead.retry-after-seconds:1}") long retryAfterSeconds) {
+        return new Bulkhead("disk", permits, maxWaitMillis, retryAfterSeconds, meterRegistry);
+    }
+
+    // On platform threads the request pool already caps database callers and
+    // Hikari's own connection timeout applies, so the pool is only fronted
+    // with a bulkhead in virtual-thread mode.
+    @Configuration
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    static class DatabaseBulkheadConfig {
+
+        @Bean
+        public Bulkhead databaseBulkhead(MeterRegistry meterRegistry,
+                @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                @Value("${bulkhead.max-wait-ms:2000}") long maxWaitMillis,
+                @Value("${bulkhead.retry-after-seconds:1}") long retryAfterSeconds) {
+            return new Bulkhead("database", poolSize, maxWaitMillis, retryAfterSeconds, meterRegistry);
+        }
+
+        @Bean
+        public static BeanPostProcessor databaseBulkheadPostProcessor(
+                @Qualifier("databaseBulkhead") ObjectProvider<Bulkhead> databaseBulkhead) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource))
+                        return new BulkheadDataSource(dataSource, databaseBulkhead.getObject());
+
+                    return bean;
+                }
+            };
+        }
+    }
+}
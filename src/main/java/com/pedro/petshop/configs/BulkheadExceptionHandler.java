@@ -0,0 +1,32 @@
+package com.pedro.petshop.configs;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import jakarta.persistence.PersistenceException;
+
+/**
+ * A full database bulkhead surfaces from {@link BulkheadDataSource} as a
+ * {@code SQLException}, which Spring and Hibernate wrap on the way up. This
+ * unwraps it back to 503 with {@code Retry-After}; any other failure is
+ * rethrown untouched.
+ */
+@RestControllerAdvice
+public class BulkheadExceptionHandler {
+
+    @ExceptionHandler({ TransactionException.class, DataAccessException.class, PersistenceException.class })
+    public ResponseEntity<ProblemDetail> handleBulkheadFull(Exception e) throws Exception {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException rejected)
+                return ResponseEntity.status(rejected.getStatusCode())
+                        .headers(rejected.getHeaders())
+                        .body(rejected.getBody());
+        }
+
+        throw e;
+    }
+}
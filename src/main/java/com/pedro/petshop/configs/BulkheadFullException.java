@@ -0,0 +1,25 @@
+package com.pedro.petshop.configs;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A call that gave up waiting for a bulkhead permit. Resolves to 503 with
+ * {@code Retry-After}, directly or as the cause of a wrapped exception (see
+ * {@link BulkheadExceptionHandler}).
+ */
+public class BulkheadFullException extends ResponseStatusException {
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    public BulkheadFullException(String bulkhead, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "The " + bulkhead + " bulkhead is full");
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,165 @@
+package com.pedro.petshop.configs;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.pedro.petshop.enums.Role;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern IMAGE_PATH = Pattern
+            .compile("^/api/v1/(images|uploads)(/.*)?$|^/api/v1/\\w+/\\d+/(image|upload-image|download-image)(/.*)?$");
+    private static final Pattern BULK_PATH = Pattern.compile("^/api/v1/imports(/.*)?$|^/api/v1/\\w+/(bulk|export)$");
+    private static final Pattern ITEM_PATH = Pattern.compile(".*/\\d+$");
+
+    public enum Group {
+        AUTH, IMAGE, BULK, LIST, CRUD
+    }
+
+    private final Map<Group, AdaptiveLimit> limits = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> rejected = new EnumMap<>(Group.class);
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry, int initialLimit, int minLimit, int maxLimit,
+            double tolerance, double smoothing, double reservedFraction, long retryAfterSeconds) {
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+
+        for (Group group : Group.values()) {
+            AdaptiveLimit limit = new AdaptiveLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+                    reservedFraction);
+            String tag = group.name().toLowerCase();
+
+            limits.put(group, limit);
+            rejected.put(group, Counter.builder("petshop.concurrency.rejected")
+                    .tag("group", tag)
+                    .description("Requests shed with 503 because the group was at its concurrency limit")
+                    .register(meterRegistry));
+            Gauge.builder("petshop.concurrency.limit", limit, AdaptiveLimit::limit)
+                    .tag("group", tag)
+                    .description("Current adaptive concurrency limit")
+                    .register(meterRegistry);
+            Gauge.builder("petshop.concurrency.in.flight", limit, AdaptiveLimit::inFlight)
+                    .tag("group", tag)
+                    .description("Requests currently being served")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        Group group = group(request);
+        AdaptiveLimit limit = limits.get(group);
+
+        if (!limit.tryAcquire(group == Group.AUTH || isAdmin())) {
+            rejected.get(group).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+
+        try {
+            filterChain.doFilter(request, response);
+
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener(limit));
+                async = true;
+            }
+        } finally {
+            if (!async)
+                limit.release(System.nanoTime() - start, response.getStatus() < 500);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator") || path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs");
+    }
+
+    private static Group group(HttpServletRequest request) {
+        String path = request.getRequestURI();
+
+        if (path.startsWith("/auth"))
+            return Group.AUTH;
+        if (IMAGE_PATH.matcher(path).matches())
+            return Group.IMAGE;
+        if (BULK_PATH.matcher(path).matches())
+            return Group.BULK;
+        if (request.getMethod().equals("GET") && !ITEM_PATH.matcher(path).matches())
+            return Group.LIST;
+
+        return Group.CRUD;
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        return authentication instanceof CustomAuthentication customAuth
+                && Role.ADMIN.toString().equals(customAuth.getRole());
+    }
+
+    // Streamed bodies last as long as the client takes to send them, so async
+    // requests hold a slot but do not feed their duration into the gradient.
+    private static final class ReleaseListener implements AsyncListener {
+
+        private final AdaptiveLimit limit;
+        private boolean released;
+
+        ReleaseListener(AdaptiveLimit limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void release() {
+            if (released)
+                return;
+
+            released = true;
+            limit.release(0, false);
+        }
+    }
+}
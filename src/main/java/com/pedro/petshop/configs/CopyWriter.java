@@ -0,0 +1,70 @@
+package com.pedro.petshop.configs;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Feeds rows to {@code COPY ... FROM STDIN WITH (FORMAT csv)}, encoding them
+ * into 64 KiB chunks so the driver sends few, large messages. Strings are
+ * always quoted, so an empty string stays distinct from {@code NULL}. Closing
+ * without {@link #finish()} cancels the copy.
+ */
+public class CopyWriter implements AutoCloseable {
+
+    private static final int CHUNK = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder chunk = new StringBuilder(CHUNK * 2);
+    private boolean rowStarted;
+
+    public CopyWriter(PGConnection connection, String table, List<String> columns) throws SQLException {
+        this.copyIn = connection.getCopyAPI()
+                .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    public CopyWriter field(Object value) {
+        if (rowStarted)
+            chunk.append(',');
+        rowStarted = true;
+
+        if (value instanceof Number)
+            chunk.append(value);
+        else if (value != null)
+            chunk.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+
+        return this;
+    }
+
+    public void endRow() throws SQLException {
+        chunk.append('\n');
+        rowStarted = false;
+
+        if (chunk.length() >= CHUNK)
+            flush();
+    }
+
+    /**
+     * Sends the last chunk and completes the copy, returning the number of
+     * rows the server stored.
+     */
+    public long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive())
+            copyIn.cancelCopy();
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+}
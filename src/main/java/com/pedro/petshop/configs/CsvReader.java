@@ -0,0 +1,154 @@
+package com.pedro.petshop.configs;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: one record at a time, quoted fields may hold
+ * commas, doubled quotes and line breaks. A leading byte order mark is
+ * skipped. Fields longer than {@code maxFieldLength} fail the read instead of
+ * growing without bound.
+ */
+public class CsvReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    public CsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at the end of the input. Blank
+     * lines are skipped.
+     */
+    public String[] next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF')
+                c = read();
+        }
+
+        while (c == '\r' || c == '\n') {
+            newLine(c);
+            c = read();
+        }
+
+        if (c == EOF)
+            return null;
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+
+        while (true) {
+            field.setLength(0);
+
+            if (c == '"')
+                c = quoted();
+
+            while (c != ',' && c != '\r' && c != '\n' && c != EOF) {
+                append(c);
+                c = read();
+            }
+
+            fields.add(field.toString());
+
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+
+            if (c != EOF)
+                newLine(c);
+
+            return fields.toArray(String[]::new);
+        }
+    }
+
+    /**
+     * Physical line on which the last record returned by {@link #next()}
+     * started, counting from 1.
+     */
+    public long line() {
+        return recordLine;
+    }
+
+    private int quoted() throws IOException {
+        while (true) {
+            int c = read();
+
+            if (c == EOF)
+                throw new MalformedCsvException("Unterminated quoted field starting on line " + recordLine);
+
+            if (c == '"') {
+                c = read();
+                if (c != '"')
+                    return c;
+            } else if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                line++;
+            }
+
+            append(c);
+        }
+    }
+
+    private void newLine(int c) throws IOException {
+        if (c == '\r' && peek() == '\n')
+            read();
+
+        line++;
+    }
+
+    private void append(int c) throws IOException {
+        if (field.length() >= maxFieldLength)
+            throw new MalformedCsvException("Field longer than " + maxFieldLength + " characters on line " + line);
+
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill())
+            return EOF;
+
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill())
+            return EOF;
+
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+
+        return true;
+    }
+
+    public static class MalformedCsvException extends IOException {
+
+        public MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.pedro.petshop.configs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.pedro.petshop.dtos.CursorPageDTO;
+
+public class CursorCodec {
+
+    public static final int MAX_SIZE = 1000;
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(Object... parts) {
+        String raw = Arrays.stream(parts)
+                .map(part -> part == null ? "" : part.toString())
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<String[]> decode(String cursor, int parts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = raw.split(Pattern.quote(SEPARATOR), -1);
+            return values.length == parts ? Optional.of(values) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public static <T> CursorPageDTO<T> page(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null;
+
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,280 @@
+package com.pedro.petshop.configs;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pedro.petshop.enums.Role;
+import com.pedro.petshop.services.PasswordHashingService;
+
+/**
+ * Fills the schema with a synthetic dataset when the {@code datagen} profile
+ * is active. Pets, appointments, contacts and addresses pick their owner with
+ * a power-law skew ({@code datagen.skew}), so a few clients end up with
+ * hundreds of pets and appointments while most have a handful, as in a real
+ * branch. Every table is loaded with a single {@code COPY} and a fixed
+ * {@code datagen.seed} makes runs repeatable. All tables load in one
+ * transaction, so a failed run leaves nothing behind and the next one starts
+ * over instead of mistaking a partial load for a finished one.
+ */
+@Component
+@Profile("datagen")
+public class DataGenerator implements CommandLineRunner {
+
+    // INCREMENT BY of the id sequences (V4); ids are taken a block at a time.
+    private static final int ID_BLOCK = 50;
+    private static final String USER_PREFIX = "user_";
+
+    private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia",
+            "Thiago", "Vanessa", "Yuri" };
+    private static final String[] LAST_NAMES = { "Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa",
+            "Ferreira", "Rodrigues", "Almeida", "Carvalho", "Gomes", "Martins", "Rocha", "Ribeiro" };
+    private static final String[] PET_NAMES = { "Rex", "Luna", "Thor", "Mel", "Bob", "Nina", "Max", "Pipoca", "Fred",
+            "Lola", "Toby", "Amora", "Zeus", "Bidu", "Kiara", "Simba" };
+    private static final String[] SERVICES = { "Consulta de rotina", "Vacinação", "Banho e tosa", "Vermifugação",
+            "Exame de sangue", "Castração", "Limpeza de tártaro", "Retorno", "Raio-X", "Aplicação de antipulgas" };
+    private static final String[] CITIES = { "São Paulo", "Rio de Janeiro", "Belo Horizonte", "Curitiba",
+            "Porto Alegre", "Salvador", "Recife", "Fortaleza" };
+    private static final String[] NEIGHBORHOODS = { "Centro", "Jardim América", "Vila Nova", "Boa Vista",
+            "Santa Cecília", "Bela Vista" };
+    private static final String[] STREETS = { "Rua das Flores", "Avenida Brasil", "Rua XV de Novembro",
+            "Rua São João", "Avenida Paulista", "Rua do Comércio" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHashingService passwordHashingService;
+    private final int users;
+    private final int clients;
+    private final int pets;
+    private final int appointments;
+    private final int contacts;
+    private final int addresses;
+    private final int breeds;
+    private final double skew;
+    private final long seed;
+    private final String password;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            PasswordHashingService passwordHashingService,
+            @Value("${datagen.users:10000}") int users,
+            @Value("${datagen.clients:20000}") int clients,
+            @Value("${datagen.pets:100000}") int pets,
+            @Value("${datagen.appointments:1000000}") int appointments,
+            @Value("${datagen.contacts:40000}") int contacts,
+            @Value("${datagen.addresses:20000}") int addresses,
+            @Value("${datagen.breeds:200}") int breeds,
+            @Value("${datagen.skew:4}") double skew,
+            @Value("${datagen.seed:42}") long seed,
+            @Value("${datagen.password:password123}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHashingService = passwordHashingService;
+        this.users = users;
+        this.clients = Math.max(1, clients);
+        this.pets = Math.max(1, pets);
+        this.appointments = appointments;
+        this.contacts = contacts;
+        this.addresses = addresses;
+        this.breeds = Math.max(1, breeds);
+        this.skew = skew;
+        this.seed = seed;
+        this.password = password;
+    }
+
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+
+        boolean generated = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM users WHERE name = ?)", Boolean.class,
+                    USER_PREFIX + 0))
+                return false;
+
+            Random random = new Random(seed);
+            String hash = passwordHashingService.encodeNow(password);
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                PGConnection pg = connection.unwrap(PGConnection.class);
+
+                copyUsers(pg, hash);
+                long[] breedIds = copyBreeds(pg);
+                long[] clientIds = copyClients(pg, random);
+                long[] petIds = copyPets(pg, random, clientIds, breedIds);
+                copyAppointments(pg, random, petIds);
+                copyContacts(pg, random, clientIds);
+                copyAddresses(pg, random, clientIds);
+                return null;
+            });
+            return true;
+        }));
+
+        if (!generated) {
+            System.out.println("Massa de dados já gerada, nada a fazer.");
+            return;
+        }
+
+        for (String table : List.of("users", "breeds", "clients", "pets", "appointments", "contacts", "address"))
+            jdbcTemplate.execute("ANALYZE " + table);
+
+        System.out.printf("Massa de dados gerada em %d ms: %d usuários, %d clientes, %d pets, %d agendamentos, "
+                + "%d contatos e %d endereços.%n",
+                (System.nanoTime() - start) / 1_000_000, users, clients, pets, appointments, contacts, addresses);
+    }
+
+    private void copyUsers(PGConnection pg, String hash) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(pg, "users", List.of("cpf", "name", "role", "password"))) {
+            for (int i = 0; i < users; i++) {
+                copy.field(cpf(i)).field(USER_PREFIX + i).field(Role.CLIENT.toString()).field(hash);
+                copy.endRow();
+            }
+            copy.finish();
+        }
+    }
+
+    private long[] copyBreeds(PGConnection pg) throws SQLException {
+        long[] ids = ids("breeds_id_seq", breeds);
+
+        try (CopyWriter copy = new CopyWriter(pg, "breeds", List.of("id", "description"))) {
+            for (int i = 0; i < breeds; i++) {
+                copy.field(ids[i]).field("Raça " + (i + 1));
+                copy.endRow();
+            }
+            copy.finish();
+        }
+
+        return ids;
+    }
+
+    private long[] copyClients(PGConnection pg, Random random) throws SQLException {
+        long[] ids = ids("clients_id_seq", clients);
+
+        try (CopyWriter copy = new CopyWriter(pg, "clients", List.of("id", "name", "cpf", "registration_date"))) {
+            for (int i = 0; i < clients; i++) {
+                copy.field(ids[i])
+                        .field(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES))
+                        .field(users > 0 ? cpf(i % users) : null)
+                        .field(LocalDateTime.now().minusMinutes(random.nextInt(5 * 365 * 24 * 60)));
+                copy.endRow();
+            }
+            copy.finish();
+        }
+
+        return ids;
+    }
+
+    private long[] copyPets(PGConnection pg, Random random, long[] clientIds, long[] breedIds)
+            throws SQLException {
+        long[] ids = ids("pets_id_seq", pets);
+
+        try (CopyWriter copy = new CopyWriter(pg, "pets", List.of("id", "client_id", "breed_id", "name",
+                "birth_date"))) {
+            for (int i = 0; i < pets; i++) {
+                copy.field(ids[i])
+                        .field(clientIds[skewed(random, clientIds.length)])
+                        .field(breedIds[random.nextInt(breedIds.length)])
+                        .field(pick(random, PET_NAMES))
+                        .field(LocalDate.now().minusDays(random.nextInt(15 * 365)));
+                copy.endRow();
+            }
+            copy.finish();
+        }
+
+        return ids;
+    }
+
+    private void copyAppointments(PGConnection pg, Random random, long[] petIds) throws SQLException {
+        long[] ids = ids("appointments_id_seq", appointments);
+
+        try (CopyWriter copy = new CopyWriter(pg, "appointments", List.of("id", "pet_id", "description", "cost",
+                "date"))) {
+            for (int i = 0; i < appointments; i++) {
+                copy.field(ids[i])
+                        .field(petIds[skewed(random, petIds.length)])
+                        .field(pick(random, SERVICES))
+                        .field(BigDecimal.valueOf(3000 + random.nextInt(60000), 2))
+                        .field(LocalDateTime.now().minusMinutes(random.nextInt(3 * 365 * 24 * 60)).withSecond(0)
+                                .withNano(0));
+                copy.endRow();
+            }
+            copy.finish();
+        }
+    }
+
+    private void copyContacts(PGConnection pg, Random random, long[] clientIds) throws SQLException {
+        long[] ids = ids("contacts_id_seq", contacts);
+
+        try (CopyWriter copy = new CopyWriter(pg, "contacts", List.of("id", "client_id", "tag", "type", "value"))) {
+            for (int i = 0; i < contacts; i++) {
+                boolean phone = random.nextBoolean();
+                copy.field(ids[i])
+                        .field(clientIds[skewed(random, clientIds.length)])
+                        .field(random.nextBoolean() ? "Pessoal" : "Trabalho")
+                        .field(phone ? "PHONE" : "EMAIL")
+                        .field(phone ? String.format("119%08d", random.nextInt(100_000_000))
+                                : "contato" + i + "@example.com");
+                copy.endRow();
+            }
+            copy.finish();
+        }
+    }
+
+    private void copyAddresses(PGConnection pg, Random random, long[] clientIds) throws SQLException {
+        long[] ids = ids("address_id_seq", addresses);
+
+        try (CopyWriter copy = new CopyWriter(pg, "address", List.of("id", "client_id", "street", "city",
+                "neighborhood", "complement", "tag"))) {
+            for (int i = 0; i < addresses; i++) {
+                copy.field(ids[i])
+                        .field(clientIds[skewed(random, clientIds.length)])
+                        .field(pick(random, STREETS) + ", " + (1 + random.nextInt(3000)))
+                        .field(pick(random, CITIES))
+                        .field(pick(random, NEIGHBORHOODS))
+                        .field(random.nextInt(4) == 0 ? "Apto " + (1 + random.nextInt(200)) : null)
+                        .field(random.nextBoolean() ? "Casa" : "Trabalho");
+                copy.endRow();
+            }
+            copy.finish();
+        }
+    }
+
+    // Same blocks Hibernate's pooled optimizer would take: each nextval is the
+    // top of a block of ID_BLOCK ids.
+    private long[] ids(String sequence, int count) {
+        List<Long> blocks = jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class,
+                (count + ID_BLOCK - 1) / ID_BLOCK);
+        long[] ids = new long[count];
+
+        for (int i = 0; i < count; i++)
+            ids[i] = blocks.get(i / ID_BLOCK) - (ID_BLOCK - 1) + i % ID_BLOCK;
+
+        return ids;
+    }
+
+    // Index in [0, size) with a power-law bias towards 0: with skew 4 about a
+    // fifth of the picks land on the first 0.1% of the range.
+    private int skewed(Random random, int size) {
+        return (int) (size * Math.pow(random.nextDouble(), skew));
+    }
+
+    private static String cpf(int index) {
+        return String.format("9%010d", index);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
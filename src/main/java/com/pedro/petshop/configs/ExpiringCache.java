@@ -0,0 +1,84 @@
+package com.pedro.petshop.configs;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+
+/**
+ * A bounded map whose entries expire at a fixed time. Reads are lock-free and
+ * check expiry themselves; once the map grows past {@code maxSize}, a single
+ * writer drops expired entries and then arbitrary ones down to 90% of the
+ * limit, so the bound is approximate and eviction is not LRU.
+ */
+public class ExpiringCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxSize;
+
+    public ExpiringCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null)
+            return null;
+
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+
+        return entry.value();
+    }
+
+    public void put(K key, V value, long expiresAt) {
+        if (maxSize <= 0)
+            return;
+
+        entries.put(key, new Entry<>(value, expiresAt));
+
+        if (entries.size() > maxSize)
+            evict();
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void removeIf(BiPredicate<K, V> predicate) {
+        entries.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue().value()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true))
+            return;
+
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+
+            int target = maxSize - maxSize / 10;
+            for (Iterator<K> it = entries.keySet().iterator(); entries.size() > target && it.hasNext();) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
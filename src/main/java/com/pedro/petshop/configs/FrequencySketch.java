@@ -0,0 +1,61 @@
+package com.pedro.petshop.configs;
+
+public class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = { 0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+            0x27D4EB2F165667C5L };
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int expectedItems) {
+        int width = Integer.highestOneBit(Math.max(expectedItems, 16) - 1) << 1;
+        this.counters = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    public synchronized void increment(Object key) {
+        int hash = key.hashCode();
+        boolean added = false;
+
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize)
+            age();
+    }
+
+    public synchronized int frequency(Object key) {
+        int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+
+        for (int row = 0; row < DEPTH; row++)
+            frequency = Math.min(frequency, counters[row][index(hash, row)]);
+
+        return frequency;
+    }
+
+    private int index(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private void age() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++)
+                row[i] >>= 1;
+        }
+
+        additions /= 2;
+    }
+}
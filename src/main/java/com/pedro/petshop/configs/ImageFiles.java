@@ -0,0 +1,135 @@
+package com.pedro.petshop.configs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+
+public class ImageFiles {
+
+    public static final String UNKNOWN_CONTENT_TYPE = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+    private static final int SNIFF_LENGTH = 12;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    public static ImageMetadataDTO store(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest = sha256();
+
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        return new ImageMetadataDTO(hash, detectContentType(target), hash);
+    }
+
+    public static String hash(Path path) throws IOException {
+        MessageDigest digest = sha256();
+
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static boolean isHash(String image) {
+        return image != null && HASH.matcher(image).matches();
+    }
+
+    public static Path blobPath(Path directory, String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public static List<Path> listSorted(Path directory, DirectoryStream.Filter<Path> filter) throws IOException {
+        List<Path> paths = new ArrayList<>();
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, filter)) {
+            entries.forEach(paths::add);
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+
+        paths.sort(Comparator.comparing(path -> path.getFileName().toString()));
+        return paths;
+    }
+
+    public static Optional<ImageDTO> open(Path path, String contentType, String etag) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+
+            return Optional.of(new ImageDTO(new FileSystemResource(path),
+                    contentType != null ? contentType : detectContentType(path),
+                    etag != null ? etag : Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified),
+                    lastModified));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static String detectContentType(Path path) throws IOException {
+        byte[] header = new byte[SNIFF_LENGTH];
+        int length;
+
+        try (InputStream in = Files.newInputStream(path)) {
+            length = in.readNBytes(header, 0, SNIFF_LENGTH);
+        }
+
+        return detectContentType(header, length);
+    }
+
+    public static String detectContentType(byte[] header, int length) {
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF))
+            return MediaType.IMAGE_JPEG_VALUE;
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A))
+            return MediaType.IMAGE_PNG_VALUE;
+        if (startsWith(header, length, 'G', 'I', 'F', '8'))
+            return MediaType.IMAGE_GIF_VALUE;
+        if (startsWith(header, length, 'R', 'I', 'F', 'F', -1, -1, -1, -1, 'W', 'E', 'B', 'P'))
+            return "image/webp";
+
+        return UNKNOWN_CONTENT_TYPE;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int... magic) {
+        if (length < magic.length)
+            return false;
+
+        for (int i = 0; i < magic.length; i++) {
+            if (magic[i] != -1 && (header[i] & 0xFF) != magic[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.pedro.petshop.configs;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,7 +15,7 @@ import jakarta.servlet.http.HttpServletResponse;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private JwtUtil jwtUtil;
+    private final JwtUtil jwtUtil;
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil) {
         this.jwtUtil = jwtUtil;
@@ -27,8 +28,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String token = getTokenFromRequest(request);
 
-        if (token != null && jwtUtil.isTokenValid(token, jwtUtil.extractUsername(token))) {
-            Claims claims = jwtUtil.extractAllClaims(token);
+        Optional<Claims> verifiedClaims = token != null ? jwtUtil.verify(token) : Optional.empty();
+
+        if (verifiedClaims.isPresent()) {
+            Claims claims = verifiedClaims.get();
             String username = claims.getSubject();
             String cpf = claims.get("cpf", String.class);
             String role = claims.get("role", String.class);
@@ -41,10 +44,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.replace("Bearer ", "");
+            return bearerToken.substring(7);
         }
         return null;
     }
@@ -1,8 +1,13 @@
 package com.pedro.petshop.configs;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.crypto.SecretKey;
 
@@ -11,23 +16,35 @@ import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final ExpiringCache<String, Claims> verifiedTokens;
+    private final ExpiringCache<String, Boolean> rejectedTokens;
+    private final long rejectedTtlMillis;
+
+    public JwtUtil(@Value("${jwt.secret-key}") String secretKey,
+            @Value("${jwt.cache.max-size:10000}") int cacheMaxSize,
+            @Value("${jwt.cache.rejected-ttl-seconds:60}") long rejectedTtlSeconds) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = new ExpiringCache<>(cacheMaxSize);
+        this.rejectedTokens = new ExpiringCache<>(cacheMaxSize);
+        this.rejectedTtlMillis = rejectedTtlSeconds * 1000;
+    }
 
     public Key generateSecureKey() {
-        byte[] keyBytes = secretKey.getBytes();
-
-        return Keys.hmacShaKeyFor(keyBytes);
+        return key;
     }
 
     public String generateToken(String username, Map<String, Object> additionalClaims) {
-        Key key = generateSecureKey();
         JwtBuilder jwtBuilder = Jwts.builder();
 
         if (additionalClaims != null) {
@@ -42,39 +59,43 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    public Optional<Claims> verify(String token) {
+        String digest = digest(token);
 
-    public <T> T extractClaim(String token, ClaimsResolver<T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.resolve(claims);
-    }
+        Claims cached = verifiedTokens.get(digest);
+        if (cached != null)
+            return Optional.of(cached);
 
-    public Claims extractAllClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        if (rejectedTokens.get(digest) != null)
+            return Optional.empty();
 
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
+            if (claims.getSubject() == null || expiration == null) {
+                rejectedTokens.put(digest, Boolean.TRUE, System.currentTimeMillis() + rejectedTtlMillis);
+                return Optional.empty();
+            }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+            verifiedTokens.put(digest, claims, expiration.getTime());
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            rejectedTokens.put(digest, Boolean.TRUE, System.currentTimeMillis() + rejectedTtlMillis);
+            return Optional.empty();
+        }
     }
 
-    public Boolean isTokenValid(String token, String username) {
-        return (username.equals(extractUsername(token)) && !isTokenExpired(token));
+    public Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    @FunctionalInterface
-    public interface ClaimsResolver<T> {
-        T resolve(Claims claims);
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,126 @@
+package com.pedro.petshop.configs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+public class PartialUpdate {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<Metadata> METADATA = new ClassValue<>() {
+        @Override
+        protected Metadata computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    public static <T> boolean copyNonNullProperties(T source, T target) {
+        boolean changed = false;
+
+        for (Property property : METADATA.get(source.getClass()).properties()) {
+            Object value = property.get(source);
+
+            if (value != null && !property.unchanged(value, property.get(target))) {
+                property.set(target, value);
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    private static Metadata resolve(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        List<Property> properties = new ArrayList<>();
+        Property id = null;
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()))
+                    continue;
+
+                MethodHandle getter = findGetter(lookup, type, field);
+                MethodHandle setter = findSetter(lookup, type, field);
+                if (getter == null || setter == null)
+                    continue;
+
+                Property property = new Property(field.getName(),
+                        getter.asType(GETTER_TYPE),
+                        setter.asType(SETTER_TYPE),
+                        field.getType().isAnnotationPresent(Entity.class) ? field.getType() : null);
+
+                if (field.isAnnotationPresent(Id.class))
+                    id = property;
+                else
+                    properties.add(property);
+            }
+        }
+
+        return new Metadata(List.copyOf(properties), id);
+    }
+
+    private static MethodHandle findGetter(MethodHandles.Lookup lookup, Class<?> type, Field field) {
+        String suffix = capitalize(field.getName());
+        String prefix = field.getType() == boolean.class ? "is" : "get";
+
+        try {
+            return lookup.findVirtual(type, prefix + suffix, MethodType.methodType(field.getType()));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findSetter(MethodHandles.Lookup lookup, Class<?> type, Field field) {
+        try {
+            return lookup.findVirtual(type, "set" + capitalize(field.getName()),
+                    MethodType.methodType(void.class, field.getType()));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private record Metadata(List<Property> properties, Property id) {
+    }
+
+    private record Property(String name, MethodHandle getter, MethodHandle setter, Class<?> associationType) {
+
+        Object get(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not read property " + name, e);
+            }
+        }
+
+        void set(Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not write property " + name, e);
+            }
+        }
+
+        boolean unchanged(Object value, Object current) {
+            Property associationId = associationType != null ? METADATA.get(associationType).id() : null;
+            if (associationId == null)
+                return Objects.equals(value, current);
+
+            Object valueId = associationId.get(value);
+            return valueId == null || (current != null && valueId.equals(associationId.get(current)));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.pedro.petshop.configs;
+
+/**
+ * Statements, rows and database time accumulated by the current thread
+ * between {@link #start()} and {@link #close()}. {@link QueryCountingDataSource}
+ * feeds whichever counter is open on the thread that runs the statement, so
+ * work handed to another thread (async login, streamed exports) is not
+ * attributed to the request that started it.
+ */
+public final class QueryCounter implements AutoCloseable {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final QueryCounter previous;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private QueryCounter(QueryCounter previous) {
+        this.previous = previous;
+    }
+
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    void statement(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public double millis() {
+        return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() != this)
+            return;
+
+        if (previous == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(previous);
+    }
+}
@@ -0,0 +1,137 @@
+package com.pedro.petshop.configs;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Reports every statement executed through its connections to the
+ * {@link QueryCounter} open on the calling thread: one statement per
+ * {@code execute*} call (a JDBC batch counts once), the time spent in it, the
+ * rows read from its result sets and the rows changed by updates. Without an
+ * open counter the proxies only forward calls.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+
+            if (result instanceof CallableStatement statement)
+                return counting(CallableStatement.class, statement);
+            if (result instanceof PreparedStatement statement)
+                return counting(PreparedStatement.class, statement);
+            if (result instanceof Statement statement)
+                return counting(Statement.class, statement);
+
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T counting(Class<T> type, T statement) {
+        return proxy(type, statement, (method, args) -> {
+            QueryCounter counter = QueryCounter.current();
+            String name = method.getName();
+
+            if (counter == null || !name.startsWith("execute"))
+                return countingRows(invoke(statement, method, args));
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(statement, method, args);
+            } finally {
+                counter.statement(System.nanoTime() - start);
+            }
+
+            counter.rows(updated(result));
+            return countingRows(result);
+        });
+    }
+
+    // Update counts from executeUpdate/executeBatch; batch entries reported
+    // as SUCCESS_NO_INFO (negative) are not counted.
+    private static long updated(Object result) {
+        long rows = 0;
+
+        if (result instanceof Integer count)
+            rows = Math.max(count, 0);
+        else if (result instanceof Long count)
+            rows = Math.max(count, 0);
+        else if (result instanceof int[] counts)
+            for (int count : counts)
+                rows += Math.max(count, 0);
+        else if (result instanceof long[] counts)
+            for (long count : counts)
+                rows += Math.max(count, 0);
+
+        return rows;
+    }
+
+    private static Object countingRows(Object result) {
+        if (!(result instanceof ResultSet resultSet))
+            return result;
+
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            Object next = invoke(resultSet, method, args);
+
+            if (method.getName().equals("next") && Boolean.TRUE.equals(next)) {
+                QueryCounter counter = QueryCounter.current();
+                if (counter != null)
+                    counter.rows(1);
+            }
+
+            return next;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals"))
+                        return proxy == args[0];
+                    if (method.getName().equals("hashCode"))
+                        return System.identityHashCode(proxy);
+
+                    return handler.handle(method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,57 @@
+package com.pedro.petshop.configs;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "query.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+    // Runs before databaseBulkheadPostProcessor (which is unordered), so the
+    // counting proxy sits next to the pool and the bulkhead wraps it.
+    @Bean
+    public static BeanPostProcessor queryCountingPostProcessor() {
+        return new OrderedPostProcessor();
+    }
+
+    // Ahead of the security chain, so requests it turns away are measured
+    // and still get the header.
+    @Bean
+    public FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter(MeterRegistry meterRegistry,
+            Environment environment) {
+        boolean serverTiming = !environment.acceptsProfiles(Profiles.of("prod"));
+        FilterRegistrationBean<QueryMetricsFilter> registration = new FilterRegistrationBean<>(
+                new QueryMetricsFilter(meterRegistry, serverTiming));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    private static final class OrderedPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)
+                    && !(bean instanceof BulkheadDataSource))
+                return new QueryCountingDataSource(dataSource);
+
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.pedro.petshop.configs;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link QueryCounter} around each request and records how many
+ * statements it issued, how many rows they touched and how long they took,
+ * tagged by the matched endpoint. With {@code serverTiming} the totals also
+ * go out in a {@code Server-Timing} header, written just before the response
+ * is committed.
+ */
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTiming;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry, boolean serverTiming) {
+        this.meterRegistry = meterRegistry;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter counter = QueryCounter.start();
+        ServerTimingResponse timed = serverTiming ? new ServerTimingResponse(response, counter) : null;
+
+        try {
+            filterChain.doFilter(request, timed != null ? timed : response);
+        } finally {
+            counter.close();
+
+            if (timed != null && !response.isCommitted())
+                timed.writeHeader();
+            record(endpoint(request), counter);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator") || path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs");
+    }
+
+    private void record(String endpoint, QueryCounter counter) {
+        DistributionSummary.builder("petshop.http.db.statements")
+                .tag("endpoint", endpoint)
+                .baseUnit("statements")
+                .description("SQL statements issued per request")
+                .register(meterRegistry)
+                .record(counter.statements());
+        DistributionSummary.builder("petshop.http.db.rows")
+                .tag("endpoint", endpoint)
+                .baseUnit("rows")
+                .description("Rows read or changed per request")
+                .register(meterRegistry)
+                .record(counter.rows());
+        DistributionSummary.builder("petshop.http.db.time")
+                .tag("endpoint", endpoint)
+                .baseUnit("milliseconds")
+                .description("Time spent executing SQL statements per request")
+                .register(meterRegistry)
+                .record(counter.millis());
+    }
+
+    // The route template keeps the tag bounded: /api/v1/pets/{id}, not one
+    // value per pet.
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern == null ? UNMAPPED : request.getMethod() + " " + pattern;
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final QueryCounter counter;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, QueryCounter counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        void writeHeader() {
+            if (written)
+                return;
+
+            written = true;
+            addHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d statements, %d rows\"",
+                    counter.millis(), counter.statements(), counter.rows()));
+        }
+    }
+}
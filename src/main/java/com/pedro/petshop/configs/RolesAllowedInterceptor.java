@@ -1,9 +1,12 @@
 package com.pedro.petshop.configs;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,8 +14,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import com.pedro.petshop.entities.User;
-import com.pedro.petshop.repositories.UserRepository;
+import com.pedro.petshop.enums.Role;
+import com.pedro.petshop.services.UserRoleCacheService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -20,8 +23,12 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class RolesAllowedInterceptor implements HandlerInterceptor {
 
-    @Autowired
-    private UserRepository userRepository;
+    private final UserRoleCacheService userRoleCacheService;
+    private final Map<Method, Optional<EnumSet<Role>>> allowedRolesByMethod = new ConcurrentHashMap<>();
+
+    public RolesAllowedInterceptor(UserRoleCacheService userRoleCacheService) {
+        this.userRoleCacheService = userRoleCacheService;
+    }
 
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request,
@@ -30,9 +37,10 @@ public class RolesAllowedInterceptor implements HandlerInterceptor {
             throws Exception {
         if (handler instanceof HandlerMethod) {
             HandlerMethod method = (HandlerMethod) handler;
-            RolesAllowed rolesAllowed = method.getMethodAnnotation(RolesAllowed.class);
+            Optional<EnumSet<Role>> allowedRoles = allowedRolesByMethod.computeIfAbsent(method.getMethod(),
+                    key -> resolveAllowedRoles(method));
 
-            if (rolesAllowed != null) {
+            if (allowedRoles.isPresent()) {
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
                 if (authentication == null || !authentication.isAuthenticated()) {
@@ -40,12 +48,10 @@ public class RolesAllowedInterceptor implements HandlerInterceptor {
                     return false;
                 }
 
-                String name = authentication.getName();
-                User user = userRepository.findByName(name)
+                Role role = userRoleCacheService.findRoleByName(authentication.getName())
                         .orElseThrow(() -> new RuntimeException("Usuário não encontrado no banco de dados"));
 
-                List<String> allowedRoles = Arrays.asList(rolesAllowed.value());
-                if (!allowedRoles.contains(user.getRole().name())) {
+                if (!allowedRoles.get().contains(role)) {
                     response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                     return false;
                 }
@@ -54,4 +60,15 @@ public class RolesAllowedInterceptor implements HandlerInterceptor {
 
         return true;
     }
+
+    private Optional<EnumSet<Role>> resolveAllowedRoles(HandlerMethod method) {
+        RolesAllowed rolesAllowed = method.getMethodAnnotation(RolesAllowed.class);
+        if (rolesAllowed == null)
+            return Optional.empty();
+
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        Arrays.stream(rolesAllowed.value()).map(Role::valueOf).forEach(roles::add);
+
+        return Optional.of(roles);
+    }
 }
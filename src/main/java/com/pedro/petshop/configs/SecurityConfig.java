@@ -1,5 +1,6 @@
 package com.pedro.petshop.configs;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -7,14 +8,26 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
 
-    public SecurityConfig(JwtUtil jwtUtil) {
+    public SecurityConfig(JwtUtil jwtUtil, MeterRegistry meterRegistry,
+            @Value("${concurrency.limit.initial:20}") int initialLimit,
+            @Value("${concurrency.limit.min:4}") int minLimit,
+            @Value("${concurrency.limit.max:200}") int maxLimit,
+            @Value("${concurrency.limit.tolerance:1.5}") double tolerance,
+            @Value("${concurrency.limit.smoothing:0.2}") double smoothing,
+            @Value("${concurrency.limit.reserved-fraction:0.2}") double reservedFraction,
+            @Value("${concurrency.limit.retry-after-seconds:1}") long retryAfterSeconds) {
         this.jwtUtil = jwtUtil;
+        this.concurrencyLimitFilter = new ConcurrencyLimitFilter(meterRegistry, initialLimit, minLimit, maxLimit,
+                tolerance, smoothing, reservedFraction, retryAfterSeconds);
     }
 
     @Bean
@@ -28,7 +41,8 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/actuator/**", "/auth/**")
                         .permitAll()
                         .anyRequest().authenticated())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(concurrencyLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,77 @@
+package com.pedro.petshop.configs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public class SendfileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (resource instanceof ByteBufferResource buffered) {
+            write(buffered.getByteBuffer(), outputMessage);
+            return;
+        }
+
+        if (!resource.isFile()) {
+            super.writeContent(resource, outputMessage);
+            return;
+        }
+
+        transfer(resource.getFile().toPath(), 0, resource.contentLength(), outputMessage);
+    }
+
+    static void write(ByteBuffer buffer, HttpOutputMessage outputMessage) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputMessage.getBody());
+
+        while (buffer.hasRemaining())
+            target.write(buffer);
+    }
+
+    static void transfer(Path path, long position, long count, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = null;
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+            request = attributes.getRequest();
+
+        if (request != null && "HEAD".equals(request.getMethod()))
+            return;
+
+        if (request != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputMessage.getBody());
+            long sent = 0;
+
+            while (sent < count) {
+                long written = channel.transferTo(position + sent, count - sent, target);
+                if (written <= 0)
+                    break;
+                sent += written;
+            }
+        }
+    }
+}
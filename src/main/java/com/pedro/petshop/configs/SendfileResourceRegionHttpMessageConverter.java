@@ -0,0 +1,52 @@
+package com.pedro.petshop.configs;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+
+public class SendfileResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ResourceRegion region = singleRegion(object);
+        if (region == null || !(region.getResource().isFile() || region.getResource() instanceof ByteBufferResource)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long start = region.getPosition();
+        long end = start + region.getCount() - 1;
+        long length = region.getResource().contentLength();
+
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        headers.setContentLength(region.getCount());
+
+        if (region.getResource() instanceof ByteBufferResource buffered) {
+            SendfileResourceHttpMessageConverter.write(
+                    buffered.getByteBuffer().slice((int) start, (int) region.getCount()), outputMessage);
+            return;
+        }
+
+        SendfileResourceHttpMessageConverter.transfer(region.getResource().getFile().toPath(), start,
+                region.getCount(), outputMessage);
+    }
+
+    private static ResourceRegion singleRegion(Object object) {
+        if (object instanceof ResourceRegion region)
+            return region;
+
+        if (object instanceof Collection<?> regions && regions.size() == 1
+                && regions.iterator().next() instanceof ResourceRegion region)
+            return region;
+
+        return null;
+    }
+}
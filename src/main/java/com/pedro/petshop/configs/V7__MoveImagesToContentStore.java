@@ -0,0 +1,127 @@
+package com.pedro.petshop.configs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class V7__MoveImagesToContentStore extends BaseJavaMigration {
+
+    private static final String[] TABLES = { "pets", "clients" };
+    private static final String[] VARIANT_FORMATS = { "jpg", "png" };
+
+    private final Path root;
+    private final int[] variantSizes;
+
+    public V7__MoveImagesToContentStore(@Value("${upload.path}") String uploadPath,
+            @Value("${image.thumbnail.sizes:64,256,1024}") int[] variantSizes) {
+        this.root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        this.variantSizes = variantSizes;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        for (String table : TABLES) {
+            for (LegacyImage legacy : findLegacyImages(connection, table))
+                migrate(connection, table, legacy);
+        }
+    }
+
+    private List<LegacyImage> findLegacyImages(Connection connection, String table) throws SQLException {
+        List<LegacyImage> images = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT id, image, image_content_type FROM " + table +
+                        " WHERE image IS NOT NULL AND image !~ '^[0-9a-f]{64}$'")) {
+            while (rows.next())
+                images.add(new LegacyImage(rows.getLong(1), rows.getString(2), rows.getString(3)));
+        }
+
+        return images;
+    }
+
+    private void migrate(Connection connection, String table, LegacyImage legacy) throws SQLException, IOException {
+        Path flat = root.resolve(legacy.image()).normalize();
+
+        if (legacy.image().isEmpty() || !flat.startsWith(root) || !Files.isRegularFile(flat)) {
+            try (PreparedStatement update = connection.prepareStatement("UPDATE " + table +
+                    " SET image = NULL, image_content_type = NULL, image_etag = NULL WHERE id = ?")) {
+                update.setLong(1, legacy.id());
+                update.executeUpdate();
+            }
+            return;
+        }
+
+        String hash = ImageFiles.hash(flat);
+        String contentType = legacy.contentType() != null ? legacy.contentType() : ImageFiles.detectContentType(flat);
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO image_blobs (hash, content_type, size) " +
+                "VALUES (?, ?, ?) ON CONFLICT (hash) DO NOTHING")) {
+            insert.setString(1, hash);
+            insert.setString(2, contentType);
+            insert.setLong(3, Files.size(flat));
+            insert.executeUpdate();
+        }
+
+        Path blob = ImageFiles.blobPath(root, hash);
+        Files.createDirectories(blob.getParent());
+        link(flat, blob);
+        for (int size : variantSizes) {
+            for (String format : VARIANT_FORMATS)
+                link(variantPath(flat, size, format), variantPath(blob, size, format));
+        }
+
+        try (PreparedStatement update = connection.prepareStatement("UPDATE " + table +
+                " SET image = ?, image_content_type = ?, image_etag = ? WHERE id = ?")) {
+            update.setString(1, hash);
+            update.setString(2, contentType);
+            update.setString(3, hash);
+            update.setLong(4, legacy.id());
+            update.executeUpdate();
+        }
+
+        Files.deleteIfExists(flat);
+        for (int size : variantSizes) {
+            for (String format : VARIANT_FORMATS)
+                Files.deleteIfExists(variantPath(flat, size, format));
+        }
+    }
+
+    private static void link(Path source, Path target) throws IOException {
+        if (!Files.exists(source) || Files.exists(target))
+            return;
+
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target);
+        }
+    }
+
+    private static Path variantPath(Path original, int size, String format) {
+        return original.resolveSibling(original.getFileName() + "." + size + "." + format);
+    }
+
+    private record LegacyImage(long id, String image, String contentType) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.pedro.petshop.configs;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event while virtual threads
+ * are enabled. A virtual thread that blocks inside {@code synchronized} (or a
+ * native frame) keeps its carrier thread, so a few pinning drivers can starve
+ * the whole carrier pool. Each pinning site is counted and the worst ones are
+ * listed at {@code /actuator/pinning}.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_SITES = 50;
+    private static final int MAX_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null)
+            stream.close();
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> pinningSites() {
+        return sites.values().stream()
+                .sorted(Comparator.comparingLong((Site site) -> site.totalNanos.get()).reversed())
+                .map(site -> Map.<String, Object>of(
+                        "site", site.name,
+                        "count", site.count.get(),
+                        "totalMillis", site.totalNanos.get() / 1_000_000,
+                        "stackTrace", site.stackTrace))
+                .toList();
+    }
+
+    private void record(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String name = site(stackTrace);
+        if (!sites.containsKey(name) && sites.size() >= MAX_SITES)
+            name = "other";
+
+        Site site = sites.computeIfAbsent(name, key -> new Site(key, frames(stackTrace), meterRegistry));
+        site.count.incrementAndGet();
+        site.totalNanos.addAndGet(event.getDuration().toNanos());
+        site.timer.record(event.getDuration());
+    }
+
+    // The first frame outside the JDK is the code that blocked while pinned,
+    // usually a driver or library holding a monitor.
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null)
+            return "unknown";
+
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun."))
+                return type + "." + frame.getMethod().getName();
+        }
+
+        return "jdk";
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null)
+            return List.of();
+
+        return stackTrace.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                        + frame.getLineNumber())
+                .toList();
+    }
+
+    private static final class Site {
+
+        private final String name;
+        private final List<String> stackTrace;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final Timer timer;
+
+        Site(String name, List<String> stackTrace, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.stackTrace = stackTrace;
+            this.timer = Timer.builder("petshop.virtual.pinned.duration")
+                    .tag("site", name)
+                    .description("Time virtual threads spent blocked while pinned, by blocking site")
+                    .register(meterRegistry);
+        }
+    }
+}
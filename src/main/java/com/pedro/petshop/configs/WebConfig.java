@@ -1,11 +1,16 @@
 package com.pedro.petshop.configs;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -26,6 +31,17 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(rolesAllowedInterceptor);
     }
 
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> {
+            if (converter instanceof ResourceRegionHttpMessageConverter)
+                return new SendfileResourceRegionHttpMessageConverter();
+            if (converter instanceof ResourceHttpMessageConverter)
+                return new SendfileResourceHttpMessageConverter();
+            return converter;
+        });
+    }
+
     @Bean
     public WebMvcConfigurer corsConfigurer() {
 
@@ -1,9 +1,16 @@
 package com.pedro.petshop.controllers;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,14 +21,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.pedro.petshop.configs.CursorCodec;
 import com.pedro.petshop.configs.CustomAuthentication;
 import com.pedro.petshop.configs.RolesAllowed;
+import com.pedro.petshop.dtos.CursorPageDTO;
 import com.pedro.petshop.dtos.AppointmentDTO;
 import com.pedro.petshop.entities.Appointment;
 import com.pedro.petshop.enums.Role;
 import com.pedro.petshop.mappers.AppointmentMapper;
+import com.pedro.petshop.services.AppointmentExportService;
+import com.pedro.petshop.services.AppointmentExportService.Filter;
+import com.pedro.petshop.services.AppointmentExportService.Format;
 import com.pedro.petshop.services.AppointmentService;
 import com.pedro.petshop.services.PetService;
 
@@ -35,14 +49,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 @RequestMapping("/api/v1/appointments")
 public class AppointmentController {
 
+        private static final int MAX_BULK_SIZE = 500;
+
         private final AppointmentService appointmentService;
         private final PetService petService;
+        private final AppointmentExportService appointmentExportService;
         private final AppointmentMapper appointmentMapper;
 
         public AppointmentController(AppointmentService appointmentService, PetService petService,
-                        AppointmentMapper appointmentMapper) {
+                        AppointmentExportService appointmentExportService, AppointmentMapper appointmentMapper) {
                 this.appointmentService = appointmentService;
                 this.petService = petService;
+                this.appointmentExportService = appointmentExportService;
                 this.appointmentMapper = appointmentMapper;
         }
 
@@ -73,6 +91,37 @@ public class AppointmentController {
                                 .toDto(appointmentService.create(appointmentMapper.toEntity(appointment))));
         }
 
+        @Operation(summary = "Create appointments in bulk", description = "Creates several appointment records in a single transaction")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Appointments created successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Pet not found")
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @PostMapping("/bulk")
+        public ResponseEntity<List<AppointmentDTO>> createAppointments(@RequestBody List<AppointmentDTO> appointments) {
+                if (appointments == null || appointments.isEmpty() || appointments.size() > MAX_BULK_SIZE)
+                        return ResponseEntity.badRequest().build();
+
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+                if (authentication instanceof CustomAuthentication) {
+                        CustomAuthentication customAuth = (CustomAuthentication) authentication;
+                        String role = customAuth.getRole();
+                        String cpf = customAuth.getCpf();
+
+                        if (role.equals(Role.CLIENT.toString())
+                                        && !petService.allOwnedByUserCpf(appointments.stream().map(AppointmentDTO::getPetId).toList(), cpf))
+                                return ResponseEntity.notFound().build();
+                }
+
+                List<Appointment> created = appointmentService.createAll(appointments.stream().map(appointmentMapper::toEntity).toList());
+
+                return ResponseEntity.ok(created.stream().map(appointmentMapper::toDto).toList());
+        }
+
         @Operation(summary = "Get appointment by ID", description = "Retrieves a specific appointment by its ID")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Appointment found"),
@@ -117,7 +166,7 @@ public class AppointmentController {
         @RolesAllowed({ "ADMIN", "CLIENT" })
         @GetMapping
         public Page<AppointmentDTO> getAllAppointments(@Parameter(hidden = true) Pageable pageable) {
-                Page<Appointment> appointments = null;
+                Page<AppointmentDTO> appointments = null;
 
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -132,7 +181,90 @@ public class AppointmentController {
                                 appointments = appointmentService.findAll(pageable);
                 }
 
-                return appointmentMapper.pageToPageDTO(appointments);
+                return appointments;
+        }
+
+        @Operation(summary = "Get appointments by cursor", description = "Retrieves appointment records ordered by date and id using an opaque cursor, without a count query", parameters = {
+                        @Parameter(name = "cursor", description = "Cursor returned as nextCursor by the previous page", in = ParameterIn.QUERY),
+                        @Parameter(name = "size", description = "Number of items per page", in = ParameterIn.QUERY, example = "10") })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "List of appointments returned"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @GetMapping("/cursor")
+        public ResponseEntity<CursorPageDTO<AppointmentDTO>> getAppointmentsByCursor(
+                        @RequestParam(name = "cursor", required = false) String cursor,
+                        @RequestParam(name = "size", defaultValue = "20") int size) {
+                Optional<CursorPageDTO<AppointmentDTO>> appointments = null;
+                int pageSize = CursorCodec.clampSize(size);
+
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+                if (authentication instanceof CustomAuthentication) {
+                        CustomAuthentication customAuth = (CustomAuthentication) authentication;
+                        String role = customAuth.getRole();
+                        String cpf = customAuth.getCpf();
+
+                        if (role.equals(Role.CLIENT.toString()))
+                                appointments = appointmentService.getAllByUserCpfAndCursor(cpf, cursor, pageSize);
+                        if (role.equals(Role.ADMIN.toString()))
+                                appointments = appointmentService.findAllByCursor(cursor, pageSize);
+                }
+
+                if (appointments != null && appointments.isPresent())
+                        return ResponseEntity.ok(appointments.get());
+
+                return ResponseEntity.badRequest().build();
+        }
+
+        @Operation(summary = "Export appointments", description = "Streams every matching appointment as NDJSON or CSV, ordered by date and id, without paging", parameters = {
+                        @Parameter(name = "format", description = "ndjson or csv", in = ParameterIn.QUERY, example = "ndjson"),
+                        @Parameter(name = "from", description = "Only appointments at or after this date-time", in = ParameterIn.QUERY, example = "2025-01-01T00:00:00"),
+                        @Parameter(name = "to", description = "Only appointments before this date-time", in = ParameterIn.QUERY, example = "2026-01-01T00:00:00"),
+                        @Parameter(name = "clientId", description = "Only appointments of this client's pets", in = ParameterIn.QUERY),
+                        @Parameter(name = "petId", description = "Only appointments of this pet", in = ParameterIn.QUERY) })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Appointments streamed"),
+                        @ApiResponse(responseCode = "400", description = "Unknown format"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> exportAppointments(
+                        @RequestParam(name = "format", defaultValue = "ndjson") String format,
+                        @RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+                        @RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+                        @RequestParam(name = "clientId", required = false) Long clientId,
+                        @RequestParam(name = "petId", required = false) Long petId) {
+                Optional<Format> exportFormat = Format.parse(format);
+                if (exportFormat.isEmpty())
+                        return ResponseEntity.badRequest().build();
+
+                String ownerCpf = null;
+
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+                if (authentication instanceof CustomAuthentication) {
+                        CustomAuthentication customAuth = (CustomAuthentication) authentication;
+                        String role = customAuth.getRole();
+                        String cpf = customAuth.getCpf();
+
+                        if (role.equals(Role.CLIENT.toString()))
+                                ownerCpf = cpf;
+                }
+
+                Filter filter = new Filter(ownerCpf, clientId, petId, from, to);
+
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(exportFormat.get().mediaType()))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                                .filename("appointments." + exportFormat.get().extension())
+                                                .build().toString())
+                                .body(out -> appointmentExportService.export(filter, exportFormat.get(), out));
         }
 
         @Operation(summary = "Get all appointments by client id", description = "Retrieves all appointment by client id records", parameters = {
@@ -147,7 +279,7 @@ public class AppointmentController {
         @GetMapping("/client/{clientId}")
         public Page<AppointmentDTO> getAllAppointmentsByClientId(@PathVariable("clientId") Long clientId,
                         @Parameter(hidden = true) Pageable pageable) {
-                Page<Appointment> appointments = null;
+                Page<AppointmentDTO> appointments = null;
 
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -162,7 +294,7 @@ public class AppointmentController {
                                 appointments = appointmentService.findAllByClientId(clientId, pageable);
                 }
 
-                return appointmentMapper.pageToPageDTO(appointments);
+                return appointments;
         }
 
         @Operation(summary = "Get all appointments by pet id", description = "Retrieves all appointment by pet id records", parameters = {
@@ -177,7 +309,7 @@ public class AppointmentController {
         @GetMapping("/pet/{petId}")
         public Page<AppointmentDTO> getAllAppointmentsByPetId(@PathVariable("petId") Long petId,
                         @Parameter(hidden = true) Pageable pageable) {
-                Page<Appointment> appointments = null;
+                Page<AppointmentDTO> appointments = null;
 
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -192,7 +324,7 @@ public class AppointmentController {
                                 appointments = appointmentService.findAllByPetId(petId, pageable);
                 }
 
-                return appointmentMapper.pageToPageDTO(appointments);
+                return appointments;
         }
 
         @Operation(summary = "Update an existing appointment", description = "Updates an existing appointment record")
@@ -3,6 +3,7 @@ package com.pedro.petshop.controllers;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -61,13 +62,16 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Logged successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "503", description = "Too many logins being verified")
     })
     @PostMapping("/login")
-    public ResponseEntity<TokenDTO> login(@RequestBody LoginDTO loginUser) {
-        Optional<User> loggedUser = userService.loginUser(loginUser);
+    public CompletableFuture<ResponseEntity<TokenDTO>> login(@RequestBody LoginDTO loginUser) {
+        return userService.loginUser(loginUser).thenApply(loggedUser -> token(loginUser, loggedUser));
+    }
 
-        if (loggedUser == null || loggedUser.isEmpty()) {
+    private ResponseEntity<TokenDTO> token(LoginDTO loginUser, Optional<User> loggedUser) {
+        if (loggedUser.isEmpty()) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
@@ -4,6 +4,10 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +15,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.pedro.petshop.configs.RolesAllowed;
 import com.pedro.petshop.dtos.BreedDTO;
+import com.pedro.petshop.dtos.SerializedBodyDTO;
 import com.pedro.petshop.entities.Breed;
 import com.pedro.petshop.mappers.BreedMapper;
 import com.pedro.petshop.services.BreedService;
@@ -30,6 +36,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 @RequestMapping("/api/v1/breeds")
 public class BreedController {
 
+        private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
         private final BreedService breedService;
         private final BreedMapper breedMapper;
 
@@ -87,6 +95,32 @@ public class BreedController {
                 return breedMapper.pageToPageDTO(breeds);
         }
 
+        @Operation(summary = "Get the full breed list", description = "Retrieves every breed as a single document with a strong ETag. Send it back in If-None-Match to revalidate")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "List of breeds returned"),
+                        @ApiResponse(responseCode = "304", description = "Breed list not modified"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @GetMapping("/all")
+        public ResponseEntity<byte[]> getBreedList(
+                        @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+                SerializedBodyDTO breeds = breedService.getSerializedList();
+
+                if (matchesEtag(ifNoneMatch, breeds.getEtag()))
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                        .eTag(breeds.getEtag())
+                                        .cacheControl(REVALIDATE)
+                                        .build();
+
+                return ResponseEntity.ok()
+                                .eTag(breeds.getEtag())
+                                .cacheControl(REVALIDATE)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(breeds.getBody());
+        }
+
         @Operation(summary = "Update an existing breed", description = "Updates an existing breed record")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Breed updated successfully"),
@@ -118,4 +152,20 @@ public class BreedController {
                         @Parameter(description = "ID of the breed to be deleted") @PathVariable("id") Long id) {
                 return breedService.delete(id);
         }
+
+        private static boolean matchesEtag(String ifNoneMatch, String etag) {
+                if (ifNoneMatch == null)
+                        return false;
+
+                for (String candidate : ifNoneMatch.split(",")) {
+                        String tag = candidate.trim();
+                        if (tag.startsWith("W/"))
+                                tag = tag.substring(2);
+
+                        if (tag.equals("*") || tag.equals(etag))
+                                return true;
+                }
+
+                return false;
+        }
 }
@@ -1,10 +1,14 @@
 package com.pedro.petshop.controllers;
 
+import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -17,7 +21,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
@@ -25,9 +31,13 @@ import org.springframework.web.multipart.MultipartFile;
 import com.pedro.petshop.configs.CustomAuthentication;
 import com.pedro.petshop.configs.RolesAllowed;
 import com.pedro.petshop.dtos.ClientDTO;
+import com.pedro.petshop.dtos.UploadDTO;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
 import com.pedro.petshop.entities.Client;
 import com.pedro.petshop.enums.Role;
 import com.pedro.petshop.mappers.ClientMapper;
+import com.pedro.petshop.services.ImageUploadService;
 import com.pedro.petshop.services.ClientService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,17 +45,23 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/v1/clients")
 public class ClientController {
 
+        private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
         private final ClientService clientService;
         private final ClientMapper clientMapper;
+        private final ImageUploadService imageUploadService;
 
-        public ClientController(ClientService clientService, ClientMapper clientMapper) {
+        public ClientController(ClientService clientService, ClientMapper clientMapper,
+                        ImageUploadService imageUploadService) {
                 this.clientService = clientService;
                 this.clientMapper = clientMapper;
+                this.imageUploadService = imageUploadService;
         }
 
         @Operation(summary = "Upload a client image", description = "Upload a client image in the system")
@@ -66,8 +82,8 @@ public class ClientController {
                         String role = customAuth.getRole();
                         String cpf = customAuth.getCpf();
 
-                        if (role.equals(Role.CLIENT.toString()) && !clientService.existsByIdAndCpf(id, cpf))
-                                return HttpStatus.NOT_FOUND;
+                        if (role.equals(Role.CLIENT.toString()))
+                                return clientService.uploadImageByIdAndCpf(id, cpf, file) ? HttpStatus.OK : HttpStatus.NOT_FOUND;
                 }
 
                 boolean isSaved = clientService.uploadImage(id, file);
@@ -80,13 +96,18 @@ public class ClientController {
         @Operation(summary = "Download a client image", description = "Download a client image from the system")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Image downloaded successfully"),
+                        @ApiResponse(responseCode = "206", description = "Requested byte range of the image"),
+                        @ApiResponse(responseCode = "304", description = "Image not modified"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized"),
                         @ApiResponse(responseCode = "403", description = "Forbidden"),
                         @ApiResponse(responseCode = "404", description = "Not found"),
         })
         @RolesAllowed({ "ADMIN", "CLIENT" })
         @GetMapping("/{id}/download-image")
-        public ResponseEntity<Resource> getProfileImage(@PathVariable("id") Long id) {
+        public ResponseEntity<Resource> getProfileImage(@PathVariable("id") Long id,
+                        @Parameter(description = "Longest side in pixels; the smallest pre-rendered variant that covers it is served") @RequestParam(value = "size", required = false) Integer size) {
+                Optional<ImageDTO> image = null;
+
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
                 if (authentication instanceof CustomAuthentication) {
@@ -94,19 +115,71 @@ public class ClientController {
                         String role = customAuth.getRole();
                         String cpf = customAuth.getCpf();
 
-                        if (role.equals(Role.CLIENT.toString()) && !clientService.existsByIdAndCpf(id, cpf))
-                                return ResponseEntity.notFound().build();
+                        if (role.equals(Role.CLIENT.toString()))
+                                image = clientService.getProfileImageByIdAndCpf(id, cpf, size);
                 }
 
-                Optional<Resource> resource = clientService.getProfileImage(id);
-                if (!resource.isPresent())
+                if (image == null)
+                        image = clientService.getProfileImage(id, size);
+                if (!image.isPresent())
                         return ResponseEntity.notFound().build();
 
                 return ResponseEntity.ok()
-                                .contentType(MediaType.IMAGE_JPEG)
+                                .contentType(MediaType.parseMediaType(image.get().getContentType()))
+                                .eTag(image.get().getEtag())
+                                .lastModified(image.get().getLastModified())
+                                .cacheControl(IMAGE_CACHE_CONTROL)
                                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                                                "inline; filename=\"" + resource.get().getFilename() + "\"")
-                                .body(resource.get());
+                                                "inline; filename=\"" + image.get().getResource().getFilename() + "\"")
+                                .header("X-Content-Type-Options", "nosniff")
+                                .body(image.get().getResource());
+        }
+
+        @Operation(summary = "Stream a client image", description = "Uploads a client image from the raw request body, streamed to storage without multipart buffering")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Image uploaded successfully"),
+                        @ApiResponse(responseCode = "400", description = "Empty body"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Not found"),
+                        @ApiResponse(responseCode = "408", description = "Body not received in time"),
+                        @ApiResponse(responseCode = "413", description = "Image too large"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @PutMapping(value = "/{id}/image", consumes = { "image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE })
+        public CompletableFuture<ResponseEntity<UploadDTO>> streamProfileImage(@PathVariable("id") Long id,
+                        HttpServletRequest request) {
+                Function<ImageMetadataDTO, Boolean> attach = imageAttacher(id);
+                if (attach == null)
+                        return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+
+                return imageUploadService.receive(request, attach).thenApply(upload -> ResponseEntity.ok(upload));
+        }
+
+        @Operation(summary = "Start a resumable client image upload", description = "Creates an upload session; chunks are sent with PATCH /api/v1/uploads/{uploadId}")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "201", description = "Upload session created"),
+                        @ApiResponse(responseCode = "400", description = "Invalid Upload-Length"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Not found"),
+                        @ApiResponse(responseCode = "413", description = "Image too large"),
+                        @ApiResponse(responseCode = "429", description = "Too many open upload sessions"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @PostMapping("/{id}/image/uploads")
+        public ResponseEntity<UploadDTO> createImageUpload(@PathVariable("id") Long id,
+                        @Parameter(description = "Total size of the image in bytes") @RequestHeader(ImageUploadController.UPLOAD_LENGTH) long length) {
+                Function<ImageMetadataDTO, Boolean> attach = imageAttacher(id);
+                if (attach == null)
+                        return ResponseEntity.notFound().build();
+
+                UploadDTO upload = imageUploadService.createSession(length,
+                                SecurityContextHolder.getContext().getAuthentication().getName(), attach);
+
+                return ResponseEntity.created(URI.create("/api/v1/uploads/" + upload.getId()))
+                                .header(ImageUploadController.UPLOAD_OFFSET, "0")
+                                .body(upload);
         }
 
         @Operation(summary = "Create a new client", description = "Creates a new client record in the system")
@@ -178,7 +251,7 @@ public class ClientController {
         @RolesAllowed({ "ADMIN", "CLIENT" })
         @GetMapping
         public Page<ClientDTO> getAllClients(@Parameter(hidden = true) Pageable pageable) {
-                Page<Client> clients = null;
+                Page<ClientDTO> clients = null;
 
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -193,7 +266,7 @@ public class ClientController {
                                 clients = clientService.findAll(pageable);
                 }
 
-                return clientMapper.pageToPageDTO(clients);
+                return clients;
         }
 
         @Operation(summary = "Update an existing client", description = "Updates an existing client record")
@@ -254,4 +327,21 @@ public class ClientController {
 
                 return false;
         }
+
+        private Function<ImageMetadataDTO, Boolean> imageAttacher(Long id) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+                if (authentication instanceof CustomAuthentication) {
+                        CustomAuthentication customAuth = (CustomAuthentication) authentication;
+                        String role = customAuth.getRole();
+                        String cpf = customAuth.getCpf();
+
+                        if (role.equals(Role.CLIENT.toString()))
+                                return clientService.existsByIdAndCpf(id, cpf)
+                                                ? image -> clientService.attachImageByIdAndCpf(id, cpf, image)
+                                                : null;
+                }
+
+                return clientService.existsById(id) ? image -> clientService.attachImage(id, image) : null;
+        }
 }
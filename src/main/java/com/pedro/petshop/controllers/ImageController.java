@@ -0,0 +1,67 @@
+package com.pedro.petshop.controllers;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pedro.petshop.configs.RolesAllowed;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.services.ImageStoreService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+@RestController
+@RequestMapping("/api/v1/images")
+public class ImageController {
+
+        private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate()
+                        .immutable();
+        private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+        private final ImageStoreService imageStoreService;
+
+        public ImageController(ImageStoreService imageStoreService) {
+                this.imageStoreService = imageStoreService;
+        }
+
+        @Operation(summary = "Download an image by content hash", description = "Downloads a stored image by the SHA-256 hash returned in the pet and client image fields")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Image downloaded successfully"),
+                        @ApiResponse(responseCode = "206", description = "Requested byte range of the image"),
+                        @ApiResponse(responseCode = "304", description = "Image not modified"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Not found"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @GetMapping("/{hash}")
+        public ResponseEntity<Resource> getImage(@PathVariable("hash") String hash,
+                        @Parameter(description = "Longest side in pixels; the smallest pre-rendered variant that covers it is served") @RequestParam(value = "size", required = false) Integer size) {
+                Optional<ImageDTO> image = imageStoreService.open(hash, size);
+
+                if (!image.isPresent())
+                        return ResponseEntity.notFound().build();
+
+                boolean pendingVariant = size != null && hash.equals(image.get().getEtag());
+
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(image.get().getContentType()))
+                                .eTag(image.get().getEtag())
+                                .lastModified(image.get().getLastModified())
+                                .cacheControl(pendingVariant ? REVALIDATE : IMMUTABLE)
+                                .header("X-Content-Type-Options", "nosniff")
+                                .body(image.get().getResource());
+        }
+}
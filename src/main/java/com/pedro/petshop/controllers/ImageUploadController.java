@@ -0,0 +1,104 @@
+package com.pedro.petshop.controllers;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pedro.petshop.configs.RolesAllowed;
+import com.pedro.petshop.dtos.UploadDTO;
+import com.pedro.petshop.services.ImageUploadService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/v1/uploads")
+public class ImageUploadController {
+
+        public static final String UPLOAD_OFFSET = "Upload-Offset";
+        public static final String UPLOAD_LENGTH = "Upload-Length";
+
+        private final ImageUploadService imageUploadService;
+
+        public ImageUploadController(ImageUploadService imageUploadService) {
+                this.imageUploadService = imageUploadService;
+        }
+
+        @Operation(summary = "Get upload progress", description = "Returns how many bytes of a resumable upload were received, so the client knows where to resume")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Upload progress retrieved successfully"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Not found"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @GetMapping("/{uploadId}")
+        public ResponseEntity<UploadDTO> getUpload(@PathVariable("uploadId") String uploadId) {
+                Optional<UploadDTO> upload = imageUploadService.findSession(uploadId, currentUser());
+
+                if (!upload.isPresent())
+                        return ResponseEntity.notFound().build();
+
+                return ResponseEntity.ok()
+                                .header(UPLOAD_OFFSET, String.valueOf(upload.get().getOffset()))
+                                .header(UPLOAD_LENGTH, String.valueOf(upload.get().getLength()))
+                                .cacheControl(CacheControl.noStore())
+                                .body(upload.get());
+        }
+
+        @Operation(summary = "Upload a chunk", description = "Appends the request body at Upload-Offset; the image is stored and attached once the last byte arrives")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Chunk received successfully"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Not found"),
+                        @ApiResponse(responseCode = "408", description = "Chunk not received in time"),
+                        @ApiResponse(responseCode = "409", description = "Offset does not match the received bytes"),
+                        @ApiResponse(responseCode = "413", description = "Chunk exceeds the declared length"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @PatchMapping(value = "/{uploadId}", consumes = { "application/offset+octet-stream",
+                        MediaType.APPLICATION_OCTET_STREAM_VALUE })
+        public CompletableFuture<ResponseEntity<UploadDTO>> uploadChunk(@PathVariable("uploadId") String uploadId,
+                        @Parameter(description = "Bytes already received, as reported by the server") @RequestHeader(UPLOAD_OFFSET) long offset,
+                        HttpServletRequest request) {
+                return imageUploadService.append(uploadId, currentUser(), offset, request)
+                                .thenApply(upload -> ResponseEntity.ok()
+                                                .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                                                .body(upload));
+        }
+
+        @Operation(summary = "Cancel an upload", description = "Discards a resumable upload and the bytes received so far")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "204", description = "Upload cancelled successfully"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Not found"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @DeleteMapping("/{uploadId}")
+        public ResponseEntity<Void> cancelUpload(@PathVariable("uploadId") String uploadId) {
+                if (!imageUploadService.cancel(uploadId, currentUser()))
+                        return ResponseEntity.notFound().build();
+
+                return ResponseEntity.noContent().build();
+        }
+
+        private static String currentUser() {
+                return SecurityContextHolder.getContext().getAuthentication().getName();
+        }
+}
@@ -0,0 +1,56 @@
+package com.pedro.petshop.controllers;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pedro.petshop.configs.RolesAllowed;
+import com.pedro.petshop.dtos.ImportResultDTO;
+import com.pedro.petshop.services.ImportService;
+import com.pedro.petshop.services.ImportService.Kind;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/v1/imports")
+public class ImportController {
+
+        private final ImportService importService;
+
+        public ImportController(ImportService importService) {
+                this.importService = importService;
+        }
+
+        @Operation(summary = "Import a CSV", description = "Streams a CSV body of clients, pets or appointments into the database with COPY; invalid rows are skipped and reported by line")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Import finished, see imported, rejected and errors"),
+                        @ApiResponse(responseCode = "400", description = "Malformed CSV or invalid header"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Unknown kind"),
+                        @ApiResponse(responseCode = "413", description = "Too many rows"),
+        })
+        @RolesAllowed({ "ADMIN" })
+        @PostMapping(value = "/{kind}", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE,
+                        MediaType.APPLICATION_OCTET_STREAM_VALUE })
+        public ResponseEntity<ImportResultDTO> importCsv(
+                        @Parameter(description = "clients, pets or appointments") @PathVariable("kind") String kind,
+                        HttpServletRequest request) throws IOException {
+                Optional<Kind> importKind = Kind.parse(kind);
+
+                if (importKind.isEmpty())
+                        return ResponseEntity.notFound().build();
+
+                return ResponseEntity.ok(importService.importCsv(importKind.get(), request.getInputStream()));
+        }
+}
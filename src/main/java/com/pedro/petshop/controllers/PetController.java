@@ -1,10 +1,15 @@
 package com.pedro.petshop.controllers;
 
+import java.net.URI;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -17,18 +22,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.pedro.petshop.configs.CursorCodec;
 import com.pedro.petshop.configs.CustomAuthentication;
 import com.pedro.petshop.configs.RolesAllowed;
+import com.pedro.petshop.dtos.CursorPageDTO;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
 import com.pedro.petshop.dtos.PetDTO;
+import com.pedro.petshop.dtos.UploadDTO;
 import com.pedro.petshop.entities.Pet;
 import com.pedro.petshop.enums.Role;
 import com.pedro.petshop.mappers.PetMapper;
 import com.pedro.petshop.services.ClientService;
+import com.pedro.petshop.services.ImageUploadService;
 import com.pedro.petshop.services.PetService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -36,19 +49,26 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/v1/pets")
 public class PetController {
 
+        private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+        private static final int MAX_BULK_SIZE = 500;
+
         private final PetService petService;
         private final ClientService clientService;
         private final PetMapper petMapper;
+        private final ImageUploadService imageUploadService;
 
-        public PetController(PetService petService, ClientService clientService, PetMapper petMapper) {
+        public PetController(PetService petService, ClientService clientService, PetMapper petMapper,
+                        ImageUploadService imageUploadService) {
                 this.petService = petService;
                 this.clientService = clientService;
                 this.petMapper = petMapper;
+                this.imageUploadService = imageUploadService;
         }
 
         @Operation(summary = "Upload a pet image", description = "Upload a pet image in the system")
@@ -69,8 +89,8 @@ public class PetController {
                         String role = customAuth.getRole();
                         String cpf = customAuth.getCpf();
 
-                        if (role.equals(Role.CLIENT.toString()) && !petService.existsByIdAndUserCpf(id, cpf))
-                                return HttpStatus.NOT_FOUND;
+                        if (role.equals(Role.CLIENT.toString()))
+                                return petService.uploadImageByIdAndUserCpf(id, cpf, file) ? HttpStatus.OK : HttpStatus.NOT_FOUND;
                 }
 
                 boolean isSaved = petService.uploadImage(id, file);
@@ -83,13 +103,18 @@ public class PetController {
         @Operation(summary = "Download a pet image", description = "Download a pet image from the system")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Image downloaded successfully"),
+                        @ApiResponse(responseCode = "206", description = "Requested byte range of the image"),
+                        @ApiResponse(responseCode = "304", description = "Image not modified"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized"),
                         @ApiResponse(responseCode = "403", description = "Forbidden"),
                         @ApiResponse(responseCode = "404", description = "Not found"),
         })
         @RolesAllowed({ "ADMIN", "CLIENT" })
         @GetMapping("/{id}/download-image")
-        public ResponseEntity<Resource> getProfileImage(@PathVariable("id") Long id) {
+        public ResponseEntity<Resource> getProfileImage(@PathVariable("id") Long id,
+                        @Parameter(description = "Longest side in pixels; the smallest pre-rendered variant that covers it is served") @RequestParam(value = "size", required = false) Integer size) {
+                Optional<ImageDTO> image = null;
+
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
                 if (authentication instanceof CustomAuthentication) {
@@ -97,19 +122,71 @@ public class PetController {
                         String role = customAuth.getRole();
                         String cpf = customAuth.getCpf();
 
-                        if (role.equals(Role.CLIENT.toString()) && !petService.existsByIdAndUserCpf(id, cpf))
-                                return ResponseEntity.notFound().build();
+                        if (role.equals(Role.CLIENT.toString()))
+                                image = petService.getProfileImageByIdAndUserCpf(id, cpf, size);
                 }
 
-                Optional<Resource> resource = petService.getProfileImage(id);
-                if (!resource.isPresent())
+                if (image == null)
+                        image = petService.getProfileImage(id, size);
+                if (!image.isPresent())
                         return ResponseEntity.notFound().build();
 
                 return ResponseEntity.ok()
-                                .contentType(MediaType.IMAGE_JPEG)
+                                .contentType(MediaType.parseMediaType(image.get().getContentType()))
+                                .eTag(image.get().getEtag())
+                                .lastModified(image.get().getLastModified())
+                                .cacheControl(IMAGE_CACHE_CONTROL)
                                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                                                "inline; filename=\"" + resource.get().getFilename() + "\"")
-                                .body(resource.get());
+                                                "inline; filename=\"" + image.get().getResource().getFilename() + "\"")
+                                .header("X-Content-Type-Options", "nosniff")
+                                .body(image.get().getResource());
+        }
+
+        @Operation(summary = "Stream a pet image", description = "Uploads a pet image from the raw request body, streamed to storage without multipart buffering")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Image uploaded successfully"),
+                        @ApiResponse(responseCode = "400", description = "Empty body"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Not found"),
+                        @ApiResponse(responseCode = "408", description = "Body not received in time"),
+                        @ApiResponse(responseCode = "413", description = "Image too large"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @PutMapping(value = "/{id}/image", consumes = { "image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE })
+        public CompletableFuture<ResponseEntity<UploadDTO>> streamProfileImage(@PathVariable("id") Long id,
+                        HttpServletRequest request) {
+                Function<ImageMetadataDTO, Boolean> attach = imageAttacher(id);
+                if (attach == null)
+                        return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+
+                return imageUploadService.receive(request, attach).thenApply(upload -> ResponseEntity.ok(upload));
+        }
+
+        @Operation(summary = "Start a resumable pet image upload", description = "Creates an upload session; chunks are sent with PATCH /api/v1/uploads/{uploadId}")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "201", description = "Upload session created"),
+                        @ApiResponse(responseCode = "400", description = "Invalid Upload-Length"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Not found"),
+                        @ApiResponse(responseCode = "413", description = "Image too large"),
+                        @ApiResponse(responseCode = "429", description = "Too many open upload sessions"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @PostMapping("/{id}/image/uploads")
+        public ResponseEntity<UploadDTO> createImageUpload(@PathVariable("id") Long id,
+                        @Parameter(description = "Total size of the image in bytes") @RequestHeader(ImageUploadController.UPLOAD_LENGTH) long length) {
+                Function<ImageMetadataDTO, Boolean> attach = imageAttacher(id);
+                if (attach == null)
+                        return ResponseEntity.notFound().build();
+
+                UploadDTO upload = imageUploadService.createSession(length,
+                                SecurityContextHolder.getContext().getAuthentication().getName(), attach);
+
+                return ResponseEntity.created(URI.create("/api/v1/uploads/" + upload.getId()))
+                                .header(ImageUploadController.UPLOAD_OFFSET, "0")
+                                .body(upload);
         }
 
         @Operation(summary = "Create a new pet", description = "Creates a new pet record for a client")
@@ -139,6 +216,37 @@ public class PetController {
                                 .ok(petMapper.toDto(petService.create(petMapper.toEntity(pet))));
         }
 
+        @Operation(summary = "Create pets in bulk", description = "Creates several pet records in a single transaction")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Pets created successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+                        @ApiResponse(responseCode = "404", description = "Client not found")
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @PostMapping("/bulk")
+        public ResponseEntity<List<PetDTO>> createPets(@RequestBody List<PetDTO> pets) {
+                if (pets == null || pets.isEmpty() || pets.size() > MAX_BULK_SIZE)
+                        return ResponseEntity.badRequest().build();
+
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+                if (authentication instanceof CustomAuthentication) {
+                        CustomAuthentication customAuth = (CustomAuthentication) authentication;
+                        String role = customAuth.getRole();
+                        String cpf = customAuth.getCpf();
+
+                        if (role.equals(Role.CLIENT.toString())
+                                        && !clientService.allOwnedByCpf(pets.stream().map(PetDTO::getClientId).toList(), cpf))
+                                return ResponseEntity.notFound().build();
+                }
+
+                List<Pet> created = petService.createAll(pets.stream().map(petMapper::toEntity).toList());
+
+                return ResponseEntity.ok(created.stream().map(petMapper::toDto).toList());
+        }
+
         @Operation(summary = "Get pet by ID", description = "Retrieves a specific pet by its ID")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Pet found"),
@@ -183,7 +291,7 @@ public class PetController {
         @RolesAllowed({ "ADMIN", "CLIENT" })
         @GetMapping
         public Page<PetDTO> getAllPets(@Parameter(hidden = true) Pageable pageable) {
-                Page<Pet> pets = null;
+                Page<PetDTO> pets = null;
 
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -198,7 +306,43 @@ public class PetController {
                                 pets = petService.findAll(pageable);
                 }
 
-                return petMapper.pageToPageDTO(pets);
+                return pets;
+        }
+
+        @Operation(summary = "Get pets by cursor", description = "Retrieves pet records ordered by id using an opaque cursor, without a count query", parameters = {
+                        @Parameter(name = "cursor", description = "Cursor returned as nextCursor by the previous page", in = ParameterIn.QUERY),
+                        @Parameter(name = "size", description = "Number of items per page", in = ParameterIn.QUERY, example = "10") })
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "List of pets returned"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        })
+        @RolesAllowed({ "ADMIN", "CLIENT" })
+        @GetMapping("/cursor")
+        public ResponseEntity<CursorPageDTO<PetDTO>> getPetsByCursor(
+                        @RequestParam(name = "cursor", required = false) String cursor,
+                        @RequestParam(name = "size", defaultValue = "20") int size) {
+                Optional<CursorPageDTO<PetDTO>> pets = null;
+                int pageSize = CursorCodec.clampSize(size);
+
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+                if (authentication instanceof CustomAuthentication) {
+                        CustomAuthentication customAuth = (CustomAuthentication) authentication;
+                        String role = customAuth.getRole();
+                        String cpf = customAuth.getCpf();
+
+                        if (role.equals(Role.CLIENT.toString()))
+                                pets = petService.getAllByUserCpfAndCursor(cpf, cursor, pageSize);
+                        if (role.equals(Role.ADMIN.toString()))
+                                pets = petService.findAllByCursor(cursor, pageSize);
+                }
+
+                if (pets != null && pets.isPresent())
+                        return ResponseEntity.ok(pets.get());
+
+                return ResponseEntity.badRequest().build();
         }
 
         @Operation(summary = "Get pets by clientId", description = "Retrieves pet byclientId records", parameters = {
@@ -215,7 +359,7 @@ public class PetController {
         @GetMapping("/client/{clientId}")
         public Page<PetDTO> getPetsByClientId(@PathVariable("clientId") Long clientId,
                         @Parameter(hidden = true) Pageable pageable) {
-                Page<Pet> pets = null;
+                Page<PetDTO> pets = null;
 
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -230,7 +374,7 @@ public class PetController {
                                 pets = petService.findAllByClientId(clientId, pageable);
                 }
 
-                return petMapper.pageToPageDTO(pets);
+                return pets;
         }
 
         @Operation(summary = "Update an existing pet", description = "Updates an existing pet record")
@@ -290,4 +434,21 @@ public class PetController {
 
                 return false;
         }
+
+        private Function<ImageMetadataDTO, Boolean> imageAttacher(Long id) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+                if (authentication instanceof CustomAuthentication) {
+                        CustomAuthentication customAuth = (CustomAuthentication) authentication;
+                        String role = customAuth.getRole();
+                        String cpf = customAuth.getCpf();
+
+                        if (role.equals(Role.CLIENT.toString()))
+                                return petService.existsByIdAndUserCpf(id, cpf)
+                                                ? image -> petService.attachImageByIdAndUserCpf(id, cpf, image)
+                                                : null;
+                }
+
+                return petService.existsById(id) ? image -> petService.attachImage(id, image) : null;
+        }
 }
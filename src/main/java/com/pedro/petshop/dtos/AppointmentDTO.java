@@ -2,9 +2,13 @@ package com.pedro.petshop.dtos;
 
 import java.time.LocalDateTime;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AppointmentDTO {
     private Long id;
     private Long petId;
@@ -2,12 +2,17 @@ package com.pedro.petshop.dtos;
 
 import java.time.LocalDateTime;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ClientDTO {
     private Long id;
     private String name;
     private String cpf;
     private LocalDateTime registrationDate;
+    private String image;
 }
@@ -0,0 +1,17 @@
+package com.pedro.petshop.dtos;
+
+import org.springframework.core.io.Resource;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageDTO {
+    private Resource resource;
+    private String contentType;
+    private String etag;
+    private long lastModified;
+}
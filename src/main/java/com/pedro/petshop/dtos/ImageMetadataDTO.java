@@ -0,0 +1,14 @@
+package com.pedro.petshop.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageMetadataDTO {
+    private String image;
+    private String contentType;
+    private String etag;
+}
@@ -0,0 +1,17 @@
+package com.pedro.petshop.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private String kind;
+    private long imported;
+    private long rejected;
+    private List<ImportErrorDTO> errors;
+}
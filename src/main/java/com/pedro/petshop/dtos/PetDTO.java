@@ -2,13 +2,18 @@ package com.pedro.petshop.dtos;
 
 import java.time.LocalDate;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class PetDTO {
     private Long id;
     private Long clientId;
     private Long breedId;
     private String name;
     private LocalDate birthDate;
+    private String image;
 }
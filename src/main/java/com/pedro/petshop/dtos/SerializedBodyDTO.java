@@ -0,0 +1,13 @@
+package com.pedro.petshop.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SerializedBodyDTO {
+    private byte[] body;
+    private String etag;
+}
@@ -0,0 +1,15 @@
+package com.pedro.petshop.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadDTO {
+    private String id;
+    private long offset;
+    private long length;
+    private String image;
+}
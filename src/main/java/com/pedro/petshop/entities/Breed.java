@@ -1,21 +1,26 @@
 package com.pedro.petshop.entities;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@DynamicUpdate
 @Table(name = "breeds")
 @Data
 @NoArgsConstructor
 public class Breed {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "breeds_id_seq")
+    @SequenceGenerator(name = "breeds_id_seq", sequenceName = "breeds_id_seq", allocationSize = 50)
     private Long id;
 
     private String description;
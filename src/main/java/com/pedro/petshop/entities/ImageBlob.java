@@ -0,0 +1,29 @@
+package com.pedro.petshop.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "image_blobs")
+@Data
+@NoArgsConstructor
+public class ImageBlob {
+
+    @Id
+    private String hash;
+
+    private String contentType;
+    private Long size;
+
+    @Column(insertable = false, updatable = false)
+    private Integer refCount;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime touchedAt;
+}
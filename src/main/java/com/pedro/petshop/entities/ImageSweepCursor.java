@@ -0,0 +1,24 @@
+package com.pedro.petshop.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "image_sweep_cursors")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageSweepCursor {
+
+    @Id
+    private String name;
+
+    private String lastKey;
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,7 @@
 package com.pedro.petshop.entities;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.pedro.petshop.enums.Role;
 
 import jakarta.persistence.Entity;
@@ -9,6 +11,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 @Data
 @NoArgsConstructor
@@ -14,6 +14,7 @@ public interface AddressMapper {
     AddressDTO toDto(Address address);
 
     @Mapping(source = "clientId", target = "client.id")
+    @Mapping(target = "ownerCpf", ignore = true)
     Address toEntity(AddressDTO addressDTO);
 
     default Page<AddressDTO> pageToPageDTO(Page<Address> addressPage) {
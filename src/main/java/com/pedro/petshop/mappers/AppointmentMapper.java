@@ -2,7 +2,6 @@ package com.pedro.petshop.mappers;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
 
 import com.pedro.petshop.dtos.AppointmentDTO;
 import com.pedro.petshop.entities.Appointment;
@@ -14,9 +13,6 @@ public interface AppointmentMapper {
     AppointmentDTO toDto(Appointment appointment);
 
     @Mapping(source = "petId", target = "pet.id")
+    @Mapping(target = "ownerCpf", ignore = true)
     Appointment toEntity(AppointmentDTO appointmentDTO);
-
-    default Page<AppointmentDTO> pageToPageDTO(Page<Appointment> appointmentPage) {
-        return appointmentPage.map(this::toDto);
-    }
 }
@@ -2,7 +2,6 @@ package com.pedro.petshop.mappers;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
 
 import com.pedro.petshop.dtos.ClientDTO;
 import com.pedro.petshop.entities.Client;
@@ -14,9 +13,7 @@ public interface ClientMapper {
 
     @Mapping(source = "cpf", target = "user.cpf")
     @Mapping(target = "image", ignore = true)
+    @Mapping(target = "imageContentType", ignore = true)
+    @Mapping(target = "imageEtag", ignore = true)
     Client toEntity(ClientDTO clientDTO);
-
-    default Page<ClientDTO> pageToPageDTO(Page<Client> clientPage) {
-        return clientPage.map(this::toDto);
-    }
 }
@@ -14,6 +14,7 @@ public interface ContactMapper {
     ContactDTO toDto(Contact contact);
 
     @Mapping(source = "clientId", target = "client.id")
+    @Mapping(target = "ownerCpf", ignore = true)
     Contact toEntity(ContactDTO contactDTO);
 
     default Page<ContactDTO> pageToPageDTO(Page<Contact> contactPage) {
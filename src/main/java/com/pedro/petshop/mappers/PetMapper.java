@@ -2,7 +2,6 @@ package com.pedro.petshop.mappers;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
 
 import com.pedro.petshop.dtos.PetDTO;
 import com.pedro.petshop.entities.Pet;
@@ -17,9 +16,8 @@ public interface PetMapper {
     @Mapping(source = "clientId", target = "client.id")
     @Mapping(source = "breedId", target = "breed.id")
     @Mapping(target = "image", ignore = true)
+    @Mapping(target = "imageContentType", ignore = true)
+    @Mapping(target = "imageEtag", ignore = true)
+    @Mapping(target = "ownerCpf", ignore = true)
     Pet toEntity(PetDTO petDTO);
-
-    default Page<PetDTO> pageToPageDTO(Page<Pet> petPage) {
-        return petPage.map(this::toDto);
-    }
 }
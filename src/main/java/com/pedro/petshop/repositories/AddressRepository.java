@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,41 +13,60 @@ import org.springframework.stereotype.Repository;
 import com.pedro.petshop.entities.Address;
 
 @Repository
-public interface AddressRepository extends JpaRepository<Address, Long> {
+public interface AddressRepository extends JpaRepository<Address, Long>, PersistenceContextRepository {
         @Query("SELECT a FROM Address a " +
-                        "JOIN a.client c " +
-                        "JOIN c.user u " +
-                        "WHERE a.id = :id AND u.cpf = :cpf")
+                        "WHERE a.id = :id AND a.ownerCpf = :cpf")
         Optional<Address> findByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
         @Query("SELECT a FROM Address a " +
-                        "JOIN a.client c " +
-                        "JOIN c.user u " +
-                        "WHERE u.cpf = :cpf")
+                        "WHERE a.ownerCpf = :cpf")
         Page<Address> findAllByUserCpf(@Param("cpf") String cpf, Pageable pageable);
 
         @Query("SELECT COUNT(a) > 0 FROM Address a " +
-                        "JOIN a.client c " +
-                        "JOIN c.user u " +
-                        "WHERE a.id = :id AND u.cpf = :cpf")
+                        "WHERE a.id = :id AND a.ownerCpf = :cpf")
         boolean existsByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
+        @Modifying
         @Query("DELETE FROM Address a " +
-                        "WHERE a.id = :id AND EXISTS (" +
-                        "    SELECT 1 FROM Client c " +
-                        "    JOIN c.user u " +
-                        "    WHERE c = a.client AND u.cpf = :cpf)")
-        void deleteByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
+                        "WHERE a.id = :id AND a.ownerCpf = :cpf")
+        int deleteByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
+
+        @Query(value = "UPDATE address a SET " +
+                        "street = COALESCE(CAST(:street AS VARCHAR), a.street), " +
+                        "city = COALESCE(CAST(:city AS VARCHAR), a.city), " +
+                        "neighborhood = COALESCE(CAST(:neighborhood AS VARCHAR), a.neighborhood), " +
+                        "complement = COALESCE(CAST(:complement AS VARCHAR), a.complement), " +
+                        "tag = COALESCE(CAST(:tag AS VARCHAR), a.tag), " +
+                        "client_id = COALESCE(CAST(:clientId AS INT), a.client_id) " +
+                        "WHERE a.id = :id AND a.owner_cpf = :cpf " +
+                        "AND (CAST(:clientId AS INT) IS NULL OR EXISTS (" +
+                        "    SELECT 1 FROM clients nc WHERE nc.id = CAST(:clientId AS INT) AND nc.cpf = :cpf)) " +
+                        "RETURNING a.*", nativeQuery = true)
+        Optional<Address> updateReturningByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf,
+                        @Param("clientId") Long clientId,
+                        @Param("street") String street,
+                        @Param("city") String city,
+                        @Param("neighborhood") String neighborhood,
+                        @Param("complement") String complement,
+                        @Param("tag") String tag);
+
+        default Optional<Address> updateByIdAndUserCpf(Long id, String cpf,
+                        Long clientId,
+                        String street,
+                        String city,
+                        String neighborhood,
+                        String complement,
+                        String tag) {
+                flushAndClear();
+                return updateReturningByIdAndUserCpf(id, cpf, clientId, street, city, neighborhood, complement, tag);
+        }
 
         @Query("SELECT a FROM Address a " +
-                        "JOIN a.client c " +
-                        "WHERE c.id = :clientId")
+                        "WHERE a.client.id = :clientId")
         Page<Address> findAllByClientId(@Param("clientId") Long clientId, Pageable pageable);
 
         @Query("SELECT a FROM Address a " +
-                        "JOIN a.client c " +
-                        "JOIN c.user u " +
-                        "WHERE c.id = :clientId AND u.cpf = :cpf")
+                        "WHERE a.client.id = :clientId AND a.ownerCpf = :cpf")
         Page<Address> findAllByClientIdAndUserCpf(@Param("clientId") Long clientId,
                         @Param("cpf") String cpf,
                         Pageable pageable);
@@ -1,72 +1,171 @@
 package com.pedro.petshop.repositories;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.pedro.petshop.dtos.AppointmentDTO;
 import com.pedro.petshop.entities.Appointment;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, PersistenceContextRepository {
 
         @Query("SELECT a FROM Appointment a " +
-                        "JOIN a.pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE a.id = :id AND u.cpf = :cpf")
+                        "WHERE a.id = :id AND a.ownerCpf = :cpf")
         Optional<Appointment> findByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
-        @Query("SELECT a FROM Appointment a " +
-                        "JOIN a.pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE u.cpf = :cpf")
-        Page<Appointment> findAllByUserCpf(@Param("cpf") String cpf, Pageable pageable);
-
         @Query("SELECT COUNT(a) > 0 FROM Appointment a " +
-                        "JOIN a.pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE a.id = :id AND u.cpf = :cpf")
+                        "WHERE a.id = :id AND a.ownerCpf = :cpf")
         boolean existsByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
+        @Modifying
         @Query("DELETE FROM Appointment a " +
-                        "WHERE a.id = :id AND EXISTS (" +
-                        "    SELECT 1 FROM Pet p " +
-                        "    JOIN p.client c " +
-                        "    JOIN c.user u " +
-                        "    WHERE p = a.pet AND u.cpf = :cpf)")
-        void deleteByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
+                        "WHERE a.id = :id AND a.ownerCpf = :cpf")
+        int deleteByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
-        @Query("SELECT a FROM Appointment a " +
-                        "JOIN a.pet p " +
-                        "WHERE p.id = :petId")
-        Page<Appointment> findAllByPetId(@Param("petId") Long petId, Pageable pageable);
+        @Query(value = "UPDATE appointments a SET " +
+                        "description = COALESCE(CAST(:description AS TEXT), a.description), " +
+                        "cost = COALESCE(CAST(:cost AS DECIMAL(10, 2)), a.cost), " +
+                        "date = COALESCE(CAST(:date AS TIMESTAMP), a.date), " +
+                        "pet_id = COALESCE(CAST(:petId AS INT), a.pet_id) " +
+                        "WHERE a.id = :id AND a.owner_cpf = :cpf " +
+                        "AND (CAST(:petId AS INT) IS NULL OR EXISTS (" +
+                        "    SELECT 1 FROM pets np WHERE np.id = CAST(:petId AS INT) AND np.owner_cpf = :cpf)) " +
+                        "RETURNING a.*", nativeQuery = true)
+        Optional<Appointment> updateReturningByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf,
+                        @Param("petId") Long petId,
+                        @Param("description") String description,
+                        @Param("cost") Double cost,
+                        @Param("date") LocalDateTime date);
 
-        @Query("SELECT a FROM Appointment a " +
-                        "JOIN a.pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE p.id = :petId AND u.cpf = :cpf")
-        Page<Appointment> findAllByPetIdAndUserCpf(@Param("petId") Long petId, @Param("cpf") String cpf,
+        default Optional<Appointment> updateByIdAndUserCpf(Long id, String cpf,
+                        Long petId,
+                        String description,
+                        Double cost,
+                        LocalDateTime date) {
+                flushAndClear();
+                return updateReturningByIdAndUserCpf(id, cpf, petId, description, cost, date);
+        }
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a",
+                        countQuery = "SELECT COUNT(a) FROM Appointment a")
+        Page<AppointmentDTO> findAllDtos(Pageable pageable);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.ownerCpf = :cpf",
+                        countQuery = "SELECT COUNT(a) FROM Appointment a " +
+                        "WHERE a.ownerCpf = :cpf")
+        Page<AppointmentDTO> findAllDtosByUserCpf(@Param("cpf") String cpf, Pageable pageable);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.pet.id = :petId",
+                        countQuery = "SELECT COUNT(a) FROM Appointment a " +
+                        "WHERE a.pet.id = :petId")
+        Page<AppointmentDTO> findAllDtosByPetId(@Param("petId") Long petId, Pageable pageable);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.pet.id = :petId AND a.ownerCpf = :cpf",
+                        countQuery = "SELECT COUNT(a) FROM Appointment a " +
+                        "WHERE a.pet.id = :petId AND a.ownerCpf = :cpf")
+        Page<AppointmentDTO> findAllDtosByPetIdAndUserCpf(@Param("petId") Long petId, @Param("cpf") String cpf,
                         Pageable pageable);
 
-        @Query("SELECT a FROM Appointment a " +
-                        "JOIN a.pet p " +
-                        "JOIN p.client c " +
-                        "WHERE c.id = :clientId")
-        Page<Appointment> findAllByClientId(@Param("clientId") Long clientId, Pageable pageable);
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.pet.client.id = :clientId",
+                        countQuery = "SELECT COUNT(a) FROM Appointment a " +
+                        "WHERE a.pet.client.id = :clientId")
+        Page<AppointmentDTO> findAllDtosByClientId(@Param("clientId") Long clientId, Pageable pageable);
 
-        @Query("SELECT a FROM Appointment a " +
-                        "JOIN a.pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE c.id = :clientId AND u.cpf = :cpf")
-        Page<Appointment> findAllByClientIdAndUserCpf(@Param("clientId") Long clientId, @Param("cpf") String cpf,
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.pet.client.id = :clientId AND a.ownerCpf = :cpf",
+                        countQuery = "SELECT COUNT(a) FROM Appointment a " +
+                        "WHERE a.pet.client.id = :clientId AND a.ownerCpf = :cpf")
+        Page<AppointmentDTO> findAllDtosByClientIdAndUserCpf(@Param("clientId") Long clientId, @Param("cpf") String cpf,
                         Pageable pageable);
+
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+                        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL") })
+        @Query("SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a LEFT JOIN a.pet p " +
+                        "WHERE (:cpf IS NULL OR a.ownerCpf = :cpf) " +
+                        "AND (:clientId IS NULL OR p.client.id = :clientId) " +
+                        "AND (:petId IS NULL OR a.pet.id = :petId) " +
+                        "AND (:from IS NULL OR a.date >= :from) " +
+                        "AND (:to IS NULL OR a.date < :to) " +
+                        "ORDER BY a.date, a.id")
+        Stream<AppointmentDTO> streamDtos(@Param("cpf") String cpf, @Param("clientId") Long clientId,
+                        @Param("petId") Long petId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query("SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.date IS NOT NULL " +
+                        "ORDER BY a.date, a.id")
+        List<AppointmentDTO> findDatedDtos(Limit limit);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query("SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.date >= :date AND (a.date > :date OR a.id > :afterId) " +
+                        "ORDER BY a.date, a.id")
+        List<AppointmentDTO> findDatedDtosAfter(@Param("date") LocalDateTime date, @Param("afterId") Long afterId,
+                        Limit limit);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query("SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.date IS NULL AND a.id > :afterId " +
+                        "ORDER BY a.id")
+        List<AppointmentDTO> findUndatedDtosAfter(@Param("afterId") Long afterId, Limit limit);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query("SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.ownerCpf = :cpf AND a.date IS NOT NULL " +
+                        "ORDER BY a.date, a.id")
+        List<AppointmentDTO> findDatedDtosByUserCpf(@Param("cpf") String cpf, Limit limit);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query("SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.ownerCpf = :cpf AND a.date >= :date AND (a.date > :date OR a.id > :afterId) " +
+                        "ORDER BY a.date, a.id")
+        List<AppointmentDTO> findDatedDtosByUserCpfAfter(@Param("cpf") String cpf, @Param("date") LocalDateTime date,
+                        @Param("afterId") Long afterId, Limit limit);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query("SELECT new com.pedro.petshop.dtos.AppointmentDTO(a.id, a.pet.id, a.description, a.cost, a.date) " +
+                        "FROM Appointment a " +
+                        "WHERE a.ownerCpf = :cpf AND a.date IS NULL AND a.id > :afterId " +
+                        "ORDER BY a.id")
+        List<AppointmentDTO> findUndatedDtosByUserCpfAfter(@Param("cpf") String cpf, @Param("afterId") Long afterId,
+                        Limit limit);
 }
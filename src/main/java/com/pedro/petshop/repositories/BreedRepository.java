@@ -1,5 +1,8 @@
 package com.pedro.petshop.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,4 +11,5 @@ import com.pedro.petshop.entities.Breed;
 @Repository
 public interface BreedRepository extends JpaRepository<Breed, Long> {
 
+    List<Breed> findAllByOrderByIdAsc(Limit limit);
 }
@@ -1,21 +1,76 @@
 package com.pedro.petshop.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.pedro.petshop.dtos.ClientDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
 import com.pedro.petshop.entities.Client;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, PersistenceContextRepository {
     Optional<Client> findByIdAndCpf(Long id, String cpf);
 
-    Page<Client> findAllByCpf(String cpf, Pageable pageable);
-
     boolean existsByIdAndCpf(Long id, String cpf);
 
-    void deleteByIdAndCpf(Long id, String cpf);
+    long countByIdInAndCpf(Collection<Long> ids, String cpf);
+
+    @Modifying
+    @Query("DELETE FROM Client c WHERE c.id = :id AND c.cpf = :cpf")
+    int deleteByIdAndCpf(@Param("id") Long id, @Param("cpf") String cpf);
+
+    @Query(value = "UPDATE clients c SET " +
+            "name = COALESCE(CAST(:name AS VARCHAR), c.name), " +
+            "registration_date = COALESCE(CAST(:registrationDate AS TIMESTAMP), c.registration_date) " +
+            "WHERE c.id = :id AND c.cpf = :cpf " +
+            "RETURNING c.*", nativeQuery = true)
+    Optional<Client> updateReturningByIdAndCpf(@Param("id") Long id, @Param("cpf") String cpf,
+            @Param("name") String name,
+            @Param("registrationDate") LocalDateTime registrationDate);
+
+    default Optional<Client> updateByIdAndCpf(Long id, String cpf,
+            String name,
+            LocalDateTime registrationDate) {
+        flushAndClear();
+        return updateReturningByIdAndCpf(id, cpf, name, registrationDate);
+    }
+
+    @Query("SELECT p.id FROM Pet p WHERE p.client.id = :id")
+    List<Long> findPetIdsById(@Param("id") Long id);
+
+    @Query("SELECT new com.pedro.petshop.dtos.ImageMetadataDTO(c.image, c.imageContentType, c.imageEtag) " +
+            "FROM Client c WHERE c.id = :id")
+    Optional<ImageMetadataDTO> findImageById(@Param("id") Long id);
+
+    @Query("SELECT new com.pedro.petshop.dtos.ImageMetadataDTO(c.image, c.imageContentType, c.imageEtag) " +
+            "FROM Client c WHERE c.id = :id AND c.cpf = :cpf")
+    Optional<ImageMetadataDTO> findImageByIdAndCpf(@Param("id") Long id, @Param("cpf") String cpf);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(value = "SELECT new com.pedro.petshop.dtos.ClientDTO(c.id, c.name, c.cpf, c.registrationDate, c.image) " +
+            "FROM Client c",
+            countQuery = "SELECT COUNT(c) FROM Client c")
+    Page<ClientDTO> findAllDtos(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(value = "SELECT new com.pedro.petshop.dtos.ClientDTO(c.id, c.name, c.cpf, c.registrationDate, c.image) " +
+            "FROM Client c " +
+            "WHERE c.cpf = :cpf",
+            countQuery = "SELECT COUNT(c) FROM Client c " +
+            "WHERE c.cpf = :cpf")
+    Page<ClientDTO> findAllDtosByCpf(@Param("cpf") String cpf, Pageable pageable);
 }
@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,41 +13,54 @@ import org.springframework.stereotype.Repository;
 import com.pedro.petshop.entities.Contact;
 
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, PersistenceContextRepository {
         @Query("SELECT ct FROM Contact ct " +
-                        "JOIN ct.client c " +
-                        "JOIN c.user u " +
-                        "WHERE ct.id = :id AND u.cpf = :cpf")
+                        "WHERE ct.id = :id AND ct.ownerCpf = :cpf")
         Optional<Contact> findByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
         @Query("SELECT ct FROM Contact ct " +
-                        "JOIN ct.client c " +
-                        "JOIN c.user u " +
-                        "WHERE u.cpf = :cpf")
+                        "WHERE ct.ownerCpf = :cpf")
         Page<Contact> findAllByUserCpf(@Param("cpf") String cpf, Pageable pageable);
 
         @Query("SELECT COUNT(ct) > 0 FROM Contact ct " +
-                        "JOIN ct.client c " +
-                        "JOIN c.user u " +
-                        "WHERE c.id = :id AND u.cpf = :cpf")
+                        "WHERE ct.id = :id AND ct.ownerCpf = :cpf")
         boolean existsByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
+        @Modifying
         @Query("DELETE FROM Contact ct " +
-                        "WHERE ct.id = :id AND EXISTS (" +
-                        "    SELECT 1 FROM Client c " +
-                        "    JOIN c.user u " +
-                        "    WHERE c = ct.client AND u.cpf = :cpf)")
-        void deleteByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
+                        "WHERE ct.id = :id AND ct.ownerCpf = :cpf")
+        int deleteByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
+
+        @Query(value = "UPDATE contacts ct SET " +
+                        "tag = COALESCE(CAST(:tag AS VARCHAR), ct.tag), " +
+                        "type = COALESCE(CAST(:type AS VARCHAR), ct.type), " +
+                        "value = COALESCE(CAST(:value AS VARCHAR), ct.value), " +
+                        "client_id = COALESCE(CAST(:clientId AS INT), ct.client_id) " +
+                        "WHERE ct.id = :id AND ct.owner_cpf = :cpf " +
+                        "AND (CAST(:clientId AS INT) IS NULL OR EXISTS (" +
+                        "    SELECT 1 FROM clients nc WHERE nc.id = CAST(:clientId AS INT) AND nc.cpf = :cpf)) " +
+                        "RETURNING ct.*", nativeQuery = true)
+        Optional<Contact> updateReturningByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf,
+                        @Param("clientId") Long clientId,
+                        @Param("tag") String tag,
+                        @Param("type") String type,
+                        @Param("value") String value);
+
+        default Optional<Contact> updateByIdAndUserCpf(Long id, String cpf,
+                        Long clientId,
+                        String tag,
+                        String type,
+                        String value) {
+                flushAndClear();
+                return updateReturningByIdAndUserCpf(id, cpf, clientId, tag, type, value);
+        }
 
         @Query("SELECT ct FROM Contact ct " +
-                        "JOIN ct.client c " +
-                        "WHERE c.id = :clientId")
+                        "WHERE ct.client.id = :clientId")
         Page<Contact> findAllByClientId(@Param("clientId") Long clientId, Pageable pageable);
 
         @Query("SELECT ct FROM Contact ct " +
-                        "JOIN ct.client c " +
-                        "JOIN c.user u " +
-                        "WHERE c.id = :clientId AND u.cpf = :cpf")
+                        "WHERE ct.client.id = :clientId AND ct.ownerCpf = :cpf")
         Page<Contact> findAllByClientIdAndUserCpf(@Param("clientId") Long clientId,
                         @Param("cpf") String cpf,
                         Pageable pageable);
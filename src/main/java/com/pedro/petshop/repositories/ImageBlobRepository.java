@@ -0,0 +1,47 @@
+package com.pedro.petshop.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pedro.petshop.entities.ImageBlob;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO image_blobs (hash, content_type, size) VALUES (:hash, :contentType, :size) " +
+            "ON CONFLICT (hash) DO UPDATE SET touched_at = NOW()", nativeQuery = true)
+    void touch(@Param("hash") String hash, @Param("contentType") String contentType, @Param("size") long size);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "DELETE FROM image_blobs WHERE hash IN (" +
+            "    SELECT hash FROM image_blobs " +
+            "    WHERE ref_count = 0 AND touched_at < NOW() - make_interval(mins => :graceMinutes) " +
+            "    ORDER BY touched_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "AND ref_count = 0 " +
+            "RETURNING hash", nativeQuery = true)
+    List<String> deleteUnreferenced(@Param("graceMinutes") int graceMinutes, @Param("limit") int limit);
+
+    /**
+     * Serializes an upload of {@code hash} against the sweeper deciding whether
+     * its file is orphaned. Held until the surrounding transaction ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:hash))", nativeQuery = true)
+    int lock(@Param("hash") String hash);
+
+    @Query(value = "SELECT hash FROM image_blobs WHERE hash IN (:hashes) " +
+            "UNION SELECT image FROM pets WHERE image IN (:hashes) " +
+            "UNION SELECT image FROM clients WHERE image IN (:hashes)", nativeQuery = true)
+    Set<String> findReferenced(@Param("hashes") Collection<String> hashes);
+}
@@ -0,0 +1,10 @@
+package com.pedro.petshop.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.pedro.petshop.entities.ImageSweepCursor;
+
+@Repository
+public interface ImageSweepCursorRepository extends JpaRepository<ImageSweepCursor, String> {
+}
@@ -0,0 +1,11 @@
+package com.pedro.petshop.repositories;
+
+public interface PersistenceContextRepository {
+
+    /**
+     * Writes pending changes and detaches every managed entity, so a native
+     * {@code UPDATE ... RETURNING} right after it maps fresh instances instead
+     * of handing back stale ones from the persistence context.
+     */
+    void flushAndClear();
+}
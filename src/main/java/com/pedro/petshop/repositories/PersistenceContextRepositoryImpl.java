@@ -0,0 +1,16 @@
+package com.pedro.petshop.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class PersistenceContextRepositoryImpl implements PersistenceContextRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -1,53 +1,122 @@
 package com.pedro.petshop.repositories;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+import com.pedro.petshop.dtos.PetDTO;
 import com.pedro.petshop.entities.Pet;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface PetRepository extends JpaRepository<Pet, Long> {
+public interface PetRepository extends JpaRepository<Pet, Long>, PersistenceContextRepository {
         @Query("SELECT p FROM Pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE p.id = :id AND u.cpf = :cpf")
+                        "WHERE p.id = :id AND p.ownerCpf = :cpf")
         Optional<Pet> findByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
-        @Query("SELECT p FROM Pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE u.cpf = :cpf")
-        Page<Pet> findAllByUserCpf(@Param("cpf") String cpf, Pageable pageable);
-
         @Query("SELECT COUNT(p) > 0 FROM Pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE p.id = :id AND u.cpf = :cpf")
+                        "WHERE p.id = :id AND p.ownerCpf = :cpf")
         boolean existsByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
+        @Query("SELECT COUNT(p) FROM Pet p " +
+                        "WHERE p.id IN :ids AND p.ownerCpf = :cpf")
+        long countByIdInAndUserCpf(@Param("ids") Collection<Long> ids, @Param("cpf") String cpf);
+
+        @Modifying
         @Query("DELETE FROM Pet p " +
-                        "WHERE p.id = :id AND EXISTS (" +
-                        "    SELECT 1 FROM Client c " +
-                        "    JOIN c.user u " +
-                        "    WHERE c = p.client AND u.cpf = :cpf)")
-        void deleteByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
+                        "WHERE p.id = :id AND p.ownerCpf = :cpf")
+        int deleteByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
 
-        @Query("SELECT p FROM Pet p " +
-                        "JOIN p.client c " +
-                        "WHERE c.id = :clientId")
-        Page<Pet> findAllByClientId(@Param("clientId") Long clientId, Pageable pageable);
+        @Query(value = "UPDATE pets p SET " +
+                        "name = COALESCE(CAST(:name AS VARCHAR), p.name), " +
+                        "birth_date = COALESCE(CAST(:birthDate AS DATE), p.birth_date), " +
+                        "breed_id = COALESCE(CAST(:breedId AS INT), p.breed_id), " +
+                        "client_id = COALESCE(CAST(:clientId AS INT), p.client_id) " +
+                        "WHERE p.id = :id AND p.owner_cpf = :cpf " +
+                        "AND (CAST(:clientId AS INT) IS NULL OR EXISTS (" +
+                        "    SELECT 1 FROM clients nc WHERE nc.id = CAST(:clientId AS INT) AND nc.cpf = :cpf)) " +
+                        "RETURNING p.*", nativeQuery = true)
+        Optional<Pet> updateReturningByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf,
+                        @Param("clientId") Long clientId,
+                        @Param("breedId") Long breedId,
+                        @Param("name") String name,
+                        @Param("birthDate") LocalDate birthDate);
 
-        @Query("SELECT p FROM Pet p " +
-                        "JOIN p.client c " +
-                        "JOIN c.user u " +
-                        "WHERE c.id = :clientId AND u.cpf = :cpf")
-        Page<Pet> findAllByClientIdAndUserCpf(@Param("clientId") Long clientId,
+        default Optional<Pet> updateByIdAndUserCpf(Long id, String cpf,
+                        Long clientId,
+                        Long breedId,
+                        String name,
+                        LocalDate birthDate) {
+                flushAndClear();
+                return updateReturningByIdAndUserCpf(id, cpf, clientId, breedId, name, birthDate);
+        }
+
+        @Query("SELECT new com.pedro.petshop.dtos.ImageMetadataDTO(p.image, p.imageContentType, p.imageEtag) " +
+                        "FROM Pet p WHERE p.id = :id")
+        Optional<ImageMetadataDTO> findImageById(@Param("id") Long id);
+
+        @Query("SELECT new com.pedro.petshop.dtos.ImageMetadataDTO(p.image, p.imageContentType, p.imageEtag) " +
+                        "FROM Pet p WHERE p.id = :id AND p.ownerCpf = :cpf")
+        Optional<ImageMetadataDTO> findImageByIdAndUserCpf(@Param("id") Long id, @Param("cpf") String cpf);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.PetDTO(p.id, p.client.id, p.breed.id, p.name, p.birthDate, p.image) " +
+                        "FROM Pet p",
+                        countQuery = "SELECT COUNT(p) FROM Pet p")
+        Page<PetDTO> findAllDtos(Pageable pageable);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.PetDTO(p.id, p.client.id, p.breed.id, p.name, p.birthDate, p.image) " +
+                        "FROM Pet p " +
+                        "WHERE p.ownerCpf = :cpf",
+                        countQuery = "SELECT COUNT(p) FROM Pet p " +
+                        "WHERE p.ownerCpf = :cpf")
+        Page<PetDTO> findAllDtosByUserCpf(@Param("cpf") String cpf, Pageable pageable);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.PetDTO(p.id, p.client.id, p.breed.id, p.name, p.birthDate, p.image) " +
+                        "FROM Pet p " +
+                        "WHERE p.client.id = :clientId",
+                        countQuery = "SELECT COUNT(p) FROM Pet p " +
+                        "WHERE p.client.id = :clientId")
+        Page<PetDTO> findAllDtosByClientId(@Param("clientId") Long clientId, Pageable pageable);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query(value = "SELECT new com.pedro.petshop.dtos.PetDTO(p.id, p.client.id, p.breed.id, p.name, p.birthDate, p.image) " +
+                        "FROM Pet p " +
+                        "WHERE p.client.id = :clientId AND p.ownerCpf = :cpf",
+                        countQuery = "SELECT COUNT(p) FROM Pet p " +
+                        "WHERE p.client.id = :clientId AND p.ownerCpf = :cpf")
+        Page<PetDTO> findAllDtosByClientIdAndUserCpf(@Param("clientId") Long clientId,
                         @Param("cpf") String cpf,
                         Pageable pageable);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query("SELECT new com.pedro.petshop.dtos.PetDTO(p.id, p.client.id, p.breed.id, p.name, p.birthDate, p.image) " +
+                        "FROM Pet p " +
+                        "WHERE p.id > :afterId " +
+                        "ORDER BY p.id")
+        List<PetDTO> findDtosAfter(@Param("afterId") Long afterId, Limit limit);
+
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+        @Query("SELECT new com.pedro.petshop.dtos.PetDTO(p.id, p.client.id, p.breed.id, p.name, p.birthDate, p.image) " +
+                        "FROM Pet p " +
+                        "WHERE p.ownerCpf = :cpf AND p.id > :afterId " +
+                        "ORDER BY p.id")
+        List<PetDTO> findDtosByUserCpfAfter(@Param("cpf") String cpf, @Param("afterId") Long afterId,
+                        Limit limit);
 }
@@ -2,12 +2,12 @@ package com.pedro.petshop.services;
 
 import java.util.Optional;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.pedro.petshop.configs.Tool;
+import com.pedro.petshop.configs.PartialUpdate;
 import com.pedro.petshop.entities.Address;
 import com.pedro.petshop.repositories.AddressRepository;
 
@@ -42,11 +42,11 @@ public class AddressService {
                 pageable);
     }
 
+    @Transactional
     public Address update(Long id, Address address) {
-        address.setId(id);
         return addressRepository.findById(id).map(existingAddress -> {
-            BeanUtils.copyProperties(address, existingAddress, Tool.getNullPropertyNames(address));
-            return addressRepository.save(existingAddress);
+            PartialUpdate.copyNonNullProperties(address, existingAddress);
+            return existingAddress;
         }).orElse(null);
     }
 
@@ -70,19 +70,20 @@ public class AddressService {
         return addressRepository.findAllByUserCpf(cpf, pageable);
     }
 
+    @Transactional
     public Address updateByIdAndUserCpf(Long id, String cpf, Address updatedAddress) {
-        updatedAddress.setId(id);
-        return addressRepository.findByIdAndUserCpf(id, cpf).map(existingAddress -> {
-            BeanUtils.copyProperties(updatedAddress, existingAddress, Tool.getNullPropertyNames(updatedAddress));
-            return addressRepository.save(existingAddress);
-        }).orElse(null);
+        Long clientId = updatedAddress.getClient() != null ? updatedAddress.getClient().getId() : null;
+
+        return addressRepository.updateByIdAndUserCpf(id, cpf, clientId,
+                updatedAddress.getStreet(),
+                updatedAddress.getCity(),
+                updatedAddress.getNeighborhood(),
+                updatedAddress.getComplement(),
+                updatedAddress.getTag()).orElse(null);
     }
 
+    @Transactional
     public boolean deleteByIdAndUserCpf(Long id, String cpf) {
-        if (addressRepository.existsByIdAndUserCpf(id, cpf)) {
-            addressRepository.deleteByIdAndUserCpf(id, cpf);
-            return true;
-        }
-        return false;
+        return addressRepository.deleteByIdAndUserCpf(id, cpf) > 0;
     }
 }
@@ -0,0 +1,168 @@
+package com.pedro.petshop.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pedro.petshop.dtos.AppointmentDTO;
+import com.pedro.petshop.repositories.AppointmentRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class AppointmentExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Optional<Format> parse(String name) {
+            for (Format format : values())
+                if (format.extension.equalsIgnoreCase(name))
+                    return Optional.of(format);
+
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Optional export filters; {@code cpf} scopes the export to one owner and
+     * {@code to} is exclusive.
+     */
+    public record Filter(String cpf, Long clientId, Long petId, LocalDateTime from, LocalDateTime to) {
+    }
+
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final Counter ndjsonRows;
+    private final Counter csvRows;
+
+    public AppointmentExportService(AppointmentRepository appointmentRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.appointmentRepository = appointmentRepository;
+        this.ndjsonWriter = objectMapper.writerFor(AppointmentDTO.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.ndjsonRows = Counter.builder("petshop.appointments.exported")
+                .tag("format", "ndjson")
+                .description("Appointment rows written by the export endpoint")
+                .register(meterRegistry);
+        this.csvRows = Counter.builder("petshop.appointments.exported")
+                .tag("format", "csv")
+                .description("Appointment rows written by the export endpoint")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Streams every matching appointment to {@code out}. The query runs inside
+     * a read-only transaction so the PostgreSQL driver keeps a server-side
+     * cursor and fetches rows in batches of the repository fetch size; rows are
+     * DTO projections, so nothing piles up in the persistence context and
+     * memory stays flat however many rows are exported.
+     */
+    @Transactional(readOnly = true)
+    public long export(Filter filter, Format format, OutputStream out) throws IOException {
+        try (Stream<AppointmentDTO> rows = appointmentRepository.streamDtos(filter.cpf(), filter.clientId(),
+                filter.petId(), filter.from(), filter.to())) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            long count = format == Format.CSV ? writeCsv(rows.iterator(), writer) : writeNdjson(rows.iterator(), writer);
+            writer.flush();
+            return count;
+        }
+    }
+
+    private long writeNdjson(Iterator<AppointmentDTO> rows, Writer writer) throws IOException {
+        long count = 0;
+        SequenceWriter values = ndjsonWriter.writeValues(writer);
+
+        while (rows.hasNext()) {
+            values.write(rows.next());
+            ndjsonRows.increment();
+            count++;
+        }
+
+        values.flush();
+        if (count > 0)
+            writer.write('\n');
+
+        return count;
+    }
+
+    private long writeCsv(Iterator<AppointmentDTO> rows, Writer writer) throws IOException {
+        long count = 0;
+        writer.write("id,petId,description,cost,date\n");
+
+        while (rows.hasNext()) {
+            AppointmentDTO row = rows.next();
+            writer.write(value(row.getId()));
+            writer.write(',');
+            writer.write(value(row.getPetId()));
+            writer.write(',');
+            writer.write(csv(row.getDescription()));
+            writer.write(',');
+            writer.write(value(row.getCost()));
+            writer.write(',');
+            writer.write(value(row.getDate()));
+            writer.write('\n');
+            csvRows.increment();
+            count++;
+        }
+
+        return count;
+    }
+
+    private static String value(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    // RFC 4180 quoting, plus a leading quote on values a spreadsheet would
+    // otherwise evaluate as a formula.
+    private static String csv(String value) {
+        if (value == null || value.isEmpty())
+            return "";
+
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@')
+            value = "'" + value;
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
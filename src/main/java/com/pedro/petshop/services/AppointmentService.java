@@ -1,13 +1,23 @@
 package com.pedro.petshop.services;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
-import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.pedro.petshop.configs.Tool;
+import com.pedro.petshop.configs.PartialUpdate;
+import com.pedro.petshop.configs.CursorCodec;
+import com.pedro.petshop.dtos.AppointmentDTO;
+import com.pedro.petshop.dtos.CursorPageDTO;
 import com.pedro.petshop.entities.Appointment;
 import com.pedro.petshop.repositories.AppointmentRepository;
 
@@ -24,35 +34,45 @@ public class AppointmentService {
         return appointmentRepository.save(appointment);
     }
 
+    @Transactional
+    public List<Appointment> createAll(List<Appointment> appointments) {
+        return appointmentRepository.saveAll(appointments);
+    }
+
     public Optional<Appointment> findById(Long id) {
         return appointmentRepository.findById(id);
     }
 
-    public Page<Appointment> findAll(Pageable pageable) {
-        return appointmentRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<AppointmentDTO> findAll(Pageable pageable) {
+        return appointmentRepository.findAllDtos(pageable);
     }
 
-    public Page<Appointment> findAllByClientId(Long clientId, Pageable pageable) {
-        return appointmentRepository.findAllByClientId(clientId, pageable);
+    @Transactional(readOnly = true)
+    public Page<AppointmentDTO> findAllByClientId(Long clientId, Pageable pageable) {
+        return appointmentRepository.findAllDtosByClientId(clientId, pageable);
     }
 
-    public Page<Appointment> findAllByClientIdAndUserCpf(Long clientId, String cpf, Pageable pageable) {
-        return appointmentRepository.findAllByClientIdAndUserCpf(clientId, cpf, pageable);
+    @Transactional(readOnly = true)
+    public Page<AppointmentDTO> findAllByClientIdAndUserCpf(Long clientId, String cpf, Pageable pageable) {
+        return appointmentRepository.findAllDtosByClientIdAndUserCpf(clientId, cpf, pageable);
     }
 
-    public Page<Appointment> findAllByPetId(Long petId, Pageable pageable) {
-        return appointmentRepository.findAllByPetId(petId, pageable);
+    @Transactional(readOnly = true)
+    public Page<AppointmentDTO> findAllByPetId(Long petId, Pageable pageable) {
+        return appointmentRepository.findAllDtosByPetId(petId, pageable);
     }
 
-    public Page<Appointment> findAllByPetIdAndUserCpf(Long petId, String cpf, Pageable pageable) {
-        return appointmentRepository.findAllByPetIdAndUserCpf(petId, cpf, pageable);
+    @Transactional(readOnly = true)
+    public Page<AppointmentDTO> findAllByPetIdAndUserCpf(Long petId, String cpf, Pageable pageable) {
+        return appointmentRepository.findAllDtosByPetIdAndUserCpf(petId, cpf, pageable);
     }
 
+    @Transactional
     public Appointment update(Long id, Appointment appointment) {
-        appointment.setId(id);
         return appointmentRepository.findById(id).map(existingAppointment -> {
-            BeanUtils.copyProperties(appointment, existingAppointment, Tool.getNullPropertyNames(appointment));
-            return appointmentRepository.save(existingAppointment);
+            PartialUpdate.copyNonNullProperties(appointment, existingAppointment);
+            return existingAppointment;
         }).orElse(null);
     }
 
@@ -72,24 +92,84 @@ public class AppointmentService {
         return appointmentRepository.findByIdAndUserCpf(id, cpf);
     }
 
-    public Page<Appointment> getAllByUserCpf(String cpf, Pageable pageable) {
-        return appointmentRepository.findAllByUserCpf(cpf, pageable);
+    @Transactional(readOnly = true)
+    public Page<AppointmentDTO> getAllByUserCpf(String cpf, Pageable pageable) {
+        return appointmentRepository.findAllDtosByUserCpf(cpf, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDTO<AppointmentDTO>> findAllByCursor(String cursor, int size) {
+        return position(cursor).map(position -> pageByCursor(position, size,
+                appointmentRepository::findDatedDtos,
+                appointmentRepository::findDatedDtosAfter,
+                appointmentRepository::findUndatedDtosAfter));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDTO<AppointmentDTO>> getAllByUserCpfAndCursor(String cpf, String cursor, int size) {
+        return position(cursor).map(position -> pageByCursor(position, size,
+                limit -> appointmentRepository.findDatedDtosByUserCpf(cpf, limit),
+                (date, afterId, limit) -> appointmentRepository.findDatedDtosByUserCpfAfter(cpf, date, afterId, limit),
+                (afterId, limit) -> appointmentRepository.findUndatedDtosByUserCpfAfter(cpf, afterId, limit)));
+    }
+
+    private CursorPageDTO<AppointmentDTO> pageByCursor(AppointmentCursor position, int size,
+            Function<Limit, List<AppointmentDTO>> datedFirst,
+            DatedAfterQuery datedAfter,
+            BiFunction<Long, Limit, List<AppointmentDTO>> undatedAfter) {
+        List<AppointmentDTO> rows = new ArrayList<>();
+
+        if (position.dated())
+            rows.addAll(position.date() == null
+                    ? datedFirst.apply(Limit.of(size + 1))
+                    : datedAfter.find(position.date(), position.id(), Limit.of(size + 1)));
+
+        if (rows.size() <= size) {
+            long afterId = position.dated() ? 0L : position.id();
+            rows.addAll(undatedAfter.apply(afterId, Limit.of(size + 1 - rows.size())));
+        }
+
+        return CursorCodec.page(rows, size,
+                appointment -> CursorCodec.encode(appointment.getDate(), appointment.getId()));
     }
 
+    private Optional<AppointmentCursor> position(String cursor) {
+        if (cursor == null)
+            return Optional.of(AppointmentCursor.FIRST);
+
+        return CursorCodec.decode(cursor, 2).flatMap(parts -> {
+            try {
+                long id = Long.parseLong(parts[1]);
+                return Optional.of(parts[0].isEmpty()
+                        ? new AppointmentCursor(false, null, id)
+                        : new AppointmentCursor(true, LocalDateTime.parse(parts[0]), id));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private record AppointmentCursor(boolean dated, LocalDateTime date, long id) {
+        static final AppointmentCursor FIRST = new AppointmentCursor(true, null, 0L);
+    }
+
+    @FunctionalInterface
+    private interface DatedAfterQuery {
+        List<AppointmentDTO> find(LocalDateTime date, Long afterId, Limit limit);
+    }
+
+    @Transactional
     public Appointment updateByIdAndUserCpf(Long id, String cpf, Appointment updatedAppointment) {
-        updatedAppointment.setId(id);
-        return appointmentRepository.findByIdAndUserCpf(id, cpf).map(existingAppointment -> {
-            BeanUtils.copyProperties(updatedAppointment, existingAppointment, Tool.getNullPropertyNames(
-                    updatedAppointment));
-            return appointmentRepository.save(existingAppointment);
-        }).orElse(null);
+        Long petId = updatedAppointment.getPet() != null ? updatedAppointment.getPet().getId() : null;
+
+        return appointmentRepository.updateByIdAndUserCpf(id, cpf, petId,
+                updatedAppointment.getDescription(),
+                updatedAppointment.getCost(),
+                updatedAppointment.getDate()).orElse(null);
     }
 
+    @Transactional
     public boolean deleteByIdAndUserCpf(Long id, String cpf) {
-        if (appointmentRepository.existsByIdAndUserCpf(id, cpf)) {
-            appointmentRepository.deleteByIdAndUserCpf(id, cpf);
-            return true;
-        }
-        return false;
+        return appointmentRepository.deleteByIdAndUserCpf(id, cpf) > 0;
     }
 }
@@ -0,0 +1,175 @@
+package com.pedro.petshop.services;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedro.petshop.dtos.SerializedBodyDTO;
+import com.pedro.petshop.entities.Breed;
+import com.pedro.petshop.mappers.BreedMapper;
+import com.pedro.petshop.repositories.BreedRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class BreedCacheService {
+
+    private static final Snapshot OVERSIZED = new Snapshot(List.of(), Map.of(), null);
+
+    private final BreedRepository breedRepository;
+    private final BreedMapper breedMapper;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public BreedCacheService(BreedRepository breedRepository, BreedMapper breedMapper, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, @Value("${breed.cache.max-size:1000}") int maxSize) {
+        this.breedRepository = breedRepository;
+        this.breedMapper = breedMapper;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("petshop.breed.cache")
+                .tag("result", "hit")
+                .description("Breed lookups served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("petshop.breed.cache")
+                .tag("result", "miss")
+                .description("Breed lookups that went to the database")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        current();
+    }
+
+    public Optional<Breed> findById(Long id) {
+        Snapshot current = current();
+        if (current == null) {
+            misses.increment();
+            return breedRepository.findById(id);
+        }
+
+        hits.increment();
+        return Optional.ofNullable(current.byId().get(id)).map(BreedCacheService::copy);
+    }
+
+    public Page<Breed> findAll(Pageable pageable) {
+        Snapshot current = current();
+        if (current == null || pageable.getSort().isSorted()) {
+            misses.increment();
+            return breedRepository.findAll(pageable);
+        }
+
+        hits.increment();
+        List<Breed> breeds = current.breeds();
+        if (pageable.isUnpaged())
+            return new PageImpl<>(breeds.stream().map(BreedCacheService::copy).toList());
+
+        int from = (int) Math.min(pageable.getOffset(), breeds.size());
+        int to = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), breeds.size());
+
+        return new PageImpl<>(breeds.subList(from, to).stream().map(BreedCacheService::copy).toList(), pageable,
+                breeds.size());
+    }
+
+    public SerializedBodyDTO serializedList() {
+        Snapshot current = current();
+        if (current == null) {
+            misses.increment();
+            return serialize(breedRepository.findAllByOrderByIdAsc(Limit.unlimited()));
+        }
+
+        hits.increment();
+        return current.listing();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                    snapshot = null;
+                }
+            });
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    long loadedAt = generation.get();
+                    current = load();
+                    if (generation.get() == loadedAt)
+                        snapshot = current;
+                }
+            }
+        }
+
+        return current == OVERSIZED ? null : current;
+    }
+
+    private Snapshot load() {
+        List<Breed> loaded = breedRepository.findAllByOrderByIdAsc(Limit.of(maxSize + 1));
+        if (loaded.size() > maxSize)
+            return OVERSIZED;
+
+        List<Breed> breeds = loaded.stream().map(BreedCacheService::copy).toList();
+        Map<Long, Breed> byId = new LinkedHashMap<>();
+        breeds.forEach(breed -> byId.put(breed.getId(), breed));
+
+        return new Snapshot(breeds, byId, serialize(breeds));
+    }
+
+    private SerializedBodyDTO serialize(List<Breed> breeds) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(breeds.stream().map(breedMapper::toDto).toList());
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+
+            return new SerializedBodyDTO(body, "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16)) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not serialize breed list", e);
+        }
+    }
+
+    private static Breed copy(Breed breed) {
+        Breed copy = new Breed();
+        copy.setId(breed.getId());
+        copy.setDescription(breed.getDescription());
+        return copy;
+    }
+
+    private record Snapshot(List<Breed> breeds, Map<Long, Breed> byId, SerializedBodyDTO listing) {
+    }
+}
@@ -2,12 +2,13 @@ package com.pedro.petshop.services;
 
 import java.util.Optional;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.pedro.petshop.configs.Tool;
+import com.pedro.petshop.configs.PartialUpdate;
+import com.pedro.petshop.dtos.SerializedBodyDTO;
 import com.pedro.petshop.entities.Breed;
 import com.pedro.petshop.repositories.BreedRepository;
 
@@ -15,34 +16,44 @@ import com.pedro.petshop.repositories.BreedRepository;
 public class BreedService {
 
     private final BreedRepository breedRepository;
+    private final BreedCacheService breedCacheService;
 
-    public BreedService(BreedRepository breedRepository) {
+    public BreedService(BreedRepository breedRepository, BreedCacheService breedCacheService) {
         this.breedRepository = breedRepository;
+        this.breedCacheService = breedCacheService;
     }
 
     public Breed create(Breed breed) {
-        return breedRepository.save(breed);
+        Breed created = breedRepository.save(breed);
+        breedCacheService.invalidate();
+        return created;
     }
 
     public Optional<Breed> findById(Long id) {
-        return breedRepository.findById(id);
+        return breedCacheService.findById(id);
     }
 
     public Page<Breed> findAll(Pageable pageable) {
-        return breedRepository.findAll(pageable);
+        return breedCacheService.findAll(pageable);
     }
 
+    public SerializedBodyDTO getSerializedList() {
+        return breedCacheService.serializedList();
+    }
+
+    @Transactional
     public Breed update(Long id, Breed breed) {
-        breed.setId(id);
         return breedRepository.findById(id).map(existingBreed -> {
-            BeanUtils.copyProperties(breed, existingBreed, Tool.getNullPropertyNames(breed));
-            return breedRepository.save(existingBreed);
+            if (PartialUpdate.copyNonNullProperties(breed, existingBreed))
+                breedCacheService.invalidate();
+            return existingBreed;
         }).orElse(null);
     }
 
     public boolean delete(Long id) {
         if (breedRepository.existsById(id)) {
             breedRepository.deleteById(id);
+            breedCacheService.invalidate();
             return true;
         }
         return false;
@@ -1,89 +1,84 @@
 package com.pedro.petshop.services;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.pedro.petshop.configs.Tool;
+import com.pedro.petshop.configs.PartialUpdate;
+import com.pedro.petshop.dtos.ClientDTO;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
 import com.pedro.petshop.entities.Client;
 import com.pedro.petshop.repositories.ClientRepository;
 
 @Service
 public class ClientService {
 
-    @Value("${upload.path}")
-    private String uploadPath;
-
     private final ClientRepository clientRepository;
+    private final ImageStoreService imageStoreService;
+    private final ImageCacheService imageCacheService;
 
-    public ClientService(ClientRepository clientRepository) {
+    public ClientService(ClientRepository clientRepository, ImageStoreService imageStoreService,
+            ImageCacheService imageCacheService) {
         this.clientRepository = clientRepository;
+        this.imageStoreService = imageStoreService;
+        this.imageCacheService = imageCacheService;
     }
 
-    public Optional<Resource> getProfileImage(Long id) {
-        Client client = clientRepository.findById(id).orElseThrow(() -> new RuntimeException("Client not found"));
-
-        if (client.getImage() == null)
-            return null;
-
-        try {
-            Path filePath = Paths.get(uploadPath).resolve(client.getImage()).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists()) {
-                return null;
-            }
+    public Optional<ImageDTO> getProfileImage(Long id, Integer size) {
+        return imageCacheService.get(ImageCacheService.CLIENT, id, size, null,
+                () -> clientRepository.findImageById(id));
+    }
 
-            return Optional.of(resource);
-        } catch (Exception e) {
-            return null;
-        }
+    public Optional<ImageDTO> getProfileImageByIdAndCpf(Long id, String cpf, Integer size) {
+        return imageCacheService.get(ImageCacheService.CLIENT, id, size, cpf,
+                () -> clientRepository.findImageByIdAndCpf(id, cpf));
     }
 
     public Boolean uploadImage(Long id, MultipartFile file) {
-        Optional<Client> client = clientRepository.findById(id);
-        if (!client.isPresent())
-            return false;
-        try {
-            Path directoryPath = Paths.get(uploadPath);
-            if (!Files.exists(directoryPath)) {
-                Files.createDirectories(directoryPath);
-            }
-
-            String filename = "client_" + id + "_" + file.getOriginalFilename();
-            Path filePath = directoryPath.resolve(filename);
+        return clientRepository.findById(id).map(client -> storeImage(client, file)).orElse(false);
+    }
 
-            String oldImage = client.get().getImage();
-            if (oldImage != null && !oldImage.isEmpty()) {
-                Path oldImagePath = directoryPath.resolve(oldImage);
-                if (Files.exists(oldImagePath)) {
-                    Files.delete(oldImagePath);
-                }
-            }
+    public Boolean uploadImageByIdAndCpf(Long id, String cpf, MultipartFile file) {
+        return clientRepository.findByIdAndCpf(id, cpf).map(client -> storeImage(client, file)).orElse(false);
+    }
 
-            file.transferTo(filePath);
+    public boolean attachImage(Long id, ImageMetadataDTO image) {
+        return clientRepository.findById(id).map(client -> attachImage(client, image)).orElse(false);
+    }
 
-            client.get().setImage(filename);
-            clientRepository.save(client.get());
+    public boolean attachImageByIdAndCpf(Long id, String cpf, ImageMetadataDTO image) {
+        return clientRepository.findByIdAndCpf(id, cpf).map(client -> attachImage(client, image)).orElse(false);
+    }
 
-            return true;
+    private boolean storeImage(Client client, MultipartFile file) {
+        try {
+            return attachImage(client, imageStoreService.store(file));
         } catch (IOException e) {
             return false;
         }
     }
 
+    private boolean attachImage(Client client, ImageMetadataDTO image) {
+        client.setImage(image.getImage());
+        client.setImageContentType(image.getContentType());
+        client.setImageEtag(image.getEtag());
+        clientRepository.save(client);
+        imageCacheService.evict(ImageCacheService.CLIENT, client.getId());
+
+        return true;
+    }
+
     public Client create(Client client) {
         client.setRegistrationDate(LocalDateTime.now());
         return clientRepository.save(client);
@@ -93,21 +88,32 @@ public class ClientService {
         return clientRepository.findById(id);
     }
 
-    public Page<Client> findAll(Pageable pageable) {
-        return clientRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<ClientDTO> findAll(Pageable pageable) {
+        return clientRepository.findAllDtos(pageable);
     }
 
+    @Transactional
     public Client update(Long id, Client client) {
-        client.setId(id);
+        imageCacheService.evict(ImageCacheService.CLIENT, id);
+
         return clientRepository.findById(id).map(existingClient -> {
-            BeanUtils.copyProperties(client, existingClient, Tool.getNullPropertyNames(client));
-            return clientRepository.save(existingClient);
+            imageCacheService.evictOwner(ImageCacheService.PET, existingClient.getCpf());
+            PartialUpdate.copyNonNullProperties(client, existingClient);
+            return existingClient;
         }).orElse(null);
     }
 
+    public boolean existsById(Long id) {
+        return clientRepository.existsById(id);
+    }
+
     public boolean delete(Long id) {
         if (clientRepository.existsById(id)) {
+            List<Long> petIds = clientRepository.findPetIdsById(id);
             clientRepository.deleteById(id);
+            imageCacheService.evict(ImageCacheService.CLIENT, id);
+            imageCacheService.evict(ImageCacheService.PET, petIds);
             return true;
         }
         return false;
@@ -117,28 +123,34 @@ public class ClientService {
         return clientRepository.existsByIdAndCpf(id, cpf);
     }
 
+    public boolean allOwnedByCpf(Collection<Long> ids, String cpf) {
+        Set<Long> distinctIds = new HashSet<>(ids);
+        if (distinctIds.isEmpty() || distinctIds.contains(null))
+            return false;
+
+        return clientRepository.countByIdInAndCpf(distinctIds, cpf) == distinctIds.size();
+    }
+
     public Optional<Client> getByIdAndCpf(Long id, String cpf) {
         return clientRepository.findByIdAndCpf(id, cpf);
     }
 
-    public Page<Client> getAllByCpf(String cpf, Pageable pageable) {
-        return clientRepository.findAllByCpf(cpf, pageable);
+    @Transactional(readOnly = true)
+    public Page<ClientDTO> getAllByCpf(String cpf, Pageable pageable) {
+        return clientRepository.findAllDtosByCpf(cpf, pageable);
     }
 
+    @Transactional
     public Client updateByIdAndCpf(Long id, String cpf, Client updatedClient) {
-        updatedClient.setId(id);
-        updatedClient.setCpf(cpf);
-        return clientRepository.findByIdAndCpf(id, cpf).map(existingClient -> {
-            BeanUtils.copyProperties(updatedClient, existingClient, Tool.getNullPropertyNames(updatedClient));
-            return clientRepository.save(existingClient);
-        }).orElse(null);
+        return clientRepository.updateByIdAndCpf(id, cpf,
+                updatedClient.getName(),
+                updatedClient.getRegistrationDate()).orElse(null);
     }
 
+    @Transactional
     public boolean deleteByIdAndCpf(Long id, String cpf) {
-        if (clientRepository.existsByIdAndCpf(id, cpf)) {
-            clientRepository.deleteByIdAndCpf(id, cpf);
-            return true;
-        }
-        return false;
+        imageCacheService.evict(ImageCacheService.CLIENT, id);
+        imageCacheService.evict(ImageCacheService.PET, clientRepository.findPetIdsById(id));
+        return clientRepository.deleteByIdAndCpf(id, cpf) > 0;
     }
 }
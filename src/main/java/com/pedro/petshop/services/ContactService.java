@@ -2,12 +2,12 @@ package com.pedro.petshop.services;
 
 import java.util.Optional;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.pedro.petshop.configs.Tool;
+import com.pedro.petshop.configs.PartialUpdate;
 import com.pedro.petshop.entities.Contact;
 import com.pedro.petshop.repositories.ContactRepository;
 
@@ -42,11 +42,11 @@ public class ContactService {
                 pageable);
     }
 
+    @Transactional
     public Contact update(Long id, Contact contact) {
-        contact.setId(id);
         return contactRepository.findById(id).map(existingContact -> {
-            BeanUtils.copyProperties(contact, existingContact, Tool.getNullPropertyNames(contact));
-            return contactRepository.save(existingContact);
+            PartialUpdate.copyNonNullProperties(contact, existingContact);
+            return existingContact;
         }).orElse(null);
     }
 
@@ -70,19 +70,18 @@ public class ContactService {
         return contactRepository.findAllByUserCpf(cpf, pageable);
     }
 
+    @Transactional
     public Contact updateByIdAndUserCpf(Long id, String cpf, Contact updatedContact) {
-        updatedContact.setId(id);
-        return contactRepository.findByIdAndUserCpf(id, cpf).map(existingContact -> {
-            BeanUtils.copyProperties(updatedContact, existingContact, Tool.getNullPropertyNames(updatedContact));
-            return contactRepository.save(existingContact);
-        }).orElse(null);
+        Long clientId = updatedContact.getClient() != null ? updatedContact.getClient().getId() : null;
+
+        return contactRepository.updateByIdAndUserCpf(id, cpf, clientId,
+                updatedContact.getTag(),
+                updatedContact.getType(),
+                updatedContact.getValue()).orElse(null);
     }
 
+    @Transactional
     public boolean deleteByIdAndUserCpf(Long id, String cpf) {
-        if (contactRepository.existsByIdAndUserCpf(id, cpf)) {
-            contactRepository.deleteByIdAndUserCpf(id, cpf);
-            return true;
-        }
-        return false;
+        return contactRepository.deleteByIdAndUserCpf(id, cpf) > 0;
     }
 }
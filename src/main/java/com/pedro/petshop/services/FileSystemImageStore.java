@@ -0,0 +1,127 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.pedro.petshop.configs.ImageFiles;
+import com.pedro.petshop.dtos.ImageDTO;
+
+@Service
+@ConditionalOnProperty(name = "image.store.backend", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemImageStore implements ImageStore {
+
+    private static final Pattern SHARD = Pattern.compile("[0-9a-f]{2}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public FileSystemImageStore(@Value("${upload.path}") String uploadPath) {
+        this.root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        this.incoming = root.resolve("incoming");
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return Files.exists(path(key));
+    }
+
+    @Override
+    public Path createTempFile(String suffix) throws IOException {
+        Files.createDirectories(incoming);
+        return Files.createTempFile(incoming, "upload-", suffix);
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        Path target = path(key);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public Optional<ImageDTO> open(String key, String contentType, String etag) {
+        return ImageFiles.open(path(key), contentType, etag);
+    }
+
+    @Override
+    public InputStream read(String key) throws IOException {
+        return Files.newInputStream(path(key));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(path(key));
+    }
+
+    @Override
+    public List<StoredImage> list(String after, int limit) throws IOException {
+        List<StoredImage> images = new ArrayList<>();
+
+        for (Path first : shards(root, after, "")) {
+            for (Path second : shards(first, after, first.getFileName().toString())) {
+                for (Path file : ImageFiles.listSorted(second, Files::isRegularFile)) {
+                    if (file.getFileName().toString().compareTo(after) <= 0)
+                        continue;
+
+                    stored(file).ifPresent(images::add);
+                    if (images.size() == limit)
+                        return images;
+                }
+            }
+        }
+
+        return images;
+    }
+
+    @Override
+    public List<StoredImage> listTempFiles() throws IOException {
+        List<StoredImage> files = new ArrayList<>();
+
+        for (Path file : ImageFiles.listSorted(incoming, Files::isRegularFile))
+            stored(file).ifPresent(files::add);
+
+        return files;
+    }
+
+    @Override
+    public boolean deleteTempFile(String name) throws IOException {
+        Path file = incoming.resolve(name).normalize();
+        return incoming.equals(file.getParent()) && Files.deleteIfExists(file);
+    }
+
+    private static List<Path> shards(Path directory, String after, String parent) throws IOException {
+        String floor = after.substring(0, Math.min(after.length(), parent.length() + 2));
+
+        return ImageFiles.listSorted(directory, path -> Files.isDirectory(path)
+                && SHARD.matcher(path.getFileName().toString()).matches()
+                && (parent + path.getFileName()).compareTo(floor) >= 0);
+    }
+
+    private static Optional<StoredImage> stored(Path file) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return Optional.of(new StoredImage(file.getFileName().toString(), attributes.size(),
+                    attributes.lastModifiedTime().toMillis()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path path(String key) {
+        return ImageFiles.blobPath(root, key);
+    }
+}
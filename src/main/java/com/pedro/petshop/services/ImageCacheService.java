@@ -0,0 +1,314 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pedro.petshop.configs.ByteBufferResource;
+import com.pedro.petshop.configs.FrequencySketch;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class ImageCacheService {
+
+    public static final String PET = "pet";
+    public static final String CLIENT = "client";
+
+    private final ImageStoreService imageStoreService;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long ttlMillis;
+    private final Map<ImageKey, CachedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch frequencies;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter rejections;
+    private long usedBytes;
+    private long invalidations;
+
+    public ImageCacheService(ImageStoreService imageStoreService, MeterRegistry meterRegistry,
+            @Value("${image.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${image.cache.max-entry-bytes:1048576}") long maxEntryBytes,
+            @Value("${image.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.imageStoreService = imageStoreService;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.ttlMillis = ttlSeconds * 1000;
+        this.frequencies = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, Math.max(1, maxBytes / 16384)));
+        this.hits = Counter.builder("petshop.image.cache")
+                .tag("result", "hit")
+                .description("Profile image downloads served from the in-memory cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("petshop.image.cache")
+                .tag("result", "miss")
+                .description("Profile image downloads that went to the database and the image store")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("petshop.image.cache.evictions")
+                .description("Cached images dropped to make room for more frequently requested ones")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("petshop.image.cache.rejections")
+                .description("Images not admitted because they were requested less often than the entries they would evict")
+                .register(meterRegistry);
+        Gauge.builder("petshop.image.cache.bytes", this, ImageCacheService::usedBytes)
+                .baseUnit("bytes")
+                .description("Direct memory held by cached images")
+                .register(meterRegistry);
+        Gauge.builder("petshop.image.cache.hit.ratio", this, ImageCacheService::hitRatio)
+                .description("Fraction of profile image downloads served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Serves a profile image from memory, falling back to {@code lookup} and the
+     * image store on a miss. A {@code null} owner skips the ownership check; a
+     * client only hits entries loaded under its own CPF.
+     */
+    public Optional<ImageDTO> get(String kind, Long id, Integer size, String owner,
+            Supplier<Optional<ImageMetadataDTO>> lookup) {
+        ImageKey key = new ImageKey(kind, id, size == null ? 0 : size);
+        frequencies.increment(key);
+
+        Optional<ImageDTO> cached = find(key, owner);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long generation = generation();
+        Optional<ImageMetadataDTO> metadata = lookup.get();
+        Optional<ImageDTO> image = metadata.flatMap(meta -> imageStoreService.open(meta, size));
+
+        if (image.isEmpty() || maxBytes <= 0)
+            return image;
+
+        boolean pendingVariant = size != null && image.get().getEtag().equals(metadata.get().getEtag());
+        long length = contentLength(image.get());
+        if (pendingVariant || length < 0 || length > maxEntryBytes)
+            return image;
+
+        // Decide before copying, so a candidate that loses to the entries it
+        // would evict is streamed from the store instead of costing a direct
+        // buffer it is never kept in.
+        if (!admits(key, length, generation))
+            return image;
+
+        try {
+            CachedImage loaded = new CachedImage(copy(image.get(), length), image.get().getContentType(),
+                    image.get().getEtag(), image.get().getLastModified(), owner,
+                    System.currentTimeMillis() + ttlMillis);
+            admit(key, loaded, generation);
+            return Optional.of(loaded.toDto());
+        } catch (IOException e) {
+            return imageStoreService.open(metadata.get(), size);
+        }
+    }
+
+    /**
+     * Drops the entries now and again after the surrounding transaction commits,
+     * so a read that reloads the old row before the commit cannot keep it cached.
+     */
+    public void evict(String kind, Long id) {
+        evictNowAndAfterCommit(() -> removeIf(key -> key.kind().equals(kind) && key.id() == id, cached -> true));
+    }
+
+    public void evict(String kind, Collection<Long> ids) {
+        if (!ids.isEmpty())
+            evictNowAndAfterCommit(() -> removeIf(key -> key.kind().equals(kind) && ids.contains(key.id()),
+                    cached -> true));
+    }
+
+    public void evictOwner(String kind, String owner) {
+        evictNowAndAfterCommit(
+                () -> removeIf(key -> key.kind().equals(kind), cached -> Objects.equals(cached.owner(), owner)));
+    }
+
+    private void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private synchronized Optional<ImageDTO> find(ImageKey key, String owner) {
+        CachedImage cached = images.get(key);
+        if (cached == null)
+            return Optional.empty();
+
+        if (cached.expiresAt() <= System.currentTimeMillis()) {
+            images.remove(key);
+            usedBytes -= cached.size();
+            return Optional.empty();
+        }
+
+        if (owner != null && !owner.equals(cached.owner()))
+            return Optional.empty();
+
+        return Optional.of(cached.toDto());
+    }
+
+    private synchronized boolean admits(ImageKey key, long size, long generation) {
+        if (generation != invalidations)
+            return false;
+
+        if (victims(key, size) == null) {
+            rejections.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    private synchronized void admit(ImageKey key, CachedImage loaded, long generation) {
+        if (generation != invalidations)
+            return;
+
+        CachedImage previous = images.remove(key);
+        if (previous != null) {
+            usedBytes -= previous.size();
+            if (loaded.owner() == null && previous.etag().equals(loaded.etag()))
+                loaded = loaded.withOwner(previous.owner());
+        }
+
+        // Entries may have changed while the image was copied, so this is
+        // decided again against the current contents.
+        List<ImageKey> victims = victims(key, loaded.size());
+        if (victims == null) {
+            rejections.increment();
+            return;
+        }
+
+        for (ImageKey victim : victims) {
+            usedBytes -= images.remove(victim).size();
+            evictions.increment();
+        }
+
+        images.put(key, loaded);
+        usedBytes += loaded.size();
+    }
+
+    /**
+     * The least recently used entries that make room for {@code size} bytes, or
+     * {@code null} if one of them is requested at least as often as the
+     * candidate. An existing entry under the same key counts as freed.
+     */
+    private List<ImageKey> victims(ImageKey key, long size) {
+        long needed = usedBytes + size - maxBytes;
+        List<ImageKey> victims = new ArrayList<>();
+        int candidateFrequency = frequencies.frequency(key);
+
+        for (Iterator<Map.Entry<ImageKey, CachedImage>> it = images.entrySet().iterator(); needed > 0
+                && it.hasNext();) {
+            Map.Entry<ImageKey, CachedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                needed -= eldest.getValue().size();
+                continue;
+            }
+
+            if (frequencies.frequency(eldest.getKey()) >= candidateFrequency)
+                return null;
+
+            victims.add(eldest.getKey());
+            needed -= eldest.getValue().size();
+        }
+
+        return victims;
+    }
+
+    private synchronized void removeIf(Predicate<ImageKey> keyMatches, Predicate<CachedImage> imageMatches) {
+        invalidations++;
+
+        for (Iterator<Map.Entry<ImageKey, CachedImage>> it = images.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<ImageKey, CachedImage> entry = it.next();
+            if (keyMatches.test(entry.getKey()) && imageMatches.test(entry.getValue())) {
+                usedBytes -= entry.getValue().size();
+                it.remove();
+            }
+        }
+    }
+
+    private synchronized long generation() {
+        return invalidations;
+    }
+
+    private synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static long contentLength(ImageDTO image) {
+        try {
+            return image.getResource().contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static ByteBuffer copy(ImageDTO image, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) length);
+        if (image.getResource() instanceof ByteBufferResource source)
+            return buffer.put(source.getByteBuffer()).flip();
+
+        try (InputStream in = image.getResource().getInputStream();
+                ReadableByteChannel channel = Channels.newChannel(in)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0)
+                    throw new IOException("Image shorter than its declared length");
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    private record ImageKey(String kind, long id, int size) {
+    }
+
+    private record CachedImage(ByteBuffer data, String contentType, String etag, long lastModified, String owner,
+            long expiresAt) {
+
+        long size() {
+            return data.capacity();
+        }
+
+        CachedImage withOwner(String newOwner) {
+            return new CachedImage(data, contentType, etag, lastModified, newOwner, expiresAt);
+        }
+
+        ImageDTO toDto() {
+            return new ImageDTO(new ByteBufferResource(data, etag), contentType, etag, lastModified);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import com.pedro.petshop.dtos.ImageDTO;
+
+public interface ImageStore {
+
+    boolean contains(String key);
+
+    Path createTempFile(String suffix) throws IOException;
+
+    void put(String key, Path source) throws IOException;
+
+    Optional<ImageDTO> open(String key, String contentType, String etag);
+
+    InputStream read(String key) throws IOException;
+
+    boolean delete(String key) throws IOException;
+
+    List<StoredImage> list(String after, int limit) throws IOException;
+
+    List<StoredImage> listTempFiles() throws IOException;
+
+    boolean deleteTempFile(String name) throws IOException;
+
+    record StoredImage(String key, long size, long lastModified) {
+    }
+}
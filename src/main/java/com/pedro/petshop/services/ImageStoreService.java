@@ -0,0 +1,153 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.pedro.petshop.configs.Bulkhead;
+import com.pedro.petshop.configs.ImageFiles;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+import com.pedro.petshop.repositories.ImageBlobRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class ImageStoreService {
+
+    private final ImageStore imageStore;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ThumbnailService thumbnailService;
+    private final Bulkhead diskBulkhead;
+    private final TransactionTemplate transactionTemplate;
+    private final int orphanGraceMinutes;
+    private final int purgeBatchSize;
+    private final Counter deduplicated;
+    private final Counter purged;
+
+    public ImageStoreService(ImageStore imageStore, ImageBlobRepository imageBlobRepository,
+            ThumbnailService thumbnailService, MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("diskBulkhead") Bulkhead diskBulkhead,
+            @Value("${image.store.orphan-grace-minutes:60}") int orphanGraceMinutes,
+            @Value("${image.store.purge-batch-size:100}") int purgeBatchSize) {
+        this.imageStore = imageStore;
+        this.imageBlobRepository = imageBlobRepository;
+        this.thumbnailService = thumbnailService;
+        this.diskBulkhead = diskBulkhead;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orphanGraceMinutes = orphanGraceMinutes;
+        this.purgeBatchSize = purgeBatchSize;
+        this.deduplicated = Counter.builder("petshop.image.store.uploads")
+                .tag("result", "deduplicated")
+                .description("Uploads whose content was already stored")
+                .register(meterRegistry);
+        this.purged = Counter.builder("petshop.image.store.purged")
+                .description("Unreferenced images removed from the store")
+                .register(meterRegistry);
+    }
+
+    public ImageMetadataDTO store(MultipartFile file) throws IOException {
+        return diskBulkhead.call(() -> {
+            Path temporary = imageStore.createTempFile(".tmp");
+
+            try {
+                return commit(temporary, ImageFiles.store(file, temporary));
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        });
+    }
+
+    public ImageMetadataDTO store(Path temporary, String hash) throws IOException {
+        return diskBulkhead.call(
+                () -> commit(temporary, new ImageMetadataDTO(hash, ImageFiles.detectContentType(temporary), hash)));
+    }
+
+    public Path createTempFile(String suffix) throws IOException {
+        return imageStore.createTempFile(suffix);
+    }
+
+    public Optional<ImageDTO> open(ImageMetadataDTO image, Integer size) {
+        return thumbnailService.open(image, size);
+    }
+
+    public Optional<ImageDTO> open(String hash, Integer size) {
+        if (!ImageFiles.isHash(hash))
+            return Optional.empty();
+
+        return imageBlobRepository.findById(hash)
+                .flatMap(blob -> open(new ImageMetadataDTO(hash, blob.getContentType(), hash), size));
+    }
+
+    @Scheduled(fixedDelayString = "${image.store.purge-interval-ms:60000}")
+    public void purgeUnreferenced() {
+        int deleted;
+
+        do {
+            deleted = purgeBatch();
+        } while (deleted == purgeBatchSize);
+    }
+
+    /**
+     * Deletes one batch of unreferenced rows and their files in the same
+     * transaction. The row locks are held until the files are gone, so a
+     * concurrent {@link #commit} of the same content blocks in {@code touch}
+     * and then finds the file missing and writes it again.
+     */
+    int purgeBatch() {
+        return transactionTemplate.execute(status -> {
+            List<String> hashes = imageBlobRepository.deleteUnreferenced(orphanGraceMinutes, purgeBatchSize);
+
+            for (String hash : hashes) {
+                if (delete(hash))
+                    purged.increment();
+            }
+
+            return hashes.size();
+        });
+    }
+
+    private ImageMetadataDTO commit(Path temporary, ImageMetadataDTO stored) throws IOException {
+        long size = Files.size(temporary);
+
+        // The row may have survived a purge whose file delete went through, so
+        // only the file itself counts as a dedup hit. The hash lock keeps the
+        // sweeper from deleting that file between the touch and the check.
+        boolean present = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            imageBlobRepository.lock(stored.getImage());
+            imageBlobRepository.touch(stored.getImage(), stored.getContentType(), size);
+            return imageStore.contains(stored.getImage());
+        }));
+
+        if (present) {
+            deduplicated.increment();
+            return stored;
+        }
+
+        imageStore.put(stored.getImage(), temporary);
+        thumbnailService.schedule(stored.getImage());
+
+        return stored;
+    }
+
+    private boolean delete(String hash) {
+        try {
+            thumbnailService.deleteVariants(hash);
+            return imageStore.delete(hash);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
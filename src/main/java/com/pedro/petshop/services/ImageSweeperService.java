@@ -0,0 +1,207 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pedro.petshop.entities.ImageSweepCursor;
+import com.pedro.petshop.repositories.ImageBlobRepository;
+import com.pedro.petshop.repositories.ImageSweepCursorRepository;
+import com.pedro.petshop.services.ImageStore.StoredImage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class ImageSweeperService {
+
+    private static final String CURSOR = "image-store";
+
+    private final ImageStore imageStore;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageSweepCursorRepository imageSweepCursorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final double deletesPerSecond;
+    private final long graceMillis;
+    private final long tempFileGraceMillis;
+    private final Counter scanned;
+    private final Counter deletedImages;
+    private final Counter deletedTempFiles;
+    private final Counter reclaimedImages;
+    private final Counter reclaimedTempFiles;
+    private final Counter passes;
+
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    public ImageSweeperService(ImageStore imageStore, ImageBlobRepository imageBlobRepository,
+            ImageSweepCursorRepository imageSweepCursorRepository, MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${image.sweep.batch-size:1000}") int batchSize,
+            @Value("${image.sweep.max-deletes-per-second:20}") double deletesPerSecond,
+            @Value("${image.sweep.grace-minutes:60}") long graceMinutes,
+            @Value("${image.sweep.temp-file-grace-minutes:1440}") long tempFileGraceMinutes) {
+        this.imageStore = imageStore;
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageSweepCursorRepository = imageSweepCursorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.deletesPerSecond = deletesPerSecond;
+        this.graceMillis = TimeUnit.MINUTES.toMillis(graceMinutes);
+        this.tempFileGraceMillis = TimeUnit.MINUTES.toMillis(tempFileGraceMinutes);
+        this.scanned = Counter.builder("petshop.image.sweep.scanned")
+                .description("Stored images checked for references by the sweeper")
+                .register(meterRegistry);
+        this.deletedImages = Counter.builder("petshop.image.sweep.deleted")
+                .tag("kind", "image")
+                .description("Stored images deleted because no pet, client or blob row references them")
+                .register(meterRegistry);
+        this.deletedTempFiles = Counter.builder("petshop.image.sweep.deleted")
+                .tag("kind", "temp")
+                .description("Temporary files left behind by failed or abandoned uploads")
+                .register(meterRegistry);
+        this.reclaimedImages = Counter.builder("petshop.image.sweep.reclaimed")
+                .tag("kind", "image")
+                .baseUnit("bytes")
+                .description("Bytes freed by deleting unreferenced images")
+                .register(meterRegistry);
+        this.reclaimedTempFiles = Counter.builder("petshop.image.sweep.reclaimed")
+                .tag("kind", "temp")
+                .baseUnit("bytes")
+                .description("Bytes freed by deleting stale temporary files")
+                .register(meterRegistry);
+        this.passes = Counter.builder("petshop.image.sweep.passes")
+                .description("Complete passes of the sweeper over the image store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks the next batch of stored keys after the persisted cursor, so a
+     * restart resumes the pass instead of rescanning the whole store. Deletions
+     * spend tokens refilled at {@code image.sweep.max-deletes-per-second}; when
+     * they run out the cursor stops at the last handled key.
+     */
+    @Scheduled(fixedDelayString = "${image.sweep.interval-ms:10000}")
+    public void sweep() throws IOException {
+        refill();
+
+        String after = imageSweepCursorRepository.findById(CURSOR).map(ImageSweepCursor::getLastKey).orElse("");
+        List<StoredImage> batch = imageStore.list(after, batchSize);
+
+        String cursor = sweepImages(batch, after);
+        if (batch.size() == batchSize || !cursor.equals(last(batch, after)))
+            return;
+
+        if (sweepTempFiles()) {
+            saveCursor("");
+            passes.increment();
+        }
+    }
+
+    private String sweepImages(List<StoredImage> batch, String after) {
+        if (batch.isEmpty())
+            return after;
+
+        Set<String> referenced = imageBlobRepository.findReferenced(batch.stream()
+                .map(image -> baseHash(image.key()))
+                .collect(Collectors.toSet()));
+        long cutoff = System.currentTimeMillis() - graceMillis;
+        String cursor = after;
+
+        for (StoredImage image : batch) {
+            boolean orphan = !referenced.contains(baseHash(image.key())) && image.lastModified() < cutoff;
+
+            if (orphan) {
+                if (tokens < 1)
+                    break;
+
+                tokens--;
+                if (deleteUnreferenced(image.key())) {
+                    deletedImages.increment();
+                    reclaimedImages.increment(image.size());
+                }
+            }
+
+            scanned.increment();
+            cursor = image.key();
+        }
+
+        saveCursor(cursor);
+        return cursor;
+    }
+
+    private boolean sweepTempFiles() throws IOException {
+        long cutoff = System.currentTimeMillis() - tempFileGraceMillis;
+
+        for (StoredImage file : imageStore.listTempFiles()) {
+            if (file.lastModified() >= cutoff)
+                continue;
+
+            if (tokens < 1)
+                return false;
+
+            tokens--;
+            if (imageStore.deleteTempFile(file.key())) {
+                deletedTempFiles.increment();
+                reclaimedTempFiles.increment(file.size());
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The batch snapshot only nominates candidates: an upload may have touched
+     * the hash since, so the reference check is repeated under the same hash
+     * lock that {@link ImageStoreService} takes around its touch and dedup
+     * check, and the file is deleted before that lock is released.
+     */
+    private boolean deleteUnreferenced(String key) {
+        String hash = baseHash(key);
+
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            imageBlobRepository.lock(hash);
+            if (!imageBlobRepository.findReferenced(Set.of(hash)).isEmpty())
+                return false;
+
+            return delete(key);
+        }));
+    }
+
+    private boolean delete(String key) {
+        try {
+            return imageStore.delete(key);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(batchSize, tokens + (now - refilledAt) / 1e9 * deletesPerSecond);
+        refilledAt = now;
+    }
+
+    private void saveCursor(String lastKey) {
+        imageSweepCursorRepository.save(new ImageSweepCursor(CURSOR, lastKey, LocalDateTime.now()));
+    }
+
+    private static String last(List<StoredImage> batch, String after) {
+        return batch.isEmpty() ? after : batch.get(batch.size() - 1).key();
+    }
+
+    private static String baseHash(String key) {
+        int variant = key.indexOf('.');
+        return variant < 0 ? key : key.substring(0, variant);
+    }
+}
@@ -0,0 +1,349 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pedro.petshop.configs.ImageFiles;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+import com.pedro.petshop.dtos.UploadDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+
+@Service
+public class ImageUploadService {
+
+    private final ImageStoreService imageStoreService;
+    private final long maxSize;
+    private final int bufferSize;
+    private final long sessionTtlMillis;
+    private final int maxSessions;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Counter receivedBytes;
+    private final Counter failed;
+
+    public ImageUploadService(ImageStoreService imageStoreService, MeterRegistry meterRegistry,
+            @Value("${image.upload.max-size:10485760}") long maxSize,
+            @Value("${image.upload.buffer-size:65536}") int bufferSize,
+            @Value("${image.upload.session-ttl-minutes:60}") long sessionTtlMinutes,
+            @Value("${image.upload.max-sessions:1000}") int maxSessions) {
+        this.imageStoreService = imageStoreService;
+        this.maxSize = maxSize;
+        this.bufferSize = bufferSize;
+        this.sessionTtlMillis = TimeUnit.MINUTES.toMillis(sessionTtlMinutes);
+        this.maxSessions = maxSessions;
+        this.receivedBytes = Counter.builder("petshop.image.upload.received")
+                .baseUnit("bytes")
+                .description("Bytes streamed from raw and resumable image uploads")
+                .register(meterRegistry);
+        this.failed = Counter.builder("petshop.image.upload.failed")
+                .description("Streamed uploads that failed while reading or storing the body")
+                .register(meterRegistry);
+        Gauge.builder("petshop.image.upload.sessions", sessions, Map::size)
+                .description("Resumable uploads waiting for more chunks")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<UploadDTO> receive(HttpServletRequest request, Function<ImageMetadataDTO, Boolean> attach) {
+        if (request.getContentLengthLong() > maxSize)
+            return CompletableFuture.failedFuture(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE));
+
+        UploadSession session;
+        try {
+            session = new UploadSession(null, null, maxSize, attach, imageStoreService.createTempFile(".part"));
+        } catch (IOException e) {
+            failed.increment();
+            return CompletableFuture.failedFuture(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+
+        return stream(request, session)
+                .thenApply(this::finish)
+                .whenComplete((upload, error) -> discard(session));
+    }
+
+    public UploadDTO createSession(long length, String owner, Function<ImageMetadataDTO, Boolean> attach) {
+        if (length <= 0)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        if (length > maxSize)
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE);
+        if (sessions.size() >= maxSessions)
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS);
+
+        try {
+            UploadSession session = new UploadSession(UUID.randomUUID().toString(), owner, length, attach,
+                    imageStoreService.createTempFile(".part"));
+            sessions.put(session.id, session);
+            return session.toDto();
+        } catch (IOException e) {
+            failed.increment();
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    public Optional<UploadDTO> findSession(String uploadId, String owner) {
+        return ownedSession(uploadId, owner).map(UploadSession::toDto);
+    }
+
+    public CompletableFuture<UploadDTO> append(String uploadId, String owner, long offset, HttpServletRequest request) {
+        Optional<UploadSession> found = ownedSession(uploadId, owner);
+        if (found.isEmpty())
+            return CompletableFuture.failedFuture(new ResponseStatusException(HttpStatus.NOT_FOUND));
+
+        UploadSession session = found.get();
+        if (!session.acquire(offset))
+            return CompletableFuture.failedFuture(new ResponseStatusException(HttpStatus.CONFLICT));
+
+        if (request.getContentLengthLong() > session.length - offset) {
+            session.release();
+            return CompletableFuture.failedFuture(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE));
+        }
+
+        return stream(request, session)
+                .thenApply(streamed -> streamed.offset() == streamed.length ? complete(streamed) : streamed.toDto())
+                .whenComplete((upload, error) -> {
+                    session.touch(System.currentTimeMillis() + sessionTtlMillis);
+                    session.release();
+                });
+    }
+
+    public boolean cancel(String uploadId, String owner) {
+        Optional<UploadSession> session = ownedSession(uploadId, owner);
+        if (session.isEmpty() || !sessions.remove(uploadId, session.get()))
+            return false;
+
+        discard(session.get());
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${image.upload.expire-interval-ms:60000}")
+    public void expireSessions() {
+        long now = System.currentTimeMillis();
+
+        sessions.values().removeIf(session -> {
+            if (!session.expired(now))
+                return false;
+
+            discard(session);
+            return true;
+        });
+    }
+
+    private Optional<UploadSession> ownedSession(String uploadId, String owner) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.owner.equals(owner))
+            return Optional.empty();
+
+        return Optional.of(session);
+    }
+
+    private CompletableFuture<UploadSession> stream(HttpServletRequest request, UploadSession session) {
+        CompletableFuture<UploadSession> done = new CompletableFuture<>();
+
+        WebAsyncUtils.getAsyncManager(request).registerDeferredResultInterceptor(ImageUploadService.class.getName(),
+                new DeferredResultProcessingInterceptor() {
+                    @Override
+                    public <T> void preProcess(NativeWebRequest webRequest, DeferredResult<T> deferredResult)
+                            throws IOException {
+                        ServletInputStream in = request.getInputStream();
+                        in.setReadListener(new BodyListener(in, session, done));
+                    }
+
+                    @Override
+                    public <T> boolean handleTimeout(NativeWebRequest webRequest, DeferredResult<T> deferredResult) {
+                        done.completeExceptionally(new ResponseStatusException(HttpStatus.REQUEST_TIMEOUT));
+                        return true;
+                    }
+
+                    @Override
+                    public <T> boolean handleError(NativeWebRequest webRequest, DeferredResult<T> deferredResult,
+                            Throwable error) {
+                        done.completeExceptionally(error);
+                        return true;
+                    }
+                });
+
+        return done;
+    }
+
+    private UploadDTO complete(UploadSession session) {
+        sessions.remove(session.id, session);
+
+        try {
+            return finish(session);
+        } finally {
+            discard(session);
+        }
+    }
+
+    private UploadDTO finish(UploadSession session) {
+        if (session.offset() == 0)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+
+        try {
+            session.close();
+            String hash = session.hash();
+            ImageMetadataDTO stored = imageStoreService.store(session.path, hash);
+
+            if (!session.attach.apply(stored))
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+
+            return new UploadDTO(session.id, session.offset(), session.offset(), hash);
+        } catch (IOException e) {
+            failed.increment();
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private void discard(UploadSession session) {
+        try {
+            session.close();
+            Files.deleteIfExists(session.path);
+        } catch (IOException e) {
+            failed.increment();
+        }
+    }
+
+    private final class BodyListener implements ReadListener {
+
+        private final ServletInputStream in;
+        private final UploadSession session;
+        private final CompletableFuture<UploadSession> done;
+        private final byte[] buffer = new byte[bufferSize];
+
+        BodyListener(ServletInputStream in, UploadSession session, CompletableFuture<UploadSession> done) {
+            this.in = in;
+            this.session = session;
+            this.done = done;
+        }
+
+        @Override
+        public void onDataAvailable() {
+            try {
+                while (!done.isDone() && in.isReady()) {
+                    int read = in.read(buffer);
+                    if (read < 0)
+                        return;
+
+                    if (session.offset() + read > session.length) {
+                        done.completeExceptionally(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE));
+                        return;
+                    }
+
+                    session.write(buffer, read);
+                    receivedBytes.increment(read);
+                }
+            } catch (IOException e) {
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            done.complete(session);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            failed.increment();
+            done.completeExceptionally(error);
+        }
+    }
+
+    private final class UploadSession {
+
+        private final String id;
+        private final String owner;
+        private final long length;
+        private final Function<ImageMetadataDTO, Boolean> attach;
+        private final Path path;
+        private final FileChannel channel;
+        private final MessageDigest digest = ImageFiles.sha256();
+
+        private long offset;
+        private boolean busy;
+        private long expiresAt;
+
+        UploadSession(String id, String owner, long length, Function<ImageMetadataDTO, Boolean> attach, Path path)
+                throws IOException {
+            this.id = id;
+            this.owner = owner;
+            this.length = length;
+            this.attach = attach;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            this.expiresAt = System.currentTimeMillis() + sessionTtlMillis;
+        }
+
+        synchronized void write(byte[] data, int count) throws IOException {
+            ByteBuffer chunk = ByteBuffer.wrap(data, 0, count);
+            while (chunk.hasRemaining())
+                channel.write(chunk, offset + chunk.position());
+
+            digest.update(data, 0, count);
+            offset += count;
+        }
+
+        synchronized void close() throws IOException {
+            channel.close();
+        }
+
+        synchronized String hash() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        synchronized long offset() {
+            return offset;
+        }
+
+        synchronized boolean acquire(long expectedOffset) {
+            if (busy || expectedOffset != offset || offset == length)
+                return false;
+
+            busy = true;
+            return true;
+        }
+
+        synchronized void release() {
+            busy = false;
+        }
+
+        synchronized void touch(long newExpiresAt) {
+            expiresAt = newExpiresAt;
+        }
+
+        synchronized boolean expired(long now) {
+            return !busy && expiresAt <= now;
+        }
+
+        synchronized UploadDTO toDto() {
+            return new UploadDTO(id, offset, length, null);
+        }
+    }
+}
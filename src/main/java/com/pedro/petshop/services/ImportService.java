@@ -0,0 +1,388 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.pedro.petshop.configs.CopyWriter;
+import com.pedro.petshop.configs.CsvReader;
+import com.pedro.petshop.configs.CsvReader.MalformedCsvException;
+import com.pedro.petshop.dtos.ImportErrorDTO;
+import com.pedro.petshop.dtos.ImportResultDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bulk CSV import. Rows are parsed and validated one at a time while the body
+ * streams in, and the valid ones are fed straight into {@code COPY} on a
+ * temporary staging table. Checks that need the database (foreign keys,
+ * references to rows of an earlier import) then run as a few set-based
+ * {@code UPDATE}s over the whole staging table, and the surviving rows are
+ * merged with a single {@code INSERT ... SELECT}.
+ */
+@Service
+public class ImportService {
+
+    // Matches INCREMENT BY of the id sequences (V4), so ids handed out here
+    // come in the same blocks Hibernate's pooled optimizer uses.
+    private static final int ID_BLOCK = 50;
+    private static final int MAX_FIELD_LENGTH = 4096;
+
+    public enum Kind {
+        CLIENTS, PETS, APPOINTMENTS;
+
+        public static Optional<Kind> parse(String name) {
+            for (Kind kind : values())
+                if (kind.name().equalsIgnoreCase(name))
+                    return Optional.of(kind);
+
+            return Optional.empty();
+        }
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final Map<Kind, Spec> SPECS = new EnumMap<>(Map.of(
+            Kind.CLIENTS, new Spec("import_clients", "clients_id_seq", "client",
+                    List.of(new Column("ref", "ref", Type.TEXT, 100, false),
+                            new Column("name", "name", Type.TEXT, 255, true),
+                            new Column("cpf", "cpf", Type.TEXT, 11, false)),
+                    null,
+                    List.of("UPDATE import_clients s SET error = 'cpf is not a registered user' " +
+                            "WHERE s.error IS NULL AND s.cpf IS NOT NULL " +
+                            "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.cpf = s.cpf)"),
+                    "INSERT INTO clients (id, name, cpf) " +
+                            "SELECT id, name, cpf FROM import_clients WHERE error IS NULL"),
+            Kind.PETS, new Spec("import_pets", "pets_id_seq", "pet",
+                    List.of(new Column("ref", "ref", Type.TEXT, 100, false),
+                            new Column("clientId", "client_id", Type.ID, 0, false),
+                            new Column("clientRef", "client_ref", Type.TEXT, 100, false),
+                            new Column("breedId", "breed_id", Type.ID, 0, true),
+                            new Column("name", "name", Type.TEXT, 255, true),
+                            new Column("birthDate", "birth_date", Type.DATE, 0, false)),
+                    new String[] { "clientId", "clientRef" },
+                    List.of("UPDATE import_pets s SET client_id = r.id FROM import_refs r " +
+                            "WHERE s.client_ref IS NOT NULL AND r.kind = 'client' AND r.ref = s.client_ref",
+                            "UPDATE import_pets s SET error = 'clientRef was not imported' " +
+                                    "WHERE s.error IS NULL AND s.client_id IS NULL",
+                            "UPDATE import_pets s SET error = 'client not found' " +
+                                    "WHERE s.error IS NULL " +
+                                    "AND NOT EXISTS (SELECT 1 FROM clients c WHERE c.id = s.client_id)",
+                            "UPDATE import_pets s SET error = 'breed not found' " +
+                                    "WHERE s.error IS NULL " +
+                                    "AND NOT EXISTS (SELECT 1 FROM breeds b WHERE b.id = s.breed_id)"),
+                    "INSERT INTO pets (id, client_id, breed_id, name, birth_date) " +
+                            "SELECT id, client_id, breed_id, name, birth_date FROM import_pets WHERE error IS NULL"),
+            Kind.APPOINTMENTS, new Spec("import_appointments", "appointments_id_seq", null,
+                    List.of(new Column("petId", "pet_id", Type.ID, 0, false),
+                            new Column("petRef", "pet_ref", Type.TEXT, 100, false),
+                            new Column("description", "description", Type.TEXT, MAX_FIELD_LENGTH, true),
+                            new Column("cost", "cost", Type.DECIMAL, 0, true),
+                            new Column("date", "date", Type.DATE_TIME, 0, false)),
+                    new String[] { "petId", "petRef" },
+                    List.of("UPDATE import_appointments s SET pet_id = r.id FROM import_refs r " +
+                            "WHERE s.pet_ref IS NOT NULL AND r.kind = 'pet' AND r.ref = s.pet_ref",
+                            "UPDATE import_appointments s SET error = 'petRef was not imported' " +
+                                    "WHERE s.error IS NULL AND s.pet_id IS NULL",
+                            "UPDATE import_appointments s SET error = 'pet not found' " +
+                                    "WHERE s.error IS NULL " +
+                                    "AND NOT EXISTS (SELECT 1 FROM pets p WHERE p.id = s.pet_id)"),
+                    "INSERT INTO appointments (id, pet_id, description, cost, date) " +
+                            "SELECT id, pet_id, description, cost, date FROM import_appointments WHERE error IS NULL")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxRows;
+    private final int maxErrors;
+    private final Map<Kind, Counter> imported = new EnumMap<>(Kind.class);
+    private final Map<Kind, Counter> rejected = new EnumMap<>(Kind.class);
+    private final Map<Kind, Timer> durations = new EnumMap<>(Kind.class);
+
+    public ImportService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${import.max-rows:1000000}") long maxRows,
+            @Value("${import.max-errors:1000}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+
+        for (Kind kind : Kind.values()) {
+            imported.put(kind, Counter.builder("petshop.import.rows")
+                    .tag("kind", kind.label())
+                    .tag("result", "imported")
+                    .description("CSV rows imported")
+                    .register(meterRegistry));
+            rejected.put(kind, Counter.builder("petshop.import.rows")
+                    .tag("kind", kind.label())
+                    .tag("result", "rejected")
+                    .description("CSV rows rejected by validation")
+                    .register(meterRegistry));
+            durations.put(kind, Timer.builder("petshop.import.duration")
+                    .tag("kind", kind.label())
+                    .description("Time to stream, validate and merge one CSV import")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Imports every valid row of {@code body} and reports the rest by line.
+     * Rows that fail are skipped; the import as a whole only fails on a bad
+     * header, malformed CSV or more than {@code import.max-rows} rows.
+     */
+    @Transactional
+    public ImportResultDTO importCsv(Kind kind, InputStream body) {
+        Spec spec = SPECS.get(kind);
+        Timer.Sample sample = Timer.start();
+
+        jdbcTemplate.execute(spec.createStaging());
+        Staged staged = jdbcTemplate.execute((ConnectionCallback<Staged>) connection -> {
+            try {
+                return copy(spec, body, connection.unwrap(PGConnection.class));
+            } catch (MalformedCsvException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read the CSV body", e);
+            }
+        });
+        jdbcTemplate.execute("ANALYZE " + spec.table());
+
+        for (String check : spec.checks())
+            jdbcTemplate.update(check);
+        if (spec.refKind() != null)
+            checkRefs(spec);
+
+        long valid = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + spec.table() + " WHERE error IS NULL", Long.class);
+        if (valid > 0)
+            merge(spec, valid);
+
+        long sqlRejected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + spec.table() + " WHERE error IS NOT NULL", Long.class);
+        List<ImportErrorDTO> errors = new ArrayList<>(staged.errors());
+        errors.addAll(jdbcTemplate.query(
+                "SELECT line, error FROM " + spec.table() + " WHERE error IS NOT NULL ORDER BY line LIMIT ?",
+                (rs, rowNum) -> new ImportErrorDTO(rs.getLong("line"), rs.getString("error")), maxErrors));
+        errors.sort(Comparator.comparingLong(ImportErrorDTO::getLine));
+
+        long rejectedRows = staged.rejected() + sqlRejected;
+        imported.get(kind).increment(valid);
+        rejected.get(kind).increment(rejectedRows);
+        sample.stop(durations.get(kind));
+
+        return new ImportResultDTO(kind.label(), valid, rejectedRows,
+                errors.subList(0, Math.min(errors.size(), maxErrors)));
+    }
+
+    private Staged copy(Spec spec, InputStream body, PGConnection connection) throws SQLException, IOException {
+        CsvReader reader = new CsvReader(new InputStreamReader(body, StandardCharsets.UTF_8), MAX_FIELD_LENGTH);
+        int[] positions = header(spec, reader.next());
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        long rejectedRows = 0;
+        long rows = 0;
+
+        List<String> columns = new ArrayList<>(List.of("line"));
+        spec.columns().forEach(column -> columns.add(column.name()));
+
+        try (CopyWriter copy = new CopyWriter(connection, spec.table(), columns)) {
+            String[] fields;
+            while ((fields = reader.next()) != null) {
+                if (++rows > maxRows)
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Imports are limited to " + maxRows + " rows");
+
+                String[] values = new String[spec.columns().size()];
+                String error = validate(spec, positions, fields, values);
+
+                if (error != null) {
+                    rejectedRows++;
+                    if (errors.size() < maxErrors)
+                        errors.add(new ImportErrorDTO(reader.line(), error));
+                    continue;
+                }
+
+                copy.field(reader.line());
+                for (String value : values)
+                    copy.field(value);
+                copy.endRow();
+            }
+
+            copy.finish();
+        }
+
+        return new Staged(errors, rejectedRows);
+    }
+
+    private static int[] header(Spec spec, String[] header) {
+        if (header == null)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The CSV body is empty");
+
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i].trim();
+            if (spec.columns().stream().noneMatch(column -> column.header().equalsIgnoreCase(name)))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown column " + name);
+            if (byName.put(name.toLowerCase(Locale.ROOT), i) != null)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Repeated column " + name);
+        }
+
+        int[] positions = new int[spec.columns().size()];
+        for (int i = 0; i < positions.length; i++) {
+            Column column = spec.columns().get(i);
+            Integer position = byName.get(column.header().toLowerCase(Locale.ROOT));
+
+            if (position == null && column.required())
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing column " + column.header());
+            positions[i] = position == null ? -1 : position;
+        }
+
+        return positions;
+    }
+
+    private static String validate(Spec spec, int[] positions, String[] fields, String[] values) {
+        for (int i = 0; i < positions.length; i++) {
+            Column column = spec.columns().get(i);
+            String raw = positions[i] < 0 || positions[i] >= fields.length ? "" : fields[positions[i]].trim();
+
+            if (raw.isEmpty()) {
+                if (column.required())
+                    return column.header() + " is required";
+                continue;
+            }
+
+            String value = column.type().normalize(raw, column.maxLength());
+            if (value == null)
+                return column.header() + " " + column.type().expected(column.maxLength());
+            values[i] = value;
+        }
+
+        if (spec.exactlyOne() != null) {
+            long present = spec.columns().stream()
+                    .filter(column -> List.of(spec.exactlyOne()).contains(column.header()))
+                    .filter(column -> values[spec.columns().indexOf(column)] != null)
+                    .count();
+            if (present != 1)
+                return "exactly one of " + String.join(" or ", spec.exactlyOne()) + " is required";
+        }
+
+        return null;
+    }
+
+    // Refs name rows for later imports, so they must be unique in the file and
+    // across imports; the first valid row wins.
+    private void checkRefs(Spec spec) {
+        jdbcTemplate.update("UPDATE " + spec.table() + " s SET error = 'ref repeated in the file' " +
+                "FROM (SELECT line, ROW_NUMBER() OVER (PARTITION BY ref ORDER BY line) AS n " +
+                "      FROM " + spec.table() + " WHERE ref IS NOT NULL AND error IS NULL) d " +
+                "WHERE s.line = d.line AND d.n > 1");
+        jdbcTemplate.update("UPDATE " + spec.table() + " s SET error = 'ref was already imported' " +
+                "WHERE s.error IS NULL AND s.ref IS NOT NULL " +
+                "AND EXISTS (SELECT 1 FROM import_refs r WHERE r.kind = ? AND r.ref = s.ref)", spec.refKind());
+    }
+
+    // Ids are taken one sequence block at a time instead of one nextval per
+    // row, which would burn a whole block of the pooled sequence on every row.
+    private void merge(Spec spec, long valid) {
+        jdbcTemplate.update("WITH rows AS MATERIALIZED (" +
+                "    SELECT line, ROW_NUMBER() OVER (ORDER BY line) - 1 AS k " +
+                "    FROM " + spec.table() + " WHERE error IS NULL), " +
+                "blocks AS MATERIALIZED (" +
+                "    SELECT g AS block, nextval('" + spec.sequence() + "') AS hi FROM generate_series(0, ?) g) " +
+                "UPDATE " + spec.table() + " s SET id = b.hi - " + (ID_BLOCK - 1) + " + r.k % " + ID_BLOCK + " " +
+                "FROM rows r JOIN blocks b ON b.block = r.k / " + ID_BLOCK + " " +
+                "WHERE s.line = r.line", (valid - 1) / ID_BLOCK);
+
+        jdbcTemplate.update(spec.insert());
+
+        if (spec.refKind() != null)
+            jdbcTemplate.update("INSERT INTO import_refs (kind, ref, id) " +
+                    "SELECT ?, ref, id FROM " + spec.table() + " WHERE error IS NULL AND ref IS NOT NULL",
+                    spec.refKind());
+    }
+
+    private enum Type {
+        TEXT("TEXT"), ID("BIGINT"), DECIMAL("NUMERIC"), DATE("DATE"), DATE_TIME("TIMESTAMP");
+
+        private final String sqlType;
+
+        Type(String sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        String normalize(String raw, int maxLength) {
+            try {
+                return switch (this) {
+                    case TEXT -> raw.length() <= maxLength ? raw : null;
+                    case ID -> {
+                        long id = Long.parseLong(raw);
+                        yield id > 0 && id <= Integer.MAX_VALUE ? Long.toString(id) : null;
+                    }
+                    case DECIMAL -> {
+                        BigDecimal value = new BigDecimal(raw);
+                        yield value.stripTrailingZeros().scale() <= 2 && value.abs().compareTo(MAX_COST) < 0
+                                ? value.toPlainString()
+                                : null;
+                    }
+                    case DATE -> LocalDate.parse(raw).toString();
+                    case DATE_TIME -> LocalDateTime.parse(raw).toString();
+                };
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        String expected(int maxLength) {
+            return switch (this) {
+                case TEXT -> "is longer than " + maxLength + " characters";
+                case ID -> "must be a positive integer";
+                case DECIMAL -> "must be a number with up to 8 integer and 2 decimal digits";
+                case DATE -> "must be an ISO date (yyyy-MM-dd)";
+                case DATE_TIME -> "must be an ISO date-time (yyyy-MM-ddTHH:mm:ss)";
+            };
+        }
+
+        private static final BigDecimal MAX_COST = new BigDecimal("100000000");
+    }
+
+    private record Column(String header, String name, Type type, int maxLength, boolean required) {
+    }
+
+    private record Spec(String table, String sequence, String refKind, List<Column> columns, String[] exactlyOne,
+            List<String> checks, String insert) {
+
+        String createStaging() {
+            return "CREATE TEMP TABLE " + table + " (line BIGINT PRIMARY KEY, id INT, error TEXT, "
+                    + columns.stream().map(column -> column.name() + " " + column.type().sqlType)
+                            .collect(Collectors.joining(", "))
+                    + ") ON COMMIT DROP";
+        }
+    }
+
+    private record Staged(List<ImportErrorDTO> errors, long rejected) {
+    }
+}
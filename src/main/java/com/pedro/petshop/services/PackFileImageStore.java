@@ -0,0 +1,469 @@
+package com.pedro.petshop.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.pedro.petshop.configs.ByteBufferResource;
+import com.pedro.petshop.configs.ImageFiles;
+import com.pedro.petshop.dtos.ImageDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+@Service
+@ConditionalOnProperty(name = "image.store.backend", havingValue = "pack")
+public class PackFileImageStore implements ImageStore {
+
+    private static final int MAGIC = 0x50414B32;
+    private static final int UNCHECKED_MAGIC = 0x50414B31;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // magic, type, key length, last modified, target segment, data length, CRC32C of key and data
+    private static final int HEADER_LENGTH = 4 + 1 + 2 + 8 + 4 + 4 + 4;
+    private static final int MAX_SEGMENT_SIZE = 1 << 30;
+    private static final int SNIFF_LENGTH = 12;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.pack");
+
+    private final Path directory;
+    private final Path incoming;
+    private final int segmentSize;
+    private final double compactionThreshold;
+    private final ConcurrentSkipListMap<String, Entry> index = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Counter compactions;
+    private final Counter reclaimed;
+
+    private volatile Segment active;
+
+    public PackFileImageStore(MeterRegistry meterRegistry,
+            @Value("${upload.path}") String uploadPath,
+            @Value("${image.store.pack.segment-size:268435456}") long segmentSize,
+            @Value("${image.store.pack.compaction-threshold:0.5}") double compactionThreshold) throws IOException {
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        this.directory = root.resolve("packs");
+        this.incoming = root.resolve("incoming");
+        this.segmentSize = (int) Math.min(Math.max(segmentSize, 1 << 20), MAX_SEGMENT_SIZE);
+        this.compactionThreshold = compactionThreshold;
+
+        this.compactions = Counter.builder("petshop.image.store.pack.compactions")
+                .description("Pack segments rewritten to drop deleted or replaced images")
+                .register(meterRegistry);
+        this.reclaimed = Counter.builder("petshop.image.store.pack.reclaimed")
+                .baseUnit("bytes")
+                .description("Bytes freed by pack compaction")
+                .register(meterRegistry);
+        Gauge.builder("petshop.image.store.pack.bytes", this, PackFileImageStore::liveBytes)
+                .tag("state", "live")
+                .baseUnit("bytes")
+                .description("Bytes of pack segments still referenced by the index")
+                .register(meterRegistry);
+        Gauge.builder("petshop.image.store.pack.bytes", this, store -> store.totalBytes() - store.liveBytes())
+                .tag("state", "dead")
+                .baseUnit("bytes")
+                .description("Bytes of pack segments waiting for compaction")
+                .register(meterRegistry);
+
+        Files.createDirectories(directory);
+        load();
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public Path createTempFile(String suffix) throws IOException {
+        Files.createDirectories(incoming);
+        return Files.createTempFile(incoming, "upload-", suffix);
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long length = in.size();
+            if (length > segmentSize - HEADER_LENGTH - key.length() * 3L)
+                throw new IOException("Image larger than a pack segment");
+
+            synchronized (this) {
+                append(PUT, key, -1, System.currentTimeMillis(), (int) length, true,
+                        (channel, position) -> transferFully(in, channel, position, length));
+            }
+        }
+    }
+
+    @Override
+    public Optional<ImageDTO> open(String key, String contentType, String etag) {
+        Entry entry = index.get(key);
+        if (entry == null)
+            return Optional.empty();
+
+        ByteBuffer data = entry.data();
+        return Optional.of(new ImageDTO(new ByteBufferResource(data, key),
+                contentType != null ? contentType : detectContentType(data),
+                etag != null ? etag : Long.toHexString(entry.length()) + "-" + Long.toHexString(entry.lastModified()),
+                entry.lastModified()));
+    }
+
+    @Override
+    public InputStream read(String key) throws IOException {
+        Entry entry = index.get(key);
+        if (entry == null)
+            throw new NoSuchFileException(key);
+
+        return new ByteBufferResource(entry.data(), key).getInputStream();
+    }
+
+    @Override
+    public synchronized boolean delete(String key) throws IOException {
+        Entry previous = index.remove(key);
+        if (previous == null)
+            return false;
+
+        previous.segment().liveBytes.addAndGet(-previous.recordLength());
+        append(DELETE, key, previous.segment().id, System.currentTimeMillis(), 0, true, (channel, position) -> {
+        });
+        return true;
+    }
+
+    @Override
+    public List<StoredImage> list(String after, int limit) {
+        return index.tailMap(after, false).entrySet().stream()
+                .limit(limit)
+                .map(entry -> new StoredImage(entry.getKey(), entry.getValue().length(),
+                        entry.getValue().lastModified()))
+                .toList();
+    }
+
+    @Override
+    public List<StoredImage> listTempFiles() throws IOException {
+        List<StoredImage> files = new ArrayList<>();
+
+        for (Path file : ImageFiles.listSorted(incoming, Files::isRegularFile)) {
+            try {
+                files.add(new StoredImage(file.getFileName().toString(), Files.size(file),
+                        Files.getLastModifiedTime(file).toMillis()));
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+        }
+
+        return files;
+    }
+
+    @Override
+    public boolean deleteTempFile(String name) throws IOException {
+        Path file = incoming.resolve(name).normalize();
+        return incoming.equals(file.getParent()) && Files.deleteIfExists(file);
+    }
+
+    @Scheduled(fixedDelayString = "${image.store.pack.compaction-interval-ms:300000}")
+    public void compact() throws IOException {
+        for (Segment segment : segments.values()) {
+            if (segment == active || segment.size == 0)
+                continue;
+
+            if (segment.liveBytes.get() <= segment.size * (1 - compactionThreshold))
+                compact(segment);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values())
+            segment.channel.close();
+    }
+
+    private void compact(Segment segment) throws IOException {
+        ByteBuffer mapping = segment.mapping;
+        long copied = 0;
+        int position = 0;
+
+        while (position < segment.size) {
+            Record record = readRecord(mapping, position, segment.size, false);
+            if (record == null)
+                break;
+
+            synchronized (this) {
+                if (record.type() == PUT) {
+                    Entry current = index.get(record.key());
+                    if (current != null && current.segment() == segment && current.position() == record.position()) {
+                        ByteBuffer data = mapping.slice(record.dataOffset(), record.dataLength());
+                        append(PUT, record.key(), -1, record.lastModified(), record.dataLength(), false,
+                                (channel, offset) -> writeFully(channel, data, offset));
+                        copied += record.length();
+                    }
+                } else if (record.target() != segment.id && segments.containsKey(record.target())
+                        && !index.containsKey(record.key())) {
+                    append(DELETE, record.key(), record.target(), record.lastModified(), 0, false, (channel, offset) -> {
+                    });
+                    copied += record.length();
+                }
+            }
+
+            position = record.end();
+        }
+
+        synchronized (this) {
+            active.channel.force(false);
+            segments.remove(segment.id);
+            segment.channel.close();
+        }
+
+        Files.deleteIfExists(segment.path);
+        compactions.increment();
+        reclaimed.increment(segment.size - copied);
+    }
+
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            Path path = files.get(i);
+            Matcher name = SEGMENT_NAME.matcher(path.getFileName().toString());
+            name.matches();
+
+            Segment segment = new Segment(Integer.parseInt(name.group(1)), path);
+            segment.resize((int) Math.min(segment.channel.size(), MAX_SEGMENT_SIZE));
+            segments.put(segment.id, segment);
+            // Sealed segments were forced before the next one was created, so
+            // only the last one can end in a torn record.
+            scan(segment, i == files.size() - 1);
+            segment.resize(segment.size);
+        }
+
+        Segment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        active = last != null && last.size < segmentSize ? last : createSegment(last != null ? last.id + 1 : 1);
+        active.resize(segmentSize);
+    }
+
+    private void scan(Segment segment, boolean verify) throws IOException {
+        int capacity = segment.mapping.capacity();
+        int position = 0;
+
+        if (capacity >= 4 && segment.mapping.getInt(0) == UNCHECKED_MAGIC)
+            throw new IOException("Pack segment " + segment.path + " uses the unchecked record format");
+
+        while (true) {
+            Record record = readRecord(segment.mapping, position, capacity, verify);
+            if (record == null)
+                break;
+
+            if (record.type() == PUT) {
+                index(new Entry(segment, record.position(), record.dataOffset(), record.dataLength(),
+                        record.lastModified(), record.length()), record.key());
+            } else {
+                Entry previous = index.remove(record.key());
+                if (previous != null)
+                    previous.segment().liveBytes.addAndGet(-previous.recordLength());
+            }
+
+            position = record.end();
+        }
+
+        segment.size = position;
+    }
+
+    private void append(byte type, String key, int target, long lastModified, int dataLength, boolean sync,
+            DataWriter data) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int recordLength = HEADER_LENGTH + keyBytes.length + dataLength;
+
+        if (active.size + recordLength > segmentSize)
+            roll();
+
+        Segment segment = active;
+        int position = segment.size;
+        int dataOffset = position + HEADER_LENGTH + keyBytes.length;
+
+        // The header goes last and carries the checksum, so a record cut short
+        // anywhere fails verification on the next start.
+        writeFully(segment.channel, ByteBuffer.wrap(keyBytes), position + HEADER_LENGTH);
+        data.write(segment.channel, dataOffset);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH)
+                .putInt(MAGIC)
+                .put(type)
+                .putShort((short) keyBytes.length)
+                .putLong(lastModified)
+                .putInt(target)
+                .putInt(dataLength)
+                .putInt(checksum(segment.mapping, position + HEADER_LENGTH, keyBytes.length + dataLength))
+                .flip();
+
+        writeFully(segment.channel, header, position);
+        if (sync)
+            segment.channel.force(false);
+        segment.size = position + recordLength;
+
+        if (type == PUT)
+            index(new Entry(segment, position, dataOffset, dataLength, lastModified, recordLength), key);
+    }
+
+    private void index(Entry entry, String key) {
+        entry.segment().liveBytes.addAndGet(entry.recordLength());
+
+        Entry previous = index.put(key, entry);
+        if (previous != null)
+            previous.segment().liveBytes.addAndGet(-previous.recordLength());
+    }
+
+    private void roll() throws IOException {
+        Segment sealed = active;
+        sealed.resize(sealed.size);
+        sealed.channel.force(true);
+
+        Segment next = createSegment(sealed.id + 1);
+        next.resize(segmentSize);
+        active = next;
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Segment segment = new Segment(id, directory.resolve(String.format("segment-%06d.pack", id)));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private long liveBytes() {
+        return segments.values().stream().mapToLong(segment -> segment.liveBytes.get()).sum();
+    }
+
+    private long totalBytes() {
+        return segments.values().stream().mapToLong(segment -> segment.size).sum();
+    }
+
+    private static Record readRecord(ByteBuffer mapping, int position, int limit, boolean verify) {
+        if (position + HEADER_LENGTH > limit || mapping.getInt(position) != MAGIC)
+            return null;
+
+        byte type = mapping.get(position + 4);
+        int keyLength = mapping.getShort(position + 5) & 0xFFFF;
+        long lastModified = mapping.getLong(position + 7);
+        int target = mapping.getInt(position + 15);
+        int dataLength = mapping.getInt(position + 19);
+        int checksum = mapping.getInt(position + 23);
+        int dataOffset = position + HEADER_LENGTH + keyLength;
+
+        if ((type != PUT && type != DELETE) || keyLength == 0 || dataLength < 0 || (long) dataOffset + dataLength > limit)
+            return null;
+        if (verify && checksum(mapping, position + HEADER_LENGTH, keyLength + dataLength) != checksum)
+            return null;
+
+        byte[] key = new byte[keyLength];
+        mapping.get(position + HEADER_LENGTH, key);
+
+        return new Record(type, new String(key, StandardCharsets.UTF_8), lastModified, target, position, dataOffset,
+                dataLength);
+    }
+
+    private static int checksum(ByteBuffer mapping, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(mapping.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static String detectContentType(ByteBuffer data) {
+        byte[] header = new byte[Math.min(SNIFF_LENGTH, data.remaining())];
+        data.duplicate().get(header);
+        return ImageFiles.detectContentType(header, header.length);
+    }
+
+    private static void transferFully(FileChannel source, FileChannel target, long position, long length)
+            throws IOException {
+        long written = 0;
+        while (written < length) {
+            long count = target.transferFrom(source, position + written, length - written);
+            if (count <= 0)
+                throw new IOException("Source ended before " + length + " bytes");
+            written += count;
+        }
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer data, long position) throws IOException {
+        ByteBuffer remaining = data.duplicate();
+        while (remaining.hasRemaining())
+            target.write(remaining, position + remaining.position() - data.position());
+    }
+
+    @FunctionalInterface
+    private interface DataWriter {
+        void write(FileChannel channel, long position) throws IOException;
+    }
+
+    private record Record(byte type, String key, long lastModified, int target, int position, int dataOffset,
+            int dataLength) {
+
+        int end() {
+            return dataOffset + dataLength;
+        }
+
+        int length() {
+            return end() - position;
+        }
+    }
+
+    private record Entry(Segment segment, int position, int dataOffset, int length, long lastModified,
+            int recordLength) {
+
+        ByteBuffer data() {
+            return segment.mapping.slice(dataOffset, length);
+        }
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicLong liveBytes = new AtomicLong();
+
+        private volatile MappedByteBuffer mapping;
+        private volatile int size;
+
+        Segment(int id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+
+        void resize(int capacity) throws IOException {
+            if (channel.size() > capacity)
+                channel.truncate(capacity);
+            else if (channel.size() < capacity)
+                channel.write(ByteBuffer.allocate(1), capacity - 1);
+
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, capacity);
+        }
+    }
+}
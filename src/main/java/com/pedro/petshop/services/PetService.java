@@ -1,120 +1,132 @@
 package com.pedro.petshop.services;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.pedro.petshop.configs.Tool;
+import com.pedro.petshop.configs.PartialUpdate;
+import com.pedro.petshop.configs.CursorCodec;
+import com.pedro.petshop.dtos.CursorPageDTO;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+import com.pedro.petshop.dtos.PetDTO;
 import com.pedro.petshop.entities.Pet;
 import com.pedro.petshop.repositories.PetRepository;
 
 @Service
 public class PetService {
 
-    @Value("${upload.path}")
-    private String uploadPath;
-
     private final PetRepository petRepository;
+    private final ImageStoreService imageStoreService;
+    private final ImageCacheService imageCacheService;
 
-    public PetService(PetRepository petRepository) {
+    public PetService(PetRepository petRepository, ImageStoreService imageStoreService,
+            ImageCacheService imageCacheService) {
         this.petRepository = petRepository;
+        this.imageStoreService = imageStoreService;
+        this.imageCacheService = imageCacheService;
     }
 
-    public Optional<Resource> getProfileImage(Long id) {
-        Pet pet = petRepository.findById(id).orElseThrow(() -> new RuntimeException("Pet not found"));
-
-        if (pet.getImage() == null)
-            return null;
-
-        try {
-            Path filePath = Paths.get(uploadPath).resolve(pet.getImage()).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists()) {
-                return null;
-            }
+    public Optional<ImageDTO> getProfileImage(Long id, Integer size) {
+        return imageCacheService.get(ImageCacheService.PET, id, size, null, () -> petRepository.findImageById(id));
+    }
 
-            return Optional.of(resource);
-        } catch (Exception e) {
-            return null;
-        }
+    public Optional<ImageDTO> getProfileImageByIdAndUserCpf(Long id, String cpf, Integer size) {
+        return imageCacheService.get(ImageCacheService.PET, id, size, cpf,
+                () -> petRepository.findImageByIdAndUserCpf(id, cpf));
     }
 
     public Boolean uploadImage(Long id, MultipartFile file) {
-        Optional<Pet> pet = petRepository.findById(id);
-        if (!pet.isPresent())
-            return false;
-        try {
-            Path directoryPath = Paths.get(uploadPath);
-            if (!Files.exists(directoryPath)) {
-                Files.createDirectories(directoryPath);
-            }
-
-            String filename = "pet_" + id + "_" + file.getOriginalFilename();
-            Path filePath = directoryPath.resolve(filename);
+        return petRepository.findById(id).map(pet -> storeImage(pet, file)).orElse(false);
+    }
 
-            String oldImage = pet.get().getImage();
-            if (oldImage != null && !oldImage.isEmpty()) {
-                Path oldImagePath = directoryPath.resolve(oldImage);
-                if (Files.exists(oldImagePath)) {
-                    Files.delete(oldImagePath);
-                }
-            }
+    public Boolean uploadImageByIdAndUserCpf(Long id, String cpf, MultipartFile file) {
+        return petRepository.findByIdAndUserCpf(id, cpf).map(pet -> storeImage(pet, file)).orElse(false);
+    }
 
-            file.transferTo(filePath);
+    public boolean attachImage(Long id, ImageMetadataDTO image) {
+        return petRepository.findById(id).map(pet -> attachImage(pet, image)).orElse(false);
+    }
 
-            pet.get().setImage(filename);
-            petRepository.save(pet.get());
+    public boolean attachImageByIdAndUserCpf(Long id, String cpf, ImageMetadataDTO image) {
+        return petRepository.findByIdAndUserCpf(id, cpf).map(pet -> attachImage(pet, image)).orElse(false);
+    }
 
-            return true;
+    private boolean storeImage(Pet pet, MultipartFile file) {
+        try {
+            return attachImage(pet, imageStoreService.store(file));
         } catch (IOException e) {
             return false;
         }
     }
 
+    private boolean attachImage(Pet pet, ImageMetadataDTO image) {
+        pet.setImage(image.getImage());
+        pet.setImageContentType(image.getContentType());
+        pet.setImageEtag(image.getEtag());
+        petRepository.save(pet);
+        imageCacheService.evict(ImageCacheService.PET, pet.getId());
+
+        return true;
+    }
+
     public Pet create(Pet pet) {
         return petRepository.save(pet);
     }
 
+    @Transactional
+    public List<Pet> createAll(List<Pet> pets) {
+        return petRepository.saveAll(pets);
+    }
+
     public Optional<Pet> findById(Long id) {
         return petRepository.findById(id);
     }
 
-    public Page<Pet> findAll(Pageable pageable) {
-        return petRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<PetDTO> findAll(Pageable pageable) {
+        return petRepository.findAllDtos(pageable);
     }
 
-    public Page<Pet> findAllByClientId(Long clientId, Pageable pageable) {
-        return petRepository.findAllByClientId(clientId, pageable);
+    @Transactional(readOnly = true)
+    public Page<PetDTO> findAllByClientId(Long clientId, Pageable pageable) {
+        return petRepository.findAllDtosByClientId(clientId, pageable);
     }
 
-    public Page<Pet> findAllByClientIdAndUserCpf(Long clientId, String cpf,
+    @Transactional(readOnly = true)
+    public Page<PetDTO> findAllByClientIdAndUserCpf(Long clientId, String cpf,
             Pageable pageable) {
-        return petRepository.findAllByClientIdAndUserCpf(clientId, cpf, pageable);
+        return petRepository.findAllDtosByClientIdAndUserCpf(clientId, cpf, pageable);
     }
 
+    @Transactional
     public Pet update(Long id, Pet pet) {
-        pet.setId(id);
+        imageCacheService.evict(ImageCacheService.PET, id);
+
         return petRepository.findById(id).map(existingPet -> {
-            BeanUtils.copyProperties(pet, existingPet, Tool.getNullPropertyNames(pet));
-            return petRepository.save(existingPet);
+            PartialUpdate.copyNonNullProperties(pet, existingPet);
+            return existingPet;
         }).orElse(null);
     }
 
+    public boolean existsById(Long id) {
+        return petRepository.existsById(id);
+    }
+
     public boolean delete(Long id) {
         if (petRepository.existsById(id)) {
             petRepository.deleteById(id);
+            imageCacheService.evict(ImageCacheService.PET, id);
             return true;
         }
         return false;
@@ -124,27 +136,64 @@ public class PetService {
         return petRepository.existsByIdAndUserCpf(id, cpf);
     }
 
+    public boolean allOwnedByUserCpf(Collection<Long> ids, String cpf) {
+        Set<Long> distinctIds = new HashSet<>(ids);
+        if (distinctIds.isEmpty() || distinctIds.contains(null))
+            return false;
+
+        return petRepository.countByIdInAndUserCpf(distinctIds, cpf) == distinctIds.size();
+    }
+
     public Optional<Pet> getByIdAndUserCpf(Long id, String cpf) {
         return petRepository.findByIdAndUserCpf(id, cpf);
     }
 
-    public Page<Pet> getAllByUserCpf(String cpf, Pageable pageable) {
-        return petRepository.findAllByUserCpf(cpf, pageable);
+    @Transactional(readOnly = true)
+    public Page<PetDTO> getAllByUserCpf(String cpf, Pageable pageable) {
+        return petRepository.findAllDtosByUserCpf(cpf, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDTO<PetDTO>> findAllByCursor(String cursor, int size) {
+        return afterId(cursor).map(afterId -> CursorCodec.page(
+                petRepository.findDtosAfter(afterId, Limit.of(size + 1)), size,
+                pet -> CursorCodec.encode(pet.getId())));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDTO<PetDTO>> getAllByUserCpfAndCursor(String cpf, String cursor, int size) {
+        return afterId(cursor).map(afterId -> CursorCodec.page(
+                petRepository.findDtosByUserCpfAfter(cpf, afterId, Limit.of(size + 1)), size,
+                pet -> CursorCodec.encode(pet.getId())));
+    }
+
+    private Optional<Long> afterId(String cursor) {
+        if (cursor == null)
+            return Optional.of(0L);
+
+        return CursorCodec.decode(cursor, 1).flatMap(parts -> {
+            try {
+                return Optional.of(Long.parseLong(parts[0]));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Transactional
     public Pet updateByIdAndUserCpf(Long id, String cpf, Pet updatedPet) {
-        updatedPet.setId(id);
-        return petRepository.findByIdAndUserCpf(id, cpf).map(existingPet -> {
-            BeanUtils.copyProperties(updatedPet, existingPet, Tool.getNullPropertyNames(updatedPet));
-            return petRepository.save(existingPet);
-        }).orElse(null);
+        Long clientId = updatedPet.getClient() != null ? updatedPet.getClient().getId() : null;
+        Long breedId = updatedPet.getBreed() != null ? updatedPet.getBreed().getId() : null;
+        imageCacheService.evict(ImageCacheService.PET, id);
+
+        return petRepository.updateByIdAndUserCpf(id, cpf, clientId, breedId,
+                updatedPet.getName(),
+                updatedPet.getBirthDate()).orElse(null);
     }
 
+    @Transactional
     public boolean deleteByIdAndUserCpf(Long id, String cpf) {
-        if (petRepository.existsByIdAndUserCpf(id, cpf)) {
-            petRepository.deleteByIdAndUserCpf(id, cpf);
-            return true;
-        }
-        return false;
+        imageCacheService.evict(ImageCacheService.PET, id);
+        return petRepository.deleteByIdAndUserCpf(id, cpf) > 0;
     }
 }
@@ -0,0 +1,210 @@
+package com.pedro.petshop.services;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.pedro.petshop.configs.ImageFiles;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class ThumbnailService {
+
+    private static final String[] FORMATS = { "jpg", "png" };
+
+    private final ImageStore imageStore;
+    private final int[] sizes;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Timer renderTime;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public ThumbnailService(ImageStore imageStore, MeterRegistry meterRegistry,
+            @Value("${image.thumbnail.sizes:64,256,1024}") int[] sizes,
+            @Value("${image.thumbnail.threads:2}") int threads,
+            @Value("${image.thumbnail.queue-capacity:100}") int queueCapacity,
+            @Value("${image.thumbnail.max-pixels:40000000}") long maxPixels) {
+        this.imageStore = imageStore;
+        this.sizes = Arrays.stream(sizes).filter(size -> size > 0).sorted().distinct().toArray();
+        this.maxPixels = maxPixels;
+
+        this.renderTime = Timer.builder("petshop.image.thumbnail.render")
+                .description("Time to decode an upload and write all of its variants")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("petshop.image.thumbnail.jobs")
+                .tag("result", "rejected")
+                .description("Thumbnail jobs dropped because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("petshop.image.thumbnail.jobs")
+                .tag("result", "failed")
+                .description("Thumbnail jobs that could not decode or write the image")
+                .register(meterRegistry);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> rejected.increment());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("petshop.image.thumbnail.queue", executor, pool -> pool.getQueue().size())
+                .description("Thumbnail jobs waiting for a render thread")
+                .register(meterRegistry);
+    }
+
+    public void schedule(String hash) {
+        executor.execute(() -> renderTime.record(() -> render(hash)));
+    }
+
+    public Optional<ImageDTO> open(ImageMetadataDTO image, Integer size) {
+        if (!ImageFiles.isHash(image.getImage()))
+            return Optional.empty();
+
+        if (size != null) {
+            for (int variant : sizes) {
+                if (variant < size)
+                    continue;
+
+                Optional<ImageDTO> rendered = openVariant(image.getImage(), variant, image.getEtag());
+                if (rendered.isPresent())
+                    return rendered;
+            }
+        }
+
+        return imageStore.open(image.getImage(), image.getContentType(), image.getEtag());
+    }
+
+    public void deleteVariants(String hash) throws IOException {
+        for (int size : sizes) {
+            for (String format : FORMATS)
+                imageStore.delete(variantKey(hash, size, format));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Optional<ImageDTO> openVariant(String hash, int size, String etag) {
+        for (String format : FORMATS) {
+            String contentType = format.equals("png") ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+            Optional<ImageDTO> variant = imageStore.open(variantKey(hash, size, format), contentType,
+                    etag != null ? etag + "-" + size : null);
+            if (variant.isPresent())
+                return variant;
+        }
+
+        return Optional.empty();
+    }
+
+    private void render(String hash) {
+        try {
+            BufferedImage current = decode(hash);
+            if (current == null) {
+                failed.increment();
+                return;
+            }
+
+            boolean alpha = current.getColorModel().hasAlpha();
+            String format = alpha ? "png" : "jpg";
+
+            for (int i = sizes.length - 1; i >= 0; i--) {
+                int size = sizes[i];
+                if (Math.max(current.getWidth(), current.getHeight()) <= size)
+                    continue;
+
+                current = scale(current, size, alpha);
+                write(current, format, variantKey(hash, size, format));
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+        }
+    }
+
+    private BufferedImage decode(String hash) throws IOException {
+        try (InputStream in = imageStore.read(hash); ImageInputStream input = new MemoryCacheImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext())
+                return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels)
+                    return null;
+
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int size, boolean alpha) {
+        double ratio = (double) size / Math.max(source.getWidth(), source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return target;
+    }
+
+    private void write(BufferedImage image, String format, String key) throws IOException {
+        Path temporary = imageStore.createTempFile("." + format);
+        try {
+            if (!ImageIO.write(image, format, temporary.toFile()))
+                throw new IOException("No writer for " + format);
+
+            imageStore.put(key, temporary);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static String variantKey(String hash, int size, String format) {
+        return hash + "." + size + "." + format;
+    }
+}
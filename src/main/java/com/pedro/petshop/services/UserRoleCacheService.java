@@ -0,0 +1,85 @@
+package com.pedro.petshop.services;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pedro.petshop.configs.ExpiringCache;
+import com.pedro.petshop.entities.User;
+import com.pedro.petshop.enums.Role;
+import com.pedro.petshop.repositories.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class UserRoleCacheService {
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, CachedRole> roles;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserRoleCacheService(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${auth.role-cache.max-size:10000}") int maxSize,
+            @Value("${auth.role-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.roles = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000;
+        this.hits = Counter.builder("petshop.auth.role.cache")
+                .tag("result", "hit")
+                .description("Role lookups served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("petshop.auth.role.cache")
+                .tag("result", "miss")
+                .description("Role lookups that went to the database")
+                .register(meterRegistry);
+    }
+
+    public Optional<Role> findRoleByName(String name) {
+        CachedRole cached = roles.get(name);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached.role());
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        Optional<User> user = userRepository.findByName(name);
+        user.ifPresent(found -> cache(name, found, loadedAt));
+
+        return user.map(User::getRole);
+    }
+
+    public void evictByCpf(String cpf) {
+        evict(cpf);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(cpf);
+                }
+            });
+        }
+    }
+
+    private synchronized void cache(String name, User user, long loadedAt) {
+        if (generation.get() == loadedAt)
+            roles.put(name, new CachedRole(user.getCpf(), user.getRole()), System.currentTimeMillis() + ttlMillis);
+    }
+
+    private synchronized void evict(String cpf) {
+        generation.incrementAndGet();
+        roles.removeIf((name, cached) -> cached.cpf().equals(cpf));
+    }
+
+    private record CachedRole(String cpf, Role role) {
+    }
+}
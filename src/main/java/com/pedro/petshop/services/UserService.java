@@ -1,15 +1,14 @@
 package com.pedro.petshop.services;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.pedro.petshop.configs.Tool;
+import com.pedro.petshop.configs.PartialUpdate;
 import com.pedro.petshop.dtos.LoginDTO;
 import com.pedro.petshop.entities.User;
 import com.pedro.petshop.enums.Role;
@@ -19,14 +18,18 @@ import com.pedro.petshop.repositories.UserRepository;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final UserRoleCacheService userRoleCacheService;
+    private final PasswordHashingService passwordHashingService;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserRoleCacheService userRoleCacheService,
+            PasswordHashingService passwordHashingService) {
         this.userRepository = userRepository;
+        this.userRoleCacheService = userRoleCacheService;
+        this.passwordHashingService = passwordHashingService;
     }
 
     public User create(User user) {
-        String hashedPassword = passwordEncoder.encode(user.getPassword());
+        String hashedPassword = passwordHashingService.encodeNow(user.getPassword());
         user.setPassword(hashedPassword);
 
         return userRepository.save(user);
@@ -40,21 +43,23 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
 
+    @Transactional
     public User update(String cpf, User user) {
         if (user.getPassword() != null) {
-            String hashedPassword = passwordEncoder.encode(user.getPassword());
+            String hashedPassword = passwordHashingService.encodeNow(user.getPassword());
             user.setPassword(hashedPassword);
         }
-        user.setCpf(cpf);
         return userRepository.findById(cpf).map(existingUser -> {
-            BeanUtils.copyProperties(user, existingUser, Tool.getNullPropertyNames(user));
-            return userRepository.save(existingUser);
+            if (PartialUpdate.copyNonNullProperties(user, existingUser))
+                userRoleCacheService.evictByCpf(cpf);
+            return existingUser;
         }).orElse(null);
     }
 
     public boolean delete(String cpf) {
         if (userRepository.existsById(cpf)) {
             userRepository.deleteById(cpf);
+            userRoleCacheService.evictByCpf(cpf);
             return true;
         }
         return false;
@@ -67,26 +72,23 @@ public class UserService {
 
         user.setRole(Role.CLIENT);
 
-        String hashedPassword = passwordEncoder.encode(user.getPassword());
+        String hashedPassword = passwordHashingService.encodeNow(user.getPassword());
         user.setPassword(hashedPassword);
 
         userRepository.save(user);
         return true;
     }
 
-    public Optional<User> loginUser(LoginDTO loginUser) {
+    public CompletableFuture<Optional<User>> loginUser(LoginDTO loginUser) {
         Optional<User> userOptional = userRepository.findByName(loginUser.getName());
 
         if (userOptional.isEmpty()) {
-            return null;
+            return CompletableFuture.completedFuture(Optional.empty());
         }
 
         User user = userOptional.get();
 
-        if (passwordEncoder.matches(loginUser.getPassword(), user.getPassword())) {
-            return userOptional;
-        } else {
-            return null;
-        }
+        return passwordHashingService.matches(loginUser.getPassword(), user.getPassword())
+                .thenApply(matches -> matches ? userOptional : Optional.<User>empty());
     }
 }
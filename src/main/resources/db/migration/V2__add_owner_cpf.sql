@@ -0,0 +1,74 @@
+ALTER TABLE pets ADD COLUMN owner_cpf VARCHAR(11);
+ALTER TABLE appointments ADD COLUMN owner_cpf VARCHAR(11);
+ALTER TABLE contacts ADD COLUMN owner_cpf VARCHAR(11);
+ALTER TABLE address ADD COLUMN owner_cpf VARCHAR(11);
+
+UPDATE pets p SET owner_cpf = c.cpf FROM clients c WHERE c.id = p.client_id;
+UPDATE appointments a SET owner_cpf = p.owner_cpf FROM pets p WHERE p.id = a.pet_id;
+UPDATE contacts ct SET owner_cpf = c.cpf FROM clients c WHERE c.id = ct.client_id;
+UPDATE address a SET owner_cpf = c.cpf FROM clients c WHERE c.id = a.client_id;
+
+CREATE FUNCTION set_owner_cpf_from_client() RETURNS TRIGGER AS $$
+BEGIN
+    SELECT c.cpf INTO NEW.owner_cpf FROM clients c WHERE c.id = NEW.client_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION set_owner_cpf_from_pet() RETURNS TRIGGER AS $$
+BEGIN
+    SELECT p.owner_cpf INTO NEW.owner_cpf FROM pets p WHERE p.id = NEW.pet_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION propagate_client_owner_cpf() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE pets SET owner_cpf = NEW.cpf WHERE client_id = NEW.id;
+    UPDATE contacts SET owner_cpf = NEW.cpf WHERE client_id = NEW.id;
+    UPDATE address SET owner_cpf = NEW.cpf WHERE client_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION propagate_pet_owner_cpf() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE appointments SET owner_cpf = NEW.owner_cpf WHERE pet_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_pets_owner_cpf_insert BEFORE INSERT ON pets
+    FOR EACH ROW EXECUTE FUNCTION set_owner_cpf_from_client();
+CREATE TRIGGER trg_pets_owner_cpf_update BEFORE UPDATE OF client_id ON pets
+    FOR EACH ROW WHEN (OLD.client_id IS DISTINCT FROM NEW.client_id) EXECUTE FUNCTION set_owner_cpf_from_client();
+
+CREATE TRIGGER trg_contacts_owner_cpf_insert BEFORE INSERT ON contacts
+    FOR EACH ROW EXECUTE FUNCTION set_owner_cpf_from_client();
+CREATE TRIGGER trg_contacts_owner_cpf_update BEFORE UPDATE OF client_id ON contacts
+    FOR EACH ROW WHEN (OLD.client_id IS DISTINCT FROM NEW.client_id) EXECUTE FUNCTION set_owner_cpf_from_client();
+
+CREATE TRIGGER trg_address_owner_cpf_insert BEFORE INSERT ON address
+    FOR EACH ROW EXECUTE FUNCTION set_owner_cpf_from_client();
+CREATE TRIGGER trg_address_owner_cpf_update BEFORE UPDATE OF client_id ON address
+    FOR EACH ROW WHEN (OLD.client_id IS DISTINCT FROM NEW.client_id) EXECUTE FUNCTION set_owner_cpf_from_client();
+
+CREATE TRIGGER trg_appointments_owner_cpf_insert BEFORE INSERT ON appointments
+    FOR EACH ROW EXECUTE FUNCTION set_owner_cpf_from_pet();
+CREATE TRIGGER trg_appointments_owner_cpf_update BEFORE UPDATE OF pet_id ON appointments
+    FOR EACH ROW WHEN (OLD.pet_id IS DISTINCT FROM NEW.pet_id) EXECUTE FUNCTION set_owner_cpf_from_pet();
+
+CREATE TRIGGER trg_clients_owner_cpf_propagate AFTER UPDATE OF cpf ON clients
+    FOR EACH ROW WHEN (OLD.cpf IS DISTINCT FROM NEW.cpf) EXECUTE FUNCTION propagate_client_owner_cpf();
+CREATE TRIGGER trg_pets_owner_cpf_propagate AFTER UPDATE ON pets
+    FOR EACH ROW WHEN (OLD.owner_cpf IS DISTINCT FROM NEW.owner_cpf) EXECUTE FUNCTION propagate_pet_owner_cpf();
+
+CREATE INDEX idx_pets_owner_cpf_id ON pets (owner_cpf, id);
+CREATE INDEX idx_pets_client_id ON pets (client_id);
+CREATE INDEX idx_appointments_owner_cpf_date ON appointments (owner_cpf, date, id);
+CREATE INDEX idx_appointments_owner_cpf_id ON appointments (owner_cpf, id);
+CREATE INDEX idx_appointments_pet_id ON appointments (pet_id);
+CREATE INDEX idx_contacts_owner_cpf_id ON contacts (owner_cpf, id);
+CREATE INDEX idx_contacts_client_id ON contacts (client_id);
+CREATE INDEX idx_address_owner_cpf_id ON address (owner_cpf, id);
+CREATE INDEX idx_address_client_id ON address (client_id);
@@ -0,0 +1 @@
+CREATE INDEX idx_appointments_date_id ON appointments (date, id);
@@ -0,0 +1,13 @@
+ALTER SEQUENCE clients_id_seq INCREMENT BY 50;
+ALTER SEQUENCE contacts_id_seq INCREMENT BY 50;
+ALTER SEQUENCE address_id_seq INCREMENT BY 50;
+ALTER SEQUENCE breeds_id_seq INCREMENT BY 50;
+ALTER SEQUENCE pets_id_seq INCREMENT BY 50;
+ALTER SEQUENCE appointments_id_seq INCREMENT BY 50;
+
+SELECT setval('clients_id_seq', COALESCE((SELECT MAX(id) FROM clients), 0) + 50);
+SELECT setval('contacts_id_seq', COALESCE((SELECT MAX(id) FROM contacts), 0) + 50);
+SELECT setval('address_id_seq', COALESCE((SELECT MAX(id) FROM address), 0) + 50);
+SELECT setval('breeds_id_seq', COALESCE((SELECT MAX(id) FROM breeds), 0) + 50);
+SELECT setval('pets_id_seq', COALESCE((SELECT MAX(id) FROM pets), 0) + 50);
+SELECT setval('appointments_id_seq', COALESCE((SELECT MAX(id) FROM appointments), 0) + 50);
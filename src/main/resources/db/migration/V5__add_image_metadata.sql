@@ -0,0 +1,7 @@
+ALTER TABLE pets
+    ADD COLUMN image_content_type VARCHAR(100),
+    ADD COLUMN image_etag VARCHAR(64);
+
+ALTER TABLE clients
+    ADD COLUMN image_content_type VARCHAR(100),
+    ADD COLUMN image_etag VARCHAR(64);
@@ -0,0 +1,31 @@
+CREATE TABLE image_blobs (
+    hash VARCHAR(64) PRIMARY KEY,
+    content_type VARCHAR(100) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    touched_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_image_blobs_unreferenced ON image_blobs (touched_at) WHERE ref_count = 0;
+
+CREATE FUNCTION adjust_image_ref_count() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.image IS NOT NULL THEN
+        UPDATE image_blobs SET ref_count = ref_count - 1, touched_at = NOW() WHERE hash = OLD.image;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.image IS NOT NULL THEN
+        UPDATE image_blobs SET ref_count = ref_count + 1 WHERE hash = NEW.image;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_pets_image_ref_count AFTER INSERT OR DELETE ON pets
+    FOR EACH ROW EXECUTE FUNCTION adjust_image_ref_count();
+CREATE TRIGGER trg_pets_image_ref_count_update AFTER UPDATE OF image ON pets
+    FOR EACH ROW WHEN (OLD.image IS DISTINCT FROM NEW.image) EXECUTE FUNCTION adjust_image_ref_count();
+
+CREATE TRIGGER trg_clients_image_ref_count AFTER INSERT OR DELETE ON clients
+    FOR EACH ROW EXECUTE FUNCTION adjust_image_ref_count();
+CREATE TRIGGER trg_clients_image_ref_count_update AFTER UPDATE OF image ON clients
+    FOR EACH ROW WHEN (OLD.image IS DISTINCT FROM NEW.image) EXECUTE FUNCTION adjust_image_ref_count();
@@ -0,0 +1,8 @@
+CREATE TABLE image_sweep_cursors (
+    name VARCHAR(50) PRIMARY KEY,
+    last_key VARCHAR(128) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_pets_image ON pets (image) WHERE image IS NOT NULL;
+CREATE INDEX idx_clients_image ON clients (image) WHERE image IS NOT NULL;
@@ -0,0 +1,6 @@
+CREATE TABLE import_refs (
+    kind VARCHAR(20) NOT NULL,
+    ref VARCHAR(100) NOT NULL,
+    id INT NOT NULL,
+    PRIMARY KEY (kind, ref)
+);
@@ -0,0 +1,88 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimitTest {
+
+    @Test
+    void testTryAcquire_RegularRequestsStopAtUnreservedShare() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 100, 1.5, 0.2, 0.2);
+
+        for (int i = 0; i < 8; i++)
+            assertTrue(limit.tryAcquire(false));
+        assertFalse(limit.tryAcquire(false));
+
+        assertTrue(limit.tryAcquire(true));
+        assertTrue(limit.tryAcquire(true));
+        assertFalse(limit.tryAcquire(true));
+        assertEquals(10, limit.inFlight());
+    }
+
+    @Test
+    void testTryAcquire_RegularRequestsAlwaysGetOneSlot() {
+        AdaptiveLimit limit = new AdaptiveLimit(1, 1, 100, 1.5, 0.2, 0.5);
+
+        assertTrue(limit.tryAcquire(false));
+        assertFalse(limit.tryAcquire(false));
+    }
+
+    @Test
+    void testRelease_ShrinksOnLatencyGradientAndGrowsBackWhenFlat() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 10, 40, 1.5, 1.0, 0);
+
+        sample(limit, 10);
+        for (int i = 0; i < 10; i++)
+            sample(limit, 10);
+        assertEquals(40, limit.limit(), "flat latency should grow the limit up to max");
+
+        sample(limit, 1000);
+        assertTrue(limit.limit() < 40);
+        for (int i = 0; i < 5; i++)
+            sample(limit, 1000);
+        assertEquals(10, limit.limit(), "a latency spike should not push the limit below min");
+
+        sample(limit, 10);
+        assertTrue(limit.limit() > 10);
+        for (int i = 0; i < 10; i++)
+            sample(limit, 10);
+        assertEquals(40, limit.limit());
+    }
+
+    @Test
+    void testRelease_IgnoresSamplesWhileUnderused() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 1, 100, 1.5, 1.0, 0);
+
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire(true);
+            limit.release(TimeUnit.MILLISECONDS.toNanos(10), true);
+        }
+
+        assertEquals(20, limit.limit());
+    }
+
+    @Test
+    void testRelease_WithoutSampleOnlyFreesSlot() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 100, 1.5, 1.0, 0);
+        limit.tryAcquire(true);
+        limit.tryAcquire(true);
+
+        limit.release(TimeUnit.SECONDS.toNanos(10), false);
+        limit.release(0, true);
+
+        assertEquals(0, limit.inFlight());
+        assertEquals(2, limit.limit());
+    }
+
+    // Keeps the limit saturated so every sample is taken into account.
+    private static void sample(AdaptiveLimit limit, long rttMillis) {
+        while (limit.tryAcquire(true)) {
+        }
+        limit.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), true);
+    }
+}
@@ -0,0 +1,86 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final Bulkhead bulkhead = new Bulkhead("database", 1, 0, 1, new SimpleMeterRegistry());
+    private final BulkheadDataSource dataSource = new BulkheadDataSource(target, bulkhead);
+
+    @Test
+    void testGetConnection_ReleasesPermitOnClose() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection opened = dataSource.getConnection();
+        assertEquals(0, bulkhead.availablePermits());
+
+        opened.close();
+
+        verify(connection).close();
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void testGetConnection_DoubleCloseReleasesOnce() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection opened = dataSource.getConnection();
+        opened.close();
+        opened.close();
+
+        verify(connection, times(2)).close();
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void testGetConnection_ReturnsPermitWhenOpenFails() throws SQLException {
+        SQLException failure = new SQLException("pool exhausted");
+        when(target.getConnection()).thenThrow(failure);
+
+        assertSame(failure, assertThrows(SQLException.class, dataSource::getConnection));
+
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void testGetConnection_RejectsWithBulkheadCauseWhenFull() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+
+        SQLTransientConnectionException e = assertThrows(SQLTransientConnectionException.class,
+                dataSource::getConnection);
+
+        assertInstanceOf(BulkheadFullException.class, e.getCause());
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void testGetConnection_DelegatesOtherCalls() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        Connection opened = dataSource.getConnection();
+
+        assertEquals(true, opened.getAutoCommit());
+        assertEquals(0, bulkhead.availablePermits());
+    }
+}
@@ -0,0 +1,57 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Bulkhead bulkhead = new Bulkhead("test", 1, 0, 5, meterRegistry);
+
+    @Test
+    void testCall_ReleasesPermitAfterTask() {
+        assertEquals("done", bulkhead.call(() -> "done"));
+
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void testCall_ReleasesPermitWhenTaskFails() {
+        assertThrows(IOException.class, () -> bulkhead.call(() -> {
+            throw new IOException("disk");
+        }));
+
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void testCall_RejectsWith503AndRetryAfterWhenFull() {
+        assertTrue(bulkhead.tryAcquire());
+
+        BulkheadFullException e = assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "done"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals("5", e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("petshop.bulkhead.rejected").tag("bulkhead", "test").counter().count());
+        assertEquals(0, bulkhead.availablePermits());
+    }
+
+    @Test
+    void testTryAcquire_FailsAfterMaxWaitWhenFull() {
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+    }
+}
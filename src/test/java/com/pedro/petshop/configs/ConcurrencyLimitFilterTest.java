@@ -0,0 +1,134 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.pedro.petshop.configs.ConcurrencyLimitFilter.Group;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(meterRegistry, 1, 1, 10, 1.5, 0.2, 0, 7);
+    }
+
+    @Test
+    void testGroup_MapsPathsToGroups() throws Exception {
+        assertEquals(Group.AUTH, groupOf("POST", "/auth/login"));
+        assertEquals(Group.IMAGE, groupOf("POST", "/api/v1/uploads"));
+        assertEquals(Group.IMAGE, groupOf("GET", "/api/v1/pets/5/download-image"));
+        assertEquals(Group.IMAGE, groupOf("GET", "/api/v1/images/abc"));
+        assertEquals(Group.BULK, groupOf("POST", "/api/v1/imports"));
+        assertEquals(Group.BULK, groupOf("GET", "/api/v1/pets/export"));
+        assertEquals(Group.LIST, groupOf("GET", "/api/v1/pets"));
+        assertEquals(Group.CRUD, groupOf("GET", "/api/v1/pets/5"));
+        assertEquals(Group.CRUD, groupOf("PUT", "/api/v1/pets"));
+        assertNull(groupOf("GET", "/actuator/health"));
+    }
+
+    @Test
+    void testFilter_RejectsWith503AndRetryAfterWhenFull() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        AtomicBoolean reachedChain = new AtomicBoolean();
+
+        filter.doFilter(request("GET", "/api/v1/pets"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(request("GET", "/api/v1/pets"), rejected,
+                        (nested, nestedResponse) -> reachedChain.set(true)));
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("7", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertFalse(reachedChain.get());
+        assertEquals(1, meterRegistry.counter("petshop.concurrency.rejected", "group", "list").count());
+        assertEquals(0, inFlight(Group.LIST));
+    }
+
+    @Test
+    void testFilter_OtherGroupsAreNotAffectedByAFullOne() throws Exception {
+        MockHttpServletResponse other = new MockHttpServletResponse();
+
+        filter.doFilter(request("GET", "/api/v1/pets"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(request("GET", "/api/v1/pets/5"), other,
+                        (nested, nestedResponse) -> {
+                        }));
+
+        assertEquals(200, other.getStatus());
+    }
+
+    @Test
+    void testFilter_AsyncRequestHoldsSlotUntilComplete() throws Exception {
+        MockHttpServletRequest request = request("POST", "/api/v1/uploads");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertEquals(1, inFlight(Group.IMAGE));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/uploads"), rejected, (req, res) -> {
+        });
+        assertEquals(503, rejected.getStatus());
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        asyncContext.complete();
+        asyncContext.complete();
+
+        assertEquals(0, inFlight(Group.IMAGE), "the slot is released exactly once");
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/uploads"), admitted, (req, res) -> {
+        });
+        assertEquals(200, admitted.getStatus());
+    }
+
+    @Test
+    void testFilter_ReleasesSlotWhenChainThrows() {
+        assertThrows(IOException.class, () -> filter.doFilter(request("GET", "/api/v1/pets"),
+                new MockHttpServletResponse(), (request, response) -> {
+                    throw new IOException("client went away");
+                }));
+
+        assertEquals(0, inFlight(Group.LIST));
+    }
+
+    private Group groupOf(String method, String path) throws Exception {
+        AtomicReference<Group> group = new AtomicReference<>();
+
+        filter.doFilter(request(method, path), new MockHttpServletResponse(), (request, response) -> {
+            for (Group candidate : Group.values()) {
+                if (inFlight(candidate) == 1)
+                    group.set(candidate);
+            }
+        });
+
+        return group.get();
+    }
+
+    private double inFlight(Group group) {
+        return meterRegistry.get("petshop.concurrency.in.flight")
+                .tag("group", group.name().toLowerCase())
+                .gauge()
+                .value();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
@@ -0,0 +1,62 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+    private static final long LATER = Long.MAX_VALUE;
+
+    @Test
+    void testGet_DropsExpiredEntry() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+        cache.put("a", "1", System.currentTimeMillis() - 1);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testPut_EvictsExpiredEntriesFirstWhenFull() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2);
+        cache.put("expired", "1", System.currentTimeMillis() - 1);
+        cache.put("a", "2", LATER);
+        cache.put("b", "3", LATER);
+
+        assertEquals(2, cache.size());
+        assertEquals("2", cache.get("a"));
+        assertEquals("3", cache.get("b"));
+    }
+
+    @Test
+    void testPut_StaysWithinMaxSize() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(100);
+        for (int i = 0; i < 1000; i++)
+            cache.put(i, i, LATER);
+
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    void testPut_ZeroSizeCachesNothing() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(0);
+        cache.put("a", "1", LATER);
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void testRemoveIf_MatchesOnValue() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+        cache.put("a", "keep", LATER);
+        cache.put("b", "drop", LATER);
+
+        cache.removeIf((key, value) -> value.equals("drop"));
+
+        assertEquals("keep", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FrequencySketchTest {
+
+    @Test
+    void testFrequency_CountsIncrements() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+
+        for (int i = 0; i < 5; i++)
+            sketch.increment("hot");
+        sketch.increment("cold");
+
+        assertEquals(5, sketch.frequency("hot"));
+        assertEquals(1, sketch.frequency("cold"));
+    }
+
+    @Test
+    void testFrequency_SaturatesAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+
+        for (int i = 0; i < 100; i++)
+            sketch.increment("hot");
+
+        assertEquals(15, sketch.frequency("hot"));
+    }
+
+    @Test
+    void testIncrement_AgesAfterSample() {
+        FrequencySketch sketch = new FrequencySketch(16);
+
+        for (int i = 0; i < 15; i++)
+            sketch.increment("hot");
+        // A 16-wide sketch halves every counter after 160 additions.
+        for (int i = 0; i < 1000 && sketch.frequency("hot") == 15; i++)
+            sketch.increment(i);
+
+        assertTrue(sketch.frequency("hot") < 15, "counters were not aged");
+    }
+}
@@ -0,0 +1,96 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+
+class JwtUtilTest {
+
+    private static final String SECRET_KEY = "SuaChaveSecretaMuitoSeguraParaJWT";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET_KEY, 100, 60);
+
+    @Test
+    void testVerify_SecondCallHitsCache() {
+        String token = jwtUtil.generateToken("admin", Map.of("role", "ADMIN"));
+
+        Claims first = jwtUtil.verify(token).orElseThrow();
+        Claims second = jwtUtil.verify(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals("admin", second.getSubject());
+        assertEquals("ADMIN", second.get("role"));
+    }
+
+    @Test
+    void testVerify_RemembersRejection() throws InterruptedException {
+        Date notBefore = new Date(System.currentTimeMillis() + 2000);
+        String token = sign(Jwts.builder().subject("admin").notBefore(notBefore).expiration(inOneHour()));
+
+        assertTrue(jwtUtil.verify(token).isEmpty());
+        sleepPast(notBefore);
+
+        assertTrue(jwtUtil.verify(token).isEmpty(), "rejection should be served from the cache");
+        assertTrue(new JwtUtil(SECRET_KEY, 100, 60).verify(token).isPresent());
+    }
+
+    @Test
+    void testVerify_DropsCachedClaimsAtExpiration() throws InterruptedException {
+        Date expiration = new Date(System.currentTimeMillis() + 2000);
+        String token = sign(Jwts.builder().subject("admin").expiration(expiration));
+
+        assertTrue(jwtUtil.verify(token).isPresent());
+        sleepPast(expiration);
+
+        assertTrue(jwtUtil.verify(token).isEmpty());
+    }
+
+    @Test
+    void testVerify_RejectsTokenWithoutSubject() {
+        Optional<Claims> claims = jwtUtil.verify(sign(Jwts.builder().expiration(inOneHour())));
+
+        assertTrue(claims.isEmpty());
+    }
+
+    @Test
+    void testVerify_RejectsTokenWithoutExpiration() {
+        Optional<Claims> claims = jwtUtil.verify(sign(Jwts.builder().subject("admin")));
+
+        assertTrue(claims.isEmpty());
+    }
+
+    @Test
+    void testVerify_RejectsTokenSignedWithAnotherKey() {
+        String token = new JwtUtil(SECRET_KEY + "-other", 100, 60).generateToken("admin", null);
+
+        assertTrue(jwtUtil.verify(token).isEmpty());
+    }
+
+    private String sign(JwtBuilder builder) {
+        return builder.signWith((SecretKey) jwtUtil.generateSecureKey()).compact();
+    }
+
+    private static Date inOneHour() {
+        return new Date(System.currentTimeMillis() + 60 * 60 * 1000);
+    }
+
+    // JWT dates have whole-second precision, so wait until the truncated
+    // instant has certainly passed.
+    private static void sleepPast(Date instant) throws InterruptedException {
+        long remaining = instant.getTime() + 1000 - System.currentTimeMillis();
+        if (remaining > 0)
+            Thread.sleep(remaining);
+    }
+}
@@ -0,0 +1,144 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedro.petshop.entities.Breed;
+import com.pedro.petshop.entities.Pet;
+
+class PartialUpdateTest {
+
+    @Test
+    void testCopy_CopiesNonNullPropertiesOnly() {
+        Pet target = pet(1L, "Rex", breed(1L, "Labrador"));
+        target.setBirthDate(LocalDate.of(2020, 1, 1));
+        Pet source = new Pet();
+        source.setName("Max");
+
+        assertTrue(PartialUpdate.copyNonNullProperties(source, target));
+
+        assertEquals("Max", target.getName());
+        assertEquals(LocalDate.of(2020, 1, 1), target.getBirthDate());
+    }
+
+    @Test
+    void testCopy_ReportsNoChangeForEqualValues() {
+        Pet target = pet(1L, "Rex", breed(1L, "Labrador"));
+        Pet source = pet(null, "Rex", null);
+
+        assertFalse(PartialUpdate.copyNonNullProperties(source, target));
+        assertFalse(PartialUpdate.copyNonNullProperties(new Pet(), target));
+    }
+
+    @Test
+    void testCopy_SkipsId() {
+        Pet target = pet(1L, "Rex", null);
+        Pet source = pet(2L, null, null);
+
+        assertFalse(PartialUpdate.copyNonNullProperties(source, target));
+
+        assertEquals(1L, target.getId());
+    }
+
+    @Test
+    void testCopy_ComparesAssociationsById() {
+        Breed current = breed(1L, "Labrador");
+        Pet target = pet(1L, "Rex", current);
+
+        assertFalse(PartialUpdate.copyNonNullProperties(pet(null, null, breed(1L, null)), target));
+        assertSame(current, target.getBreed());
+
+        Breed other = breed(2L, null);
+        assertTrue(PartialUpdate.copyNonNullProperties(pet(null, null, other), target));
+        assertSame(other, target.getBreed());
+    }
+
+    @Test
+    void testCopy_IgnoresAssociationWithoutId() {
+        Breed current = breed(1L, "Labrador");
+        Pet target = pet(1L, "Rex", current);
+
+        assertFalse(PartialUpdate.copyNonNullProperties(pet(null, null, breed(null, "Poodle")), target));
+
+        assertSame(current, target.getBreed());
+        assertEquals("Labrador", target.getBreed().getDescription());
+    }
+
+    @Test
+    void testCopy_SetsAssociationWhenTargetHasNone() {
+        Pet target = pet(1L, "Rex", null);
+        Breed breed = breed(1L, null);
+
+        assertTrue(PartialUpdate.copyNonNullProperties(pet(null, null, breed), target));
+
+        assertSame(breed, target.getBreed());
+    }
+
+    @Test
+    void testCopy_SkipsPropertiesWithoutGetterOrSetter() {
+        Sample target = new Sample("target");
+        Sample source = new Sample("source");
+        source.setName("renamed");
+        source.setWriteOnly("written");
+
+        assertTrue(PartialUpdate.copyNonNullProperties(source, target));
+
+        assertEquals("renamed", target.getName());
+        assertEquals("target", target.getReadOnly());
+        assertNull(target.writeOnly());
+    }
+
+    private static Pet pet(Long id, String name, Breed breed) {
+        Pet pet = new Pet();
+        pet.setId(id);
+        pet.setName(name);
+        pet.setBreed(breed);
+        return pet;
+    }
+
+    private static Breed breed(Long id, String description) {
+        Breed breed = new Breed();
+        breed.setId(id);
+        breed.setDescription(description);
+        return breed;
+    }
+
+    // Public so PartialUpdate's public lookup can see its accessors.
+    public static class Sample {
+
+        private String name;
+        private final String readOnly;
+        private String writeOnly;
+
+        public Sample(String readOnly) {
+            this.readOnly = readOnly;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getReadOnly() {
+            return readOnly;
+        }
+
+        public void setWriteOnly(String writeOnly) {
+            this.writeOnly = writeOnly;
+        }
+
+        String writeOnly() {
+            return writeOnly;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.pedro.petshop.configs;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Fails the test when its body issues more SQL statements (or touches more
+ * rows) than declared. Only the test method itself is measured, not
+ * {@code @BeforeEach} setup. On a class it applies to every test without its
+ * own budget. A non-zero budget also fails when nothing was counted, which
+ * catches a data source that is not wrapped for counting.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    int value();
+
+    long rows() default Long.MAX_VALUE;
+}
@@ -0,0 +1,51 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
+            .create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (budget(context).isPresent())
+            context.getStore(NAMESPACE).put(context.getUniqueId(), QueryCounter.start());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCounter counter = context.getStore(NAMESPACE).remove(context.getUniqueId(), QueryCounter.class);
+        if (counter == null)
+            return;
+
+        counter.close();
+        QueryBudget budget = budget(context).orElseThrow();
+
+        // Nothing counted under a non-zero budget means the counting proxy is
+        // not in front of the data source, not that the test was cheap.
+        if (counter.statements() == 0 && budget.value() > 0)
+            fail(String.format("%s issued no counted SQL statements; declare @QueryBudget(0) if that is expected",
+                    context.getDisplayName()));
+        if (counter.statements() > budget.value())
+            fail(String.format("%s issued %d SQL statements, budget is %d", context.getDisplayName(),
+                    counter.statements(), budget.value()));
+        if (counter.rows() > budget.rows())
+            fail(String.format("%s touched %d rows, budget is %d", context.getDisplayName(), counter.rows(),
+                    budget.rows()));
+    }
+
+    private static Optional<QueryBudget> budget(ExtensionContext context) {
+        Optional<QueryBudget> budget = AnnotationSupport.findAnnotation(context.getTestMethod(), QueryBudget.class);
+
+        return budget.isPresent() ? budget
+                : AnnotationSupport.findAnnotation(context.getTestClass(), QueryBudget.class);
+    }
+}
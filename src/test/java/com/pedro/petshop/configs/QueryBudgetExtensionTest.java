@@ -0,0 +1,99 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+class QueryBudgetExtensionTest {
+
+    private final QueryBudgetExtension extension = new QueryBudgetExtension();
+
+    @Test
+    void testOverBudget_Fails() throws Exception {
+        ExtensionContext context = context("twoStatements");
+
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> run(context, 3, 0));
+        assertTrue(error.getMessage().contains("issued 3 SQL statements, budget is 2"));
+    }
+
+    @Test
+    void testOverRowBudget_Fails() throws Exception {
+        ExtensionContext context = context("twoStatements");
+
+        assertThrows(AssertionFailedError.class, () -> run(context, 1, 11));
+    }
+
+    @Test
+    void testWithinBudget_Passes() throws Exception {
+        ExtensionContext context = context("twoStatements");
+
+        assertDoesNotThrow(() -> run(context, 2, 10));
+    }
+
+    @Test
+    void testNothingCounted_Fails() throws Exception {
+        ExtensionContext context = context("twoStatements");
+
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> run(context, 0, 0));
+        assertTrue(error.getMessage().contains("issued no counted SQL statements"));
+    }
+
+    @Test
+    void testNothingCounted_PassesUnderZeroBudget() throws Exception {
+        ExtensionContext context = context("noStatements");
+
+        assertDoesNotThrow(() -> run(context, 0, 0));
+    }
+
+    private void run(ExtensionContext context, int statements, long rows) {
+        extension.beforeTestExecution(context);
+
+        QueryCounter counter = QueryCounter.current();
+        for (int i = 0; i < statements; i++)
+            counter.statement(0);
+        counter.rows(rows);
+
+        extension.afterTestExecution(context);
+    }
+
+    private static ExtensionContext context(String method) throws NoSuchMethodException {
+        Map<Object, Object> values = new HashMap<>();
+        ExtensionContext.Store store = mock(ExtensionContext.Store.class);
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(store).put(any(), any());
+        when(store.remove(any(), eq(QueryCounter.class)))
+                .thenAnswer(invocation -> (QueryCounter) values.remove(invocation.getArgument(0)));
+
+        ExtensionContext context = mock(ExtensionContext.class);
+        when(context.getStore(any())).thenReturn(store);
+        when(context.getUniqueId()).thenReturn(method);
+        when(context.getDisplayName()).thenReturn(method + "()");
+        when(context.getTestMethod()).thenReturn(Optional.of(Samples.class.getDeclaredMethod(method)));
+        when(context.getTestClass()).thenReturn(Optional.of(Samples.class));
+        return context;
+    }
+
+    static class Samples {
+
+        @QueryBudget(value = 2, rows = 10)
+        void twoStatements() {
+        }
+
+        @QueryBudget(0)
+        void noStatements() {
+        }
+    }
+}
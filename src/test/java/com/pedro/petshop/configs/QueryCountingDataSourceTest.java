@@ -0,0 +1,26 @@
+package com.pedro.petshop.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class QueryCountingDataSourceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testApplicationDataSource_CountsStatements() {
+        try (QueryCounter counter = QueryCounter.start()) {
+            jdbcTemplate.queryForList("SELECT 1 UNION ALL SELECT 2", Integer.class);
+            jdbcTemplate.update("UPDATE image_blobs SET touched_at = touched_at WHERE FALSE");
+
+            assertEquals(2, counter.statements());
+            assertEquals(2, counter.rows());
+        }
+    }
+}
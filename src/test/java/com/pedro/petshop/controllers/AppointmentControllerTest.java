@@ -1,11 +1,17 @@
 package com.pedro.petshop.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,13 +26,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.pedro.petshop.configs.CustomAuthentication;
+import com.pedro.petshop.dtos.CursorPageDTO;
 import com.pedro.petshop.dtos.AppointmentDTO;
 import com.pedro.petshop.entities.Appointment;
 import com.pedro.petshop.enums.Role;
 import com.pedro.petshop.mappers.AppointmentMapper;
+import com.pedro.petshop.services.AppointmentExportService;
+import com.pedro.petshop.services.AppointmentExportService.Filter;
+import com.pedro.petshop.services.AppointmentExportService.Format;
 import com.pedro.petshop.services.AppointmentService;
+import com.pedro.petshop.services.PetService;
 
 @SpringBootTest
 class AppointmentControllerTest {
@@ -40,14 +52,18 @@ class AppointmentControllerTest {
     @MockitoBean
     private AppointmentService appointmentService;
 
+    @MockitoBean
+    private PetService petService;
+
+    @MockitoBean
+    private AppointmentExportService appointmentExportService;
+
     @Test
     void testGetAllAppointmentsPaged() {
         AppointmentDTO appointmentDTO1 = createAppointment(1L, "Checkup", 100.0);
         AppointmentDTO appointmentDTO2 = createAppointment(2L, "Vaccination", 50.0);
-        Appointment appointment1 = appointmentMapper.toEntity(appointmentDTO1);
-        Appointment appointment2 = appointmentMapper.toEntity(appointmentDTO2);
 
-        Page<Appointment> mockPage = new PageImpl<>(List.of(appointment1, appointment2), PageRequest.of(0, 10),
+        Page<AppointmentDTO> mockPage = new PageImpl<>(List.of(appointmentDTO1, appointmentDTO2), PageRequest.of(0, 10),
                 2);
 
         when(appointmentService.findAll(any(Pageable.class))).thenReturn(mockPage);
@@ -69,14 +85,48 @@ class AppointmentControllerTest {
         assertEquals(1, result.getTotalPages());
     }
 
+    @Test
+    void testGetAppointmentsByCursor() {
+        AppointmentDTO appointmentDTO1 = createAppointment(1L, "Checkup", 100.0);
+        AppointmentDTO appointmentDTO2 = createAppointment(2L, "Vaccination", 50.0);
+
+        CursorPageDTO<AppointmentDTO> mockPage = new CursorPageDTO<>(List.of(appointmentDTO1, appointmentDTO2), "next", true);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        when(appointmentService.findAllByCursor(null, 2)).thenReturn(Optional.of(mockPage));
+
+        ResponseEntity<CursorPageDTO<AppointmentDTO>> response = appointmentController.getAppointmentsByCursor(null, 2);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getContent().size());
+        assertEquals("next", response.getBody().getNextCursor());
+        assertTrue(response.getBody().isHasNext());
+    }
+
+    @Test
+    void testGetAppointmentsByCursor_InvalidCursor() {
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        when(appointmentService.getAllByUserCpfAndCursor("12345678900", "invalid", 20)).thenReturn(Optional.empty());
+
+        ResponseEntity<CursorPageDTO<AppointmentDTO>> response = appointmentController.getAppointmentsByCursor("invalid", 20);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void testGetAllAppointmentsByClientIdPaged() {
         AppointmentDTO appointmentDTO1 = createAppointment(1L, "Checkup", 100.0);
         AppointmentDTO appointmentDTO2 = createAppointment(2L, "Vaccination", 50.0);
-        Appointment appointment1 = appointmentMapper.toEntity(appointmentDTO1);
-        Appointment appointment2 = appointmentMapper.toEntity(appointmentDTO2);
 
-        Page<Appointment> mockPage = new PageImpl<>(List.of(appointment1, appointment2), PageRequest.of(0, 10),
+        Page<AppointmentDTO> mockPage = new PageImpl<>(List.of(appointmentDTO1, appointmentDTO2), PageRequest.of(0, 10),
                 2);
 
         when(appointmentService.findAllByClientId(eq(1L), any(Pageable.class))).thenReturn(mockPage);
@@ -102,10 +152,8 @@ class AppointmentControllerTest {
     void testGetAllAppointmentsByPetIdPaged() {
         AppointmentDTO appointmentDTO1 = createAppointment(1L, "Checkup", 100.0);
         AppointmentDTO appointmentDTO2 = createAppointment(2L, "Vaccination", 50.0);
-        Appointment appointment1 = appointmentMapper.toEntity(appointmentDTO1);
-        Appointment appointment2 = appointmentMapper.toEntity(appointmentDTO2);
 
-        Page<Appointment> mockPage = new PageImpl<>(List.of(appointment1, appointment2), PageRequest.of(0, 10),
+        Page<AppointmentDTO> mockPage = new PageImpl<>(List.of(appointmentDTO1, appointmentDTO2), PageRequest.of(0, 10),
                 2);
 
         when(appointmentService.findAllByPetId(eq(1L), any(Pageable.class))).thenReturn(mockPage);
@@ -127,6 +175,52 @@ class AppointmentControllerTest {
         assertEquals(1, result.getTotalPages());
     }
 
+    @Test
+    void testCreateAppointments() {
+        AppointmentDTO appointmentDTO1 = createAppointment(null, "Checkup", 100.0);
+        appointmentDTO1.setPetId(1L);
+        AppointmentDTO appointmentDTO2 = createAppointment(null, "Vaccination", 50.0);
+        appointmentDTO2.setPetId(1L);
+
+        when(appointmentService.createAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(petService.allOwnedByUserCpf(List.of(1L, 1L), "12345678900")).thenReturn(true);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<List<AppointmentDTO>> result = appointmentController.createAppointments(List.of(appointmentDTO1, appointmentDTO2));
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(2, result.getBody().size());
+        assertEquals("Vaccination", result.getBody().get(1).getDescription());
+    }
+
+    @Test
+    void testCreateAppointments_NotOwned() {
+        AppointmentDTO appointmentDTO1 = createAppointment(null, "Checkup", 100.0);
+        appointmentDTO1.setPetId(2L);
+
+        when(petService.allOwnedByUserCpf(List.of(2L), "12345678900")).thenReturn(false);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<List<AppointmentDTO>> result = appointmentController.createAppointments(List.of(appointmentDTO1));
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    @Test
+    void testCreateAppointments_EmptyList() {
+        ResponseEntity<List<AppointmentDTO>> result = appointmentController.createAppointments(List.of());
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
     @Test
     void testGetAppointmentById_AppointmentExists() {
         AppointmentDTO mockAppointmentDTO = createAppointment(1L, "Checkup", 100.0);
@@ -210,6 +304,51 @@ class AppointmentControllerTest {
         assertEquals(true, result);
     }
 
+    @Test
+    void testExportAppointments_ClientScopedToOwnCpf() throws IOException {
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<StreamingResponseBody> response = appointmentController.exportAppointments("csv", null, null,
+                3L, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getContentDisposition().getFilename().endsWith(".csv"));
+
+        OutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(appointmentExportService).export(new Filter("12345678900", 3L, null, null, null), Format.CSV, out);
+    }
+
+    @Test
+    void testExportAppointments_AdminNotScoped() throws IOException {
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        ResponseEntity<StreamingResponseBody> response = appointmentController.exportAppointments("NDJSON", from,
+                null, null, 7L);
+
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+
+        OutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(appointmentExportService).export(new Filter(null, null, 7L, from, null), Format.NDJSON, out);
+    }
+
+    @Test
+    void testExportAppointments_UnknownFormat() {
+        ResponseEntity<StreamingResponseBody> response = appointmentController.exportAppointments("xml", null, null,
+                null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     private AppointmentDTO createAppointment(Long id, String description, Double cost) {
         AppointmentDTO appointment = new AppointmentDTO();
         appointment.setId(id);
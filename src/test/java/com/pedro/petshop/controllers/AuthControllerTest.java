@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -80,7 +81,7 @@ class AuthControllerTest {
         mockUser.setRole(Role.CLIENT);
         mockUser.setCpf("12345678901");
 
-        when(userService.loginUser(loginDTO)).thenReturn(Optional.of(mockUser));
+        when(userService.loginUser(loginDTO)).thenReturn(CompletableFuture.completedFuture(Optional.of(mockUser)));
 
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", mockUser.getRole());
@@ -89,7 +90,7 @@ class AuthControllerTest {
         String mockToken = "mocked.jwt.token";
         when(jwtUtil.generateToken(loginDTO.getName(), claims)).thenReturn(mockToken);
 
-        ResponseEntity<TokenDTO> response = authController.login(loginDTO);
+        ResponseEntity<TokenDTO> response = authController.login(loginDTO).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         TokenDTO tokenDTO = Optional.ofNullable(response.getBody())
@@ -103,9 +104,9 @@ class AuthControllerTest {
         loginDTO.setName("John Doe");
         loginDTO.setPassword("password123");
 
-        when(userService.loginUser(loginDTO)).thenReturn(Optional.empty());
+        when(userService.loginUser(loginDTO)).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
-        ResponseEntity<TokenDTO> response = authController.login(loginDTO);
+        ResponseEntity<TokenDTO> response = authController.login(loginDTO).join();
 
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
     }
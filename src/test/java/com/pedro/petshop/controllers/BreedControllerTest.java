@@ -1,9 +1,12 @@
 package com.pedro.petshop.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import com.pedro.petshop.dtos.BreedDTO;
+import com.pedro.petshop.dtos.SerializedBodyDTO;
 import com.pedro.petshop.entities.Breed;
 import com.pedro.petshop.mappers.BreedMapper;
 import com.pedro.petshop.services.BreedService;
@@ -58,6 +62,40 @@ class BreedControllerTest {
         assertEquals(1, result.getTotalPages());
     }
 
+    @Test
+    void testGetBreedList() {
+        byte[] body = "[{\"id\":1,\"description\":\"Labrador\"}]".getBytes(StandardCharsets.UTF_8);
+        when(breedService.getSerializedList()).thenReturn(new SerializedBodyDTO(body, "\"abc\""));
+
+        ResponseEntity<byte[]> response = breedController.getBreedList(null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"abc\"", response.getHeaders().getETag());
+        assertArrayEquals(body, response.getBody());
+    }
+
+    @Test
+    void testGetBreedList_NotModified() {
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+        when(breedService.getSerializedList()).thenReturn(new SerializedBodyDTO(body, "\"abc\""));
+
+        ResponseEntity<byte[]> response = breedController.getBreedList("W/\"old\", \"abc\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"abc\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testGetBreedList_EtagChanged() {
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+        when(breedService.getSerializedList()).thenReturn(new SerializedBodyDTO(body, "\"abc\""));
+
+        ResponseEntity<byte[]> response = breedController.getBreedList("\"old\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
     @Test
     void testGetBreedById_BreedExists() {
         BreedDTO mockBreedDTO = createBreed(1L, "Labrador");
@@ -3,12 +3,14 @@ package com.pedro.petshop.controllers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,16 +23,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import com.pedro.petshop.configs.CustomAuthentication;
 import com.pedro.petshop.dtos.ClientDTO;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.UploadDTO;
 import com.pedro.petshop.entities.Client;
 import com.pedro.petshop.enums.Role;
 import com.pedro.petshop.mappers.ClientMapper;
 import com.pedro.petshop.services.ClientService;
+import com.pedro.petshop.services.ImageUploadService;
 
 @SpringBootTest
 class ClientControllerTest {
@@ -44,13 +50,15 @@ class ClientControllerTest {
     @MockitoBean
     private ClientService clientService;
 
+    @MockitoBean
+    private ImageUploadService imageUploadService;
+
     @Test
     void testUploadProfileImage_Success() throws IOException {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "image.jpg", MediaType.IMAGE_JPEG_VALUE, "test image content".getBytes());
 
-        when(clientService.existsByIdAndCpf(1L, "12345678900")).thenReturn(true);
-        when(clientService.uploadImage(1L, file)).thenReturn(true);
+        when(clientService.uploadImageByIdAndCpf(1L, "12345678900", file)).thenReturn(true);
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
@@ -67,7 +75,7 @@ class ClientControllerTest {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "image.jpg", MediaType.IMAGE_JPEG_VALUE, "test image content".getBytes());
 
-        when(clientService.existsByIdAndCpf(1L, "12345678900")).thenReturn(false);
+        when(clientService.uploadImageByIdAndCpf(1L, "12345678900", file)).thenReturn(false);
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
@@ -84,8 +92,7 @@ class ClientControllerTest {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "image.jpg", MediaType.IMAGE_JPEG_VALUE, "test image content".getBytes());
 
-        when(clientService.existsByIdAndCpf(1L, "12345678900")).thenReturn(true);
-        when(clientService.uploadImage(1L, file)).thenReturn(false);
+        when(clientService.uploadImageByIdAndCpf(1L, "12345678900", file)).thenReturn(false);
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
@@ -102,33 +109,57 @@ class ClientControllerTest {
         Resource mockResource = mock(Resource.class);
         when(mockResource.getFilename()).thenReturn("image.jpg");
 
-        when(clientService.existsByIdAndCpf(1L, "12345678900")).thenReturn(true);
-        when(clientService.getProfileImage(1L)).thenReturn(Optional.of(mockResource));
+        ImageDTO image = new ImageDTO(mockResource, MediaType.IMAGE_PNG_VALUE, "abc123", 1700000000000L);
+
+        when(clientService.getProfileImageByIdAndCpf(1L, "12345678900", null)).thenReturn(Optional.of(image));
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
         when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
         SecurityContextHolder.getContext().setAuthentication(customAuthentication);
 
-        ResponseEntity<Resource> response = clientController.getProfileImage(1L);
+        ResponseEntity<Resource> response = clientController.getProfileImage(1L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Resource body = Optional.ofNullable(response.getBody())
                 .orElseThrow(() -> new AssertionError("Response body should not be null"));
         assertEquals("image.jpg", body.getFilename());
+        assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+        assertEquals("\"abc123\"", response.getHeaders().getETag());
+        assertEquals(1700000000000L, response.getHeaders().getLastModified());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testGetProfileImage_Thumbnail() {
+        Resource mockResource = mock(Resource.class);
+        when(mockResource.getFilename()).thenReturn("image.jpg.64.jpg");
+        ImageDTO image = new ImageDTO(mockResource, MediaType.IMAGE_JPEG_VALUE, "abc123-64", 1700000000000L);
+
+        when(clientService.getProfileImage(1L, 48)).thenReturn(Optional.of(image));
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<Resource> response = clientController.getProfileImage(1L, 48);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(MediaType.IMAGE_JPEG, response.getHeaders().getContentType());
+        assertEquals("\"abc123-64\"", response.getHeaders().getETag());
     }
 
     @Test
     void testGetProfileImage_ClientNotFound() {
-        when(clientService.existsByIdAndCpf(1L, "12345678900")).thenReturn(false);
+        when(clientService.getProfileImageByIdAndCpf(1L, "12345678900", null)).thenReturn(Optional.empty());
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
         when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
         SecurityContextHolder.getContext().setAuthentication(customAuthentication);
 
-        ResponseEntity<Resource> response = clientController.getProfileImage(1L);
+        ResponseEntity<Resource> response = clientController.getProfileImage(1L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
@@ -136,28 +167,94 @@ class ClientControllerTest {
 
     @Test
     void testGetProfileImage_ResourceNotFound() {
-        when(clientService.existsByIdAndCpf(1L, "12345678900")).thenReturn(true);
-        when(clientService.getProfileImage(1L)).thenReturn(Optional.empty());
+        when(clientService.getProfileImageByIdAndCpf(1L, "12345678900", null)).thenReturn(Optional.empty());
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
         when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
         SecurityContextHolder.getContext().setAuthentication(customAuthentication);
 
-        ResponseEntity<Resource> response = clientController.getProfileImage(1L);
+        ResponseEntity<Resource> response = clientController.getProfileImage(1L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
 
+    @Test
+    void testStreamProfileImage_Success() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/clients/1/image");
+        UploadDTO upload = new UploadDTO(null, 18L, 18L, "abc123");
+
+        when(clientService.existsByIdAndCpf(1L, "12345678900")).thenReturn(true);
+        when(imageUploadService.receive(eq(request), any())).thenReturn(CompletableFuture.completedFuture(upload));
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<UploadDTO> response = clientController.streamProfileImage(1L, request).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(upload, response.getBody());
+    }
+
+    @Test
+    void testStreamProfileImage_NotFound() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/clients/1/image");
+
+        when(clientService.existsByIdAndCpf(1L, "12345678900")).thenReturn(false);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<UploadDTO> response = clientController.streamProfileImage(1L, request).join();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testCreateImageUpload_Success() {
+        UploadDTO upload = new UploadDTO("upload-1", 0L, 2048L, null);
+
+        when(clientService.existsById(1L)).thenReturn(true);
+        when(imageUploadService.createSession(eq(2048L), eq("admin@petshop.com"), any())).thenReturn(upload);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getName()).thenReturn("admin@petshop.com");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<UploadDTO> response = clientController.createImageUpload(1L, 2048L);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("/api/v1/uploads/upload-1", response.getHeaders().getLocation().toString());
+        assertEquals("0", response.getHeaders().getFirst(ImageUploadController.UPLOAD_OFFSET));
+        assertEquals(upload, response.getBody());
+    }
+
+    @Test
+    void testCreateImageUpload_NotFound() {
+        when(clientService.existsById(1L)).thenReturn(false);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getName()).thenReturn("admin@petshop.com");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<UploadDTO> response = clientController.createImageUpload(1L, 2048L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
     @Test
     void testGetAllClients() {
         ClientDTO breedDTO1 = createClient(1L, "John Doe", "12345678900");
         ClientDTO breedDTO2 = createClient(2L, "Jane Doe", "98765432100");
-        Client breed1 = clientMapper.toEntity(breedDTO1);
-        Client breed2 = clientMapper.toEntity(breedDTO2);
 
-        Page<Client> mockPage = new PageImpl<>(List.of(breed1, breed2), PageRequest.of(0, 10), 2);
+        Page<ClientDTO> mockPage = new PageImpl<>(List.of(breedDTO1, breedDTO2), PageRequest.of(0, 10), 2);
 
         when(clientService.findAll(any(Pageable.class))).thenReturn(mockPage);
 
@@ -0,0 +1,83 @@
+package com.pedro.petshop.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.services.ImageStoreService;
+
+@SpringBootTest
+class ImageControllerTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Autowired
+    private ImageController imageController;
+
+    @MockitoBean
+    private ImageStoreService imageStoreService;
+
+    @Test
+    void testGetImage_Immutable() {
+        Resource mockResource = mock(Resource.class);
+        ImageDTO image = new ImageDTO(mockResource, MediaType.IMAGE_JPEG_VALUE, HASH, 1700000000000L);
+
+        when(imageStoreService.open(HASH, null)).thenReturn(Optional.of(image));
+
+        ResponseEntity<Resource> response = imageController.getImage(HASH, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.IMAGE_JPEG, response.getHeaders().getContentType());
+        assertEquals("\"" + HASH + "\"", response.getHeaders().getETag());
+        assertEquals("max-age=31536000, private, immutable", response.getHeaders().getCacheControl());
+        assertEquals("nosniff", response.getHeaders().getFirst("X-Content-Type-Options"));
+    }
+
+    @Test
+    void testGetImage_Variant() {
+        Resource mockResource = mock(Resource.class);
+        ImageDTO image = new ImageDTO(mockResource, MediaType.IMAGE_JPEG_VALUE, HASH + "-256", 1700000000000L);
+
+        when(imageStoreService.open(HASH, 200)).thenReturn(Optional.of(image));
+
+        ResponseEntity<Resource> response = imageController.getImage(HASH, 200);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"" + HASH + "-256\"", response.getHeaders().getETag());
+        assertEquals("max-age=31536000, private, immutable", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testGetImage_VariantNotRenderedYet() {
+        Resource mockResource = mock(Resource.class);
+        ImageDTO image = new ImageDTO(mockResource, MediaType.IMAGE_JPEG_VALUE, HASH, 1700000000000L);
+
+        when(imageStoreService.open(HASH, 64)).thenReturn(Optional.of(image));
+
+        ResponseEntity<Resource> response = imageController.getImage(HASH, 64);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testGetImage_NotFound() {
+        when(imageStoreService.open("missing", null)).thenReturn(Optional.empty());
+
+        ResponseEntity<Resource> response = imageController.getImage("missing", null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -0,0 +1,113 @@
+package com.pedro.petshop.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.pedro.petshop.configs.CustomAuthentication;
+import com.pedro.petshop.dtos.UploadDTO;
+import com.pedro.petshop.services.ImageUploadService;
+
+@SpringBootTest
+class ImageUploadControllerTest {
+
+    private static final String OWNER = "client@petshop.com";
+
+    @Autowired
+    private ImageUploadController imageUploadController;
+
+    @MockitoBean
+    private ImageUploadService imageUploadService;
+
+    @BeforeEach
+    void authenticate() {
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getName()).thenReturn(OWNER);
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+    }
+
+    @Test
+    void testGetUpload_Success() {
+        UploadDTO upload = new UploadDTO("upload-1", 1024L, 4096L, null);
+
+        when(imageUploadService.findSession("upload-1", OWNER)).thenReturn(Optional.of(upload));
+
+        ResponseEntity<UploadDTO> response = imageUploadController.getUpload("upload-1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("1024", response.getHeaders().getFirst(ImageUploadController.UPLOAD_OFFSET));
+        assertEquals("4096", response.getHeaders().getFirst(ImageUploadController.UPLOAD_LENGTH));
+        assertEquals("no-store", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testGetUpload_NotFound() {
+        when(imageUploadService.findSession("missing", OWNER)).thenReturn(Optional.empty());
+
+        ResponseEntity<UploadDTO> response = imageUploadController.getUpload("missing");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testUploadChunk_Partial() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/uploads/upload-1");
+        UploadDTO upload = new UploadDTO("upload-1", 2048L, 4096L, null);
+
+        when(imageUploadService.append("upload-1", OWNER, 1024L, request))
+                .thenReturn(CompletableFuture.completedFuture(upload));
+
+        ResponseEntity<UploadDTO> response = imageUploadController.uploadChunk("upload-1", 1024L, request).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("2048", response.getHeaders().getFirst(ImageUploadController.UPLOAD_OFFSET));
+        assertNull(response.getBody().getImage());
+    }
+
+    @Test
+    void testUploadChunk_Complete() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/uploads/upload-1");
+        UploadDTO upload = new UploadDTO("upload-1", 4096L, 4096L, "abc123");
+
+        when(imageUploadService.append("upload-1", OWNER, 2048L, request))
+                .thenReturn(CompletableFuture.completedFuture(upload));
+
+        ResponseEntity<UploadDTO> response = imageUploadController.uploadChunk("upload-1", 2048L, request).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("4096", response.getHeaders().getFirst(ImageUploadController.UPLOAD_OFFSET));
+        assertEquals("abc123", response.getBody().getImage());
+    }
+
+    @Test
+    void testCancelUpload_Success() {
+        when(imageUploadService.cancel("upload-1", OWNER)).thenReturn(true);
+
+        ResponseEntity<Void> response = imageUploadController.cancelUpload("upload-1");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    }
+
+    @Test
+    void testCancelUpload_NotFound() {
+        when(imageUploadService.cancel("missing", OWNER)).thenReturn(false);
+
+        ResponseEntity<Void> response = imageUploadController.cancelUpload("missing");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -0,0 +1,56 @@
+package com.pedro.petshop.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.pedro.petshop.dtos.ImportErrorDTO;
+import com.pedro.petshop.dtos.ImportResultDTO;
+import com.pedro.petshop.services.ImportService;
+import com.pedro.petshop.services.ImportService.Kind;
+
+@SpringBootTest
+class ImportControllerTest {
+
+    @Autowired
+    private ImportController importController;
+
+    @MockitoBean
+    private ImportService importService;
+
+    @Test
+    void testImportCsv() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("ref,name,breedId,clientRef\nrex,Rex,1,c1\n,Mia,x,c1\n".getBytes());
+
+        when(importService.importCsv(eq(Kind.PETS), any())).thenReturn(new ImportResultDTO("pets", 1, 1,
+                List.of(new ImportErrorDTO(3, "breedId must be a positive integer"))));
+
+        ResponseEntity<ImportResultDTO> response = importController.importCsv("Pets", request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getImported());
+        assertEquals(3, response.getBody().getErrors().get(0).getLine());
+    }
+
+    @Test
+    void testImportCsv_UnknownKind() throws IOException {
+        ResponseEntity<ImportResultDTO> response = importController.importCsv("breeds", new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verifyNoInteractions(importService);
+    }
+}
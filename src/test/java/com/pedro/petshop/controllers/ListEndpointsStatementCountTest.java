@@ -0,0 +1,239 @@
+package com.pedro.petshop.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pedro.petshop.configs.CustomAuthentication;
+import com.pedro.petshop.configs.QueryBudget;
+import com.pedro.petshop.entities.Address;
+import com.pedro.petshop.entities.Appointment;
+import com.pedro.petshop.entities.Breed;
+import com.pedro.petshop.entities.Client;
+import com.pedro.petshop.entities.Contact;
+import com.pedro.petshop.entities.Pet;
+import com.pedro.petshop.entities.User;
+import com.pedro.petshop.enums.Role;
+import com.pedro.petshop.repositories.AddressRepository;
+import com.pedro.petshop.repositories.AppointmentRepository;
+import com.pedro.petshop.repositories.BreedRepository;
+import com.pedro.petshop.repositories.ClientRepository;
+import com.pedro.petshop.repositories.ContactRepository;
+import com.pedro.petshop.repositories.PetRepository;
+import com.pedro.petshop.repositories.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ListEndpointsStatementCountTest {
+
+    private static final String CPF = "98765432100";
+    private static final int PAGE_STATEMENTS = 2;
+
+    @Autowired
+    private PetController petController;
+
+    @Autowired
+    private AppointmentController appointmentController;
+
+    @Autowired
+    private ClientController clientController;
+
+    @Autowired
+    private ContactController contactController;
+
+    @Autowired
+    private AddressController addressController;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Client> clients;
+    private List<Pet> pets;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User user = new User();
+        user.setCpf(CPF);
+        user.setName("statement_count_user");
+        user.setRole(Role.CLIENT);
+        user.setPassword("password");
+        userRepository.save(user);
+
+        Breed breed = new Breed();
+        breed.setDescription("Statement Count Breed");
+        breedRepository.save(breed);
+
+        clients = new ArrayList<>();
+        pets = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            Client client = new Client();
+            client.setName("Client " + i);
+            client.setCpf(CPF);
+            client.setRegistrationDate(LocalDateTime.now());
+            clients.add(clientRepository.save(client));
+
+            Contact contact = new Contact();
+            contact.setClient(client);
+            contact.setType("EMAIL");
+            contact.setValue("client" + i + "@petshop.com");
+            contactRepository.save(contact);
+
+            Address address = new Address();
+            address.setClient(client);
+            address.setStreet("Street " + i);
+            address.setCity("City");
+            addressRepository.save(address);
+
+            for (int j = 0; j < 2; j++) {
+                Pet pet = new Pet();
+                pet.setClient(client);
+                pet.setBreed(breed);
+                pet.setName("Pet " + i + j);
+                pet.setBirthDate(LocalDate.of(2020, 1, 1));
+                pets.add(petRepository.save(pet));
+
+                for (int k = 0; k < 2; k++) {
+                    Appointment appointment = new Appointment();
+                    appointment.setPet(pet);
+                    appointment.setDescription("Appointment " + k);
+                    appointment.setCost(100.0);
+                    appointment.setDate(LocalDateTime.now().plusDays(k));
+                    appointmentRepository.save(appointment);
+                }
+            }
+        }
+
+        entityManager.flush();
+    }
+
+    @Test
+    @QueryBudget(2 * PAGE_STATEMENTS)
+    void testGetAllPets_StatementCount() {
+        assertStatements(Role.ADMIN, () -> petController.getAllPets(page()));
+        assertStatements(Role.CLIENT, () -> petController.getAllPets(page()));
+    }
+
+    @Test
+    @QueryBudget(2 * PAGE_STATEMENTS)
+    void testGetPetsByClientId_StatementCount() {
+        Long clientId = clients.get(0).getId();
+
+        assertStatements(Role.ADMIN, () -> petController.getPetsByClientId(clientId, PageRequest.of(0, 1)));
+        assertStatements(Role.CLIENT, () -> petController.getPetsByClientId(clientId, PageRequest.of(0, 1)));
+    }
+
+    @Test
+    @QueryBudget(2 * PAGE_STATEMENTS)
+    void testGetAllAppointments_StatementCount() {
+        assertStatements(Role.ADMIN, () -> appointmentController.getAllAppointments(page()));
+        assertStatements(Role.CLIENT, () -> appointmentController.getAllAppointments(page()));
+    }
+
+    @Test
+    @QueryBudget(2 * PAGE_STATEMENTS)
+    void testGetAllAppointmentsByClientId_StatementCount() {
+        Long clientId = clients.get(0).getId();
+
+        assertStatements(Role.ADMIN, () -> appointmentController.getAllAppointmentsByClientId(clientId, page()));
+        assertStatements(Role.CLIENT, () -> appointmentController.getAllAppointmentsByClientId(clientId, page()));
+    }
+
+    @Test
+    @QueryBudget(2 * PAGE_STATEMENTS)
+    void testGetAllAppointmentsByPetId_StatementCount() {
+        Long petId = pets.get(0).getId();
+
+        assertStatements(Role.ADMIN,
+                () -> appointmentController.getAllAppointmentsByPetId(petId, PageRequest.of(0, 1)));
+        assertStatements(Role.CLIENT,
+                () -> appointmentController.getAllAppointmentsByPetId(petId, PageRequest.of(0, 1)));
+    }
+
+    @Test
+    @QueryBudget(2 * PAGE_STATEMENTS)
+    void testGetAllClients_StatementCount() {
+        assertStatements(Role.ADMIN, () -> clientController.getAllClients(page()));
+        assertStatements(Role.CLIENT, () -> clientController.getAllClients(page()));
+    }
+
+    @Test
+    @QueryBudget(2 * PAGE_STATEMENTS)
+    void testGetAllContacts_StatementCount() {
+        assertStatements(Role.ADMIN, () -> contactController.getAllContacts(page()));
+        assertStatements(Role.CLIENT, () -> contactController.getAllContacts(page()));
+    }
+
+    @Test
+    @QueryBudget(2 * PAGE_STATEMENTS)
+    void testGetAllAddresses_StatementCount() {
+        assertStatements(Role.ADMIN, () -> addressController.getAllAddresses(page()));
+        assertStatements(Role.CLIENT, () -> addressController.getAllAddresses(page()));
+    }
+
+    private Pageable page() {
+        return PageRequest.of(0, 2);
+    }
+
+    private void assertStatements(Role role, Runnable listCall) {
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn(CPF);
+        when(customAuthentication.getRole()).thenReturn(role.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        entityManager.clear();
+        statistics.clear();
+
+        listCall.run();
+
+        assertEquals(PAGE_STATEMENTS, statistics.getPrepareStatementCount(),
+                role + " list endpoint issued extra statements");
+    }
+}
@@ -2,6 +2,7 @@ package com.pedro.petshop.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -11,6 +12,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,15 +25,21 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import com.pedro.petshop.configs.CustomAuthentication;
+import com.pedro.petshop.dtos.CursorPageDTO;
+import com.pedro.petshop.dtos.ImageDTO;
 import com.pedro.petshop.dtos.PetDTO;
+import com.pedro.petshop.dtos.UploadDTO;
 import com.pedro.petshop.entities.Pet;
 import com.pedro.petshop.enums.Role;
 import com.pedro.petshop.mappers.PetMapper;
+import com.pedro.petshop.services.ClientService;
+import com.pedro.petshop.services.ImageUploadService;
 import com.pedro.petshop.services.PetService;
 
 @SpringBootTest
@@ -46,13 +54,18 @@ class PetControllerTest {
     @MockitoBean
     private PetService petService;
 
+    @MockitoBean
+    private ClientService clientService;
+
+    @MockitoBean
+    private ImageUploadService imageUploadService;
+
     @Test
     void testUploadProfileImage_Success() throws IOException {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "image.jpg", MediaType.IMAGE_JPEG_VALUE, "test image content".getBytes());
 
-        when(petService.existsByIdAndUserCpf(1L, "12345678900")).thenReturn(true);
-        when(petService.uploadImage(1L, file)).thenReturn(true);
+        when(petService.uploadImageByIdAndUserCpf(1L, "12345678900", file)).thenReturn(true);
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
@@ -69,7 +82,7 @@ class PetControllerTest {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "image.jpg", MediaType.IMAGE_JPEG_VALUE, "test image content".getBytes());
 
-        when(petService.existsByIdAndUserCpf(1L, "12345678900")).thenReturn(false);
+        when(petService.uploadImageByIdAndUserCpf(1L, "12345678900", file)).thenReturn(false);
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
@@ -86,8 +99,7 @@ class PetControllerTest {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "image.jpg", MediaType.IMAGE_JPEG_VALUE, "test image content".getBytes());
 
-        when(petService.existsByIdAndUserCpf(1L, "12345678900")).thenReturn(true);
-        when(petService.uploadImage(1L, file)).thenReturn(false);
+        when(petService.uploadImageByIdAndUserCpf(1L, "12345678900", file)).thenReturn(false);
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
@@ -104,33 +116,57 @@ class PetControllerTest {
         Resource mockResource = mock(Resource.class);
         when(mockResource.getFilename()).thenReturn("image.jpg");
 
-        when(petService.existsByIdAndUserCpf(1L, "12345678900")).thenReturn(true);
-        when(petService.getProfileImage(1L)).thenReturn(Optional.of(mockResource));
+        ImageDTO image = new ImageDTO(mockResource, MediaType.IMAGE_PNG_VALUE, "abc123", 1700000000000L);
+
+        when(petService.getProfileImageByIdAndUserCpf(1L, "12345678900", null)).thenReturn(Optional.of(image));
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
         when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
         SecurityContextHolder.getContext().setAuthentication(customAuthentication);
 
-        ResponseEntity<Resource> response = petController.getProfileImage(1L);
+        ResponseEntity<Resource> response = petController.getProfileImage(1L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Resource body = Optional.ofNullable(response.getBody())
                 .orElseThrow(() -> new AssertionError("Response body should not be null"));
         assertEquals("image.jpg", body.getFilename());
+        assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+        assertEquals("\"abc123\"", response.getHeaders().getETag());
+        assertEquals(1700000000000L, response.getHeaders().getLastModified());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testGetProfileImage_Thumbnail() {
+        Resource mockResource = mock(Resource.class);
+        when(mockResource.getFilename()).thenReturn("image.jpg.64.jpg");
+        ImageDTO image = new ImageDTO(mockResource, MediaType.IMAGE_JPEG_VALUE, "abc123-64", 1700000000000L);
+
+        when(petService.getProfileImage(1L, 48)).thenReturn(Optional.of(image));
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<Resource> response = petController.getProfileImage(1L, 48);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(MediaType.IMAGE_JPEG, response.getHeaders().getContentType());
+        assertEquals("\"abc123-64\"", response.getHeaders().getETag());
     }
 
     @Test
     void testGetProfileImage_ClientNotFound() {
-        when(petService.existsByIdAndUserCpf(1L, "12345678900")).thenReturn(false);
+        when(petService.getProfileImageByIdAndUserCpf(1L, "12345678900", null)).thenReturn(Optional.empty());
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
         when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
         SecurityContextHolder.getContext().setAuthentication(customAuthentication);
 
-        ResponseEntity<Resource> response = petController.getProfileImage(1L);
+        ResponseEntity<Resource> response = petController.getProfileImage(1L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
@@ -138,20 +174,88 @@ class PetControllerTest {
 
     @Test
     void testGetProfileImage_ResourceNotFound() {
-        when(petService.existsByIdAndUserCpf(1L, "12345678900")).thenReturn(true);
-        when(petService.getProfileImage(1L)).thenReturn(Optional.empty());
+        when(petService.getProfileImageByIdAndUserCpf(1L, "12345678900", null)).thenReturn(Optional.empty());
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
         when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
         SecurityContextHolder.getContext().setAuthentication(customAuthentication);
 
-        ResponseEntity<Resource> response = petController.getProfileImage(1L);
+        ResponseEntity<Resource> response = petController.getProfileImage(1L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
 
+    @Test
+    void testStreamProfileImage_Success() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/pets/1/image");
+        UploadDTO upload = new UploadDTO(null, 18L, 18L, "abc123");
+
+        when(petService.existsByIdAndUserCpf(1L, "12345678900")).thenReturn(true);
+        when(imageUploadService.receive(eq(request), any())).thenReturn(CompletableFuture.completedFuture(upload));
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<UploadDTO> response = petController.streamProfileImage(1L, request).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(upload, response.getBody());
+    }
+
+    @Test
+    void testStreamProfileImage_NotFound() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/pets/1/image");
+
+        when(petService.existsByIdAndUserCpf(1L, "12345678900")).thenReturn(false);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<UploadDTO> response = petController.streamProfileImage(1L, request).join();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testCreateImageUpload_Success() {
+        UploadDTO upload = new UploadDTO("upload-1", 0L, 2048L, null);
+
+        when(petService.existsById(1L)).thenReturn(true);
+        when(imageUploadService.createSession(eq(2048L), eq("admin@petshop.com"), any())).thenReturn(upload);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getName()).thenReturn("admin@petshop.com");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<UploadDTO> response = petController.createImageUpload(1L, 2048L);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("/api/v1/uploads/upload-1", response.getHeaders().getLocation().toString());
+        assertEquals("0", response.getHeaders().getFirst(ImageUploadController.UPLOAD_OFFSET));
+        assertEquals(upload, response.getBody());
+    }
+
+    @Test
+    void testCreateImageUpload_NotFound() {
+        when(petService.existsById(1L)).thenReturn(false);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getName()).thenReturn("admin@petshop.com");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<UploadDTO> response = petController.createImageUpload(1L, 2048L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
     @Test
     void testCreatePet() {
         PetDTO mockPetDTO = createPet(null, "Buddy", LocalDate.of(2020, 5, 15));
@@ -174,6 +278,52 @@ class PetControllerTest {
         assertEquals(LocalDate.of(2020, 5, 15), body.getBirthDate());
     }
 
+    @Test
+    void testCreatePets() {
+        PetDTO petDTO1 = createPet(null, "Buddy", LocalDate.of(2020, 5, 15));
+        petDTO1.setClientId(1L);
+        PetDTO petDTO2 = createPet(null, "Bella", LocalDate.of(2019, 8, 12));
+        petDTO2.setClientId(1L);
+
+        when(petService.createAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(clientService.allOwnedByCpf(List.of(1L, 1L), "12345678900")).thenReturn(true);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<List<PetDTO>> result = petController.createPets(List.of(petDTO1, petDTO2));
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(2, result.getBody().size());
+        assertEquals("Bella", result.getBody().get(1).getName());
+    }
+
+    @Test
+    void testCreatePets_NotOwned() {
+        PetDTO petDTO1 = createPet(null, "Buddy", LocalDate.of(2020, 5, 15));
+        petDTO1.setClientId(2L);
+
+        when(clientService.allOwnedByCpf(List.of(2L), "12345678900")).thenReturn(false);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        ResponseEntity<List<PetDTO>> result = petController.createPets(List.of(petDTO1));
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    @Test
+    void testCreatePets_EmptyList() {
+        ResponseEntity<List<PetDTO>> result = petController.createPets(List.of());
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
     @Test
     void testGetPetById_PetExists() {
         PetDTO mockPetDTO = createPet(null, "Buddy", LocalDate.of(2020, 5, 15));
@@ -207,10 +357,8 @@ class PetControllerTest {
     void testGetAllPets() {
         PetDTO petDTO1 = createPet(1L, "Buddy", LocalDate.of(2020, 5, 15));
         PetDTO petDTO2 = createPet(2L, "Bella", LocalDate.of(2019, 8, 12));
-        Pet pet1 = petMapper.toEntity(petDTO1);
-        Pet pet2 = petMapper.toEntity(petDTO2);
 
-        Page<Pet> mockPage = new PageImpl<>(List.of(pet1, pet2), PageRequest.of(0, 10), 2);
+        Page<PetDTO> mockPage = new PageImpl<>(List.of(petDTO1, petDTO2), PageRequest.of(0, 10), 2);
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
         when(customAuthentication.getCpf()).thenReturn("12345678900");
@@ -227,14 +375,48 @@ class PetControllerTest {
         assertEquals("Bella", result.getContent().get(1).getName());
     }
 
+    @Test
+    void testGetPetsByCursor() {
+        PetDTO petDTO1 = createPet(1L, "Buddy", LocalDate.of(2020, 5, 15));
+        PetDTO petDTO2 = createPet(2L, "Bella", LocalDate.of(2019, 8, 12));
+
+        CursorPageDTO<PetDTO> mockPage = new CursorPageDTO<>(List.of(petDTO1, petDTO2), "next", true);
+
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.ADMIN.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        when(petService.findAllByCursor(null, 2)).thenReturn(Optional.of(mockPage));
+
+        ResponseEntity<CursorPageDTO<PetDTO>> response = petController.getPetsByCursor(null, 2);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getContent().size());
+        assertEquals("next", response.getBody().getNextCursor());
+        assertTrue(response.getBody().isHasNext());
+    }
+
+    @Test
+    void testGetPetsByCursor_InvalidCursor() {
+        CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
+        when(customAuthentication.getCpf()).thenReturn("12345678900");
+        when(customAuthentication.getRole()).thenReturn(Role.CLIENT.toString());
+        SecurityContextHolder.getContext().setAuthentication(customAuthentication);
+
+        when(petService.getAllByUserCpfAndCursor("12345678900", "invalid", 20)).thenReturn(Optional.empty());
+
+        ResponseEntity<CursorPageDTO<PetDTO>> response = petController.getPetsByCursor("invalid", 20);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void testGetPetsByClientId() {
         PetDTO petDTO1 = createPet(1L, "Buddy", LocalDate.of(2020, 5, 15));
         PetDTO petDTO2 = createPet(2L, "Bella", LocalDate.of(2019, 8, 12));
-        Pet pet1 = petMapper.toEntity(petDTO1);
-        Pet pet2 = petMapper.toEntity(petDTO2);
 
-        Page<Pet> mockPage = new PageImpl<>(List.of(pet1, pet2), PageRequest.of(0,
+        Page<PetDTO> mockPage = new PageImpl<>(List.of(petDTO1, petDTO2), PageRequest.of(0,
                 10), 2);
 
         CustomAuthentication customAuthentication = mock(CustomAuthentication.class);
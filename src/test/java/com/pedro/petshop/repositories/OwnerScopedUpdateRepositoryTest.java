@@ -0,0 +1,166 @@
+package com.pedro.petshop.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pedro.petshop.entities.Address;
+import com.pedro.petshop.entities.Appointment;
+import com.pedro.petshop.entities.Breed;
+import com.pedro.petshop.entities.Client;
+import com.pedro.petshop.entities.Contact;
+import com.pedro.petshop.entities.Pet;
+import com.pedro.petshop.entities.User;
+import com.pedro.petshop.enums.Role;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class OwnerScopedUpdateRepositoryTest {
+
+    private static final String CPF = "11122233344";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Client client;
+    private Pet pet;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setCpf(CPF);
+        user.setName("owner_scoped_update_user");
+        user.setRole(Role.CLIENT);
+        user.setPassword("password");
+        userRepository.save(user);
+
+        Breed breed = new Breed();
+        breed.setDescription("Owner Scoped Update Breed");
+        breedRepository.save(breed);
+
+        client = new Client();
+        client.setName("Client");
+        client.setCpf(CPF);
+        client.setRegistrationDate(LocalDateTime.now());
+        clientRepository.save(client);
+
+        pet = new Pet();
+        pet.setClient(client);
+        pet.setBreed(breed);
+        pet.setName("Rex");
+        pet.setBirthDate(LocalDate.of(2020, 1, 1));
+        petRepository.save(pet);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testUpdatePet_ReturnsUpdatedRowNotManagedInstance() {
+        Pet managed = petRepository.findById(pet.getId()).orElseThrow();
+
+        Pet updated = petRepository.updateByIdAndUserCpf(pet.getId(), CPF, null, null, "Max", null).orElseThrow();
+
+        assertNotSame(managed, updated);
+        assertEquals("Max", updated.getName());
+        assertEquals(LocalDate.of(2020, 1, 1), updated.getBirthDate());
+    }
+
+    @Test
+    void testUpdatePet_FlushesPendingChangesFirst() {
+        Pet managed = petRepository.findById(pet.getId()).orElseThrow();
+        managed.setName("Pending");
+
+        Pet updated = petRepository
+                .updateByIdAndUserCpf(pet.getId(), CPF, null, null, null, LocalDate.of(2021, 6, 1)).orElseThrow();
+
+        assertEquals("Pending", updated.getName());
+        assertEquals(LocalDate.of(2021, 6, 1), updated.getBirthDate());
+    }
+
+    @Test
+    void testUpdateClient_ReturnsUpdatedRow() {
+        clientRepository.findById(client.getId()).orElseThrow();
+
+        Client updated = clientRepository.updateByIdAndCpf(client.getId(), CPF, "Renamed", null).orElseThrow();
+
+        assertEquals("Renamed", updated.getName());
+    }
+
+    @Test
+    void testUpdateAppointment_ReturnsUpdatedRow() {
+        Appointment appointment = new Appointment();
+        appointment.setPet(pet);
+        appointment.setDescription("Checkup");
+        appointment.setCost(100.0);
+        appointment.setDate(LocalDateTime.now());
+        Long id = appointmentRepository.saveAndFlush(appointment).getId();
+
+        Appointment updated = appointmentRepository.updateByIdAndUserCpf(id, CPF, null, "Vaccine", 150.0, null)
+                .orElseThrow();
+
+        assertEquals("Vaccine", updated.getDescription());
+        assertEquals(150.0, updated.getCost());
+    }
+
+    @Test
+    void testUpdateContact_ReturnsUpdatedRow() {
+        Contact contact = new Contact();
+        contact.setClient(client);
+        contact.setType("EMAIL");
+        contact.setValue("old@petshop.com");
+        Long id = contactRepository.saveAndFlush(contact).getId();
+
+        Contact updated = contactRepository.updateByIdAndUserCpf(id, CPF, null, null, null, "new@petshop.com")
+                .orElseThrow();
+
+        assertEquals("new@petshop.com", updated.getValue());
+        assertEquals("EMAIL", updated.getType());
+    }
+
+    @Test
+    void testUpdateAddress_ReturnsUpdatedRow() {
+        Address address = new Address();
+        address.setClient(client);
+        address.setStreet("Old Street");
+        address.setCity("City");
+        Long id = addressRepository.saveAndFlush(address).getId();
+
+        Address updated = addressRepository.updateByIdAndUserCpf(id, CPF, null, "New Street", null, null, null, null)
+                .orElseThrow();
+
+        assertEquals("New Street", updated.getStreet());
+        assertEquals("City", updated.getCity());
+    }
+}
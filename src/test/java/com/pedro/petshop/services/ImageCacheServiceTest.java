@@ -0,0 +1,178 @@
+package com.pedro.petshop.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.pedro.petshop.configs.ByteBufferResource;
+import com.pedro.petshop.dtos.ImageDTO;
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImageCacheServiceTest {
+
+    private static final byte[] CONTENT = { 1, 2, 3, 4, 5, 6, 7, 8 };
+    private static final String OWNER = "12345678900";
+
+    private MeterRegistry meterRegistry;
+    private ImageCacheService imageCacheService;
+    private AtomicInteger lookups;
+
+    @BeforeEach
+    void setUp() {
+        ImageStoreService imageStoreService = mock(ImageStoreService.class);
+        when(imageStoreService.open(any(ImageMetadataDTO.class), isNull())).thenAnswer(invocation -> Optional
+                .of(new ImageDTO(new ByteArrayResource(CONTENT), MediaType.IMAGE_PNG_VALUE, "etag", 0L)));
+
+        meterRegistry = new SimpleMeterRegistry();
+        imageCacheService = new ImageCacheService(imageStoreService, meterRegistry, 10, 10, 300);
+        lookups = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testGet_HitAfterMiss() throws IOException {
+        get(1L, OWNER);
+        Optional<ImageDTO> cached = get(1L, OWNER);
+
+        assertEquals(1, lookups.get());
+        assertArrayEquals(CONTENT, cached.orElseThrow().getResource().getContentAsByteArray());
+    }
+
+    @Test
+    void testGet_OtherOwnerMisses() {
+        get(1L, OWNER);
+        get(1L, "98765432100");
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void testEvict_RepeatsAfterCommit() {
+        get(1L, OWNER);
+        TransactionSynchronizationManager.initSynchronization();
+
+        imageCacheService.evict(ImageCacheService.PET, 1L);
+        get(1L, OWNER);
+        get(1L, OWNER);
+        assertEquals(2, lookups.get(), "a read before the commit reloads and caches the old row");
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        get(1L, OWNER);
+        assertEquals(3, lookups.get());
+    }
+
+    @Test
+    void testEvictOwner_RepeatsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        imageCacheService.evictOwner(ImageCacheService.PET, OWNER);
+        get(1L, OWNER);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        get(1L, OWNER);
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void testEvict_ManyIds() {
+        get(1L, OWNER);
+        imageCacheService.evict(ImageCacheService.PET, List.of(1L, 2L));
+        get(1L, OWNER);
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void testGet_LoadRacingEvictionIsNotAdmitted() {
+        get(1L, OWNER, () -> {
+            imageCacheService.evict(ImageCacheService.PET, 1L);
+            return metadata();
+        });
+        get(1L, OWNER);
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void testAdmit_ColdImageDoesNotEvictHotOne() {
+        for (int i = 0; i < 3; i++)
+            get(1L, OWNER);
+        get(2L, OWNER);
+        get(1L, OWNER);
+
+        assertEquals(2, lookups.get());
+        assertEquals(1, meterRegistry.counter("petshop.image.cache.rejections").count());
+        assertEquals(0, meterRegistry.counter("petshop.image.cache.evictions").count());
+    }
+
+    @Test
+    void testAdmit_RejectedImageIsServedFromStoreWithoutCopy() throws IOException {
+        for (int i = 0; i < 3; i++)
+            get(1L, OWNER);
+        Optional<ImageDTO> rejected = get(2L, OWNER);
+
+        assertInstanceOf(ByteArrayResource.class, rejected.orElseThrow().getResource());
+        assertArrayEquals(CONTENT, rejected.orElseThrow().getResource().getContentAsByteArray());
+        assertEquals(1, meterRegistry.counter("petshop.image.cache.rejections").count());
+        assertEquals(8.0, meterRegistry.get("petshop.image.cache.bytes").gauge().value());
+    }
+
+    @Test
+    void testAdmit_AdmittedImageIsServedFromMemory() {
+        Optional<ImageDTO> admitted = get(1L, OWNER);
+
+        assertInstanceOf(ByteBufferResource.class, admitted.orElseThrow().getResource());
+    }
+
+    @Test
+    void testAdmit_HotterImageEvictsColderOne() {
+        get(1L, OWNER);
+        get(2L, OWNER);
+        get(2L, OWNER);
+        get(1L, OWNER);
+
+        assertEquals(4, lookups.get());
+        assertEquals(1, meterRegistry.counter("petshop.image.cache.evictions").count());
+    }
+
+    private Optional<ImageDTO> get(Long id, String owner) {
+        return get(id, owner, this::metadata);
+    }
+
+    private Optional<ImageDTO> get(Long id, String owner, Supplier<Optional<ImageMetadataDTO>> lookup) {
+        return imageCacheService.get(ImageCacheService.PET, id, null, owner, () -> {
+            lookups.incrementAndGet();
+            return lookup.get();
+        });
+    }
+
+    private Optional<ImageMetadataDTO> metadata() {
+        return Optional.of(new ImageMetadataDTO("image", MediaType.IMAGE_PNG_VALUE, "etag"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.pedro.petshop.services;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.pedro.petshop.dtos.ImageMetadataDTO;
+import com.pedro.petshop.repositories.ImageBlobRepository;
+
+@SpringBootTest(properties = "image.store.purge-interval-ms=3600000")
+class ImageStoreServiceTest {
+
+    @Autowired
+    private ImageStoreService imageStoreService;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private ImageStore imageStore;
+
+    @MockitoBean
+    private ThumbnailService thumbnailService;
+
+    @Test
+    void testPurgeUnreferenced_ConcurrentStoreKeepsFile() throws Exception {
+        MockMultipartFile file = file();
+        String hash = imageStoreService.store(file).getImage();
+        expire(hash);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<Future<ImageMetadataDTO>> restore = new AtomicReference<>();
+
+        doAnswer(invocation -> {
+            restore.set(executor.submit(() -> imageStoreService.store(file)));
+            assertThrows(TimeoutException.class, () -> restore.get().get(500, MILLISECONDS),
+                    "store went past touch while the purge still held the row");
+            return invocation.callRealMethod();
+        }).when(imageStore).delete(hash);
+
+        try {
+            imageStoreService.purgeUnreferenced();
+            assertEquals(hash, restore.get().get(10, SECONDS).getImage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(imageBlobRepository.existsById(hash));
+        assertTrue(imageStore.contains(hash));
+    }
+
+    @Test
+    void testStore_RowWithoutFileIsWrittenAgain() throws Exception {
+        MockMultipartFile file = file();
+        String hash = imageStoreService.store(file).getImage();
+        imageStore.delete(hash);
+
+        imageStoreService.store(file);
+
+        assertTrue(imageBlobRepository.existsById(hash));
+        assertTrue(imageStore.contains(hash));
+    }
+
+    private void expire(String hash) {
+        jdbcTemplate.update("UPDATE image_blobs SET touched_at = NOW() - INTERVAL '1 day' WHERE hash = ?", hash);
+    }
+
+    private static MockMultipartFile file() {
+        return new MockMultipartFile("file", "pet.bin", "application/octet-stream",
+                UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,155 @@
+package com.pedro.petshop.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.pedro.petshop.entities.ImageSweepCursor;
+import com.pedro.petshop.repositories.ImageBlobRepository;
+import com.pedro.petshop.repositories.ImageSweepCursorRepository;
+import com.pedro.petshop.services.ImageStore.StoredImage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImageSweeperServiceTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final double UNLIMITED = 1e12;
+    private static final long OLD = System.currentTimeMillis() - 2 * 60 * 60 * 1000;
+
+    private ImageStore imageStore;
+    private ImageBlobRepository imageBlobRepository;
+    private ImageSweepCursorRepository imageSweepCursorRepository;
+    private PlatformTransactionManager transactionManager;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStore = mock(ImageStore.class);
+        imageBlobRepository = mock(ImageBlobRepository.class);
+        imageSweepCursorRepository = mock(ImageSweepCursorRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(imageSweepCursorRepository.findById("image-store")).thenReturn(Optional.empty());
+        when(imageStore.delete(anyString())).thenReturn(true);
+        when(imageStore.listTempFiles()).thenReturn(List.of());
+    }
+
+    @Test
+    void testSweep_ResumesFromSavedCursor() throws IOException {
+        when(imageSweepCursorRepository.findById("image-store"))
+                .thenReturn(Optional.of(new ImageSweepCursor("image-store", "b", null)));
+        when(imageStore.list("b", BATCH_SIZE)).thenReturn(List.of(image("c"), image("d"), image("e")));
+        referenced("c", "d", "e");
+
+        sweeper(UNLIMITED).sweep();
+
+        assertEquals(List.of("e"), savedCursors());
+        verify(imageStore, never()).listTempFiles();
+    }
+
+    @Test
+    void testSweep_ShortBatchFinishesPassAndResetsCursor() throws IOException {
+        when(imageStore.list("", BATCH_SIZE)).thenReturn(List.of(image("a")));
+        referenced("a");
+
+        sweeper(UNLIMITED).sweep();
+
+        assertEquals(List.of("a", ""), savedCursors());
+        assertEquals(1, meterRegistry.counter("petshop.image.sweep.passes").count());
+    }
+
+    @Test
+    void testSweep_RateLimitStopsCursorBeforeOrphan() throws IOException {
+        when(imageStore.list("", BATCH_SIZE)).thenReturn(List.of(image("a"), image("b"), image("c")));
+        referenced("a", "c");
+
+        sweeper(0).sweep();
+
+        verify(imageStore, never()).delete(anyString());
+        assertEquals(List.of("a"), savedCursors());
+        verify(imageStore, never()).listTempFiles();
+    }
+
+    @Test
+    void testSweep_KeepsOrphanWithinGracePeriod() throws IOException {
+        when(imageStore.list("", BATCH_SIZE))
+                .thenReturn(List.of(new StoredImage("a", 10, System.currentTimeMillis())));
+        referenced();
+
+        sweeper(UNLIMITED).sweep();
+
+        verify(imageStore, never()).delete(anyString());
+        assertEquals(List.of("a", ""), savedCursors());
+    }
+
+    @Test
+    void testSweep_VariantKeysMapToBaseHash() throws IOException {
+        when(imageStore.list("", BATCH_SIZE))
+                .thenReturn(List.of(image("h1"), image("h1.128"), image("h2.256")));
+        referenced("h1");
+
+        sweeper(UNLIMITED).sweep();
+
+        verify(imageBlobRepository).findReferenced(Set.of("h1", "h2"));
+        verify(imageStore, never()).delete("h1.128");
+        verify(imageBlobRepository).lock("h2");
+        verify(imageStore).delete("h2.256");
+        assertEquals(1, meterRegistry.counter("petshop.image.sweep.deleted", "kind", "image").count());
+    }
+
+    @Test
+    void testSweep_OrphanReferencedSinceSnapshotIsKept() throws IOException {
+        when(imageStore.list("", BATCH_SIZE)).thenReturn(List.of(image("a")));
+        when(imageBlobRepository.findReferenced(any())).thenReturn(Set.of(), Set.of("a"));
+
+        sweeper(UNLIMITED).sweep();
+
+        verify(imageBlobRepository).lock("a");
+        verify(imageStore, never()).delete(anyString());
+    }
+
+    private ImageSweeperService sweeper(double deletesPerSecond) {
+        return new ImageSweeperService(imageStore, imageBlobRepository, imageSweepCursorRepository, meterRegistry,
+                transactionManager, BATCH_SIZE, deletesPerSecond, 60, 1440);
+    }
+
+    private void referenced(String... hashes) {
+        Set<String> referenced = Set.of(hashes);
+        when(imageBlobRepository.findReferenced(any())).thenAnswer(invocation -> invocation
+                .<Collection<String>>getArgument(0).stream()
+                .filter(referenced::contains)
+                .collect(Collectors.toSet()));
+    }
+
+    private List<String> savedCursors() {
+        ArgumentCaptor<ImageSweepCursor> cursors = ArgumentCaptor.forClass(ImageSweepCursor.class);
+        verify(imageSweepCursorRepository, atLeastOnce()).save(cursors.capture());
+        return cursors.getAllValues().stream().map(ImageSweepCursor::getLastKey).toList();
+    }
+
+    private static StoredImage image(String key) {
+        return new StoredImage(key, 10, OLD);
+    }
+}
@@ -0,0 +1,200 @@
+package com.pedro.petshop.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pedro.petshop.dtos.ImageDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PackFileImageStoreTest {
+
+    private static final long SEGMENT_SIZE = 1 << 20;
+    private static final int IMAGE_SIZE = 400_000;
+
+    @TempDir
+    Path root;
+
+    private PackFileImageStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void testReopen_DropsHalfWrittenRecord() throws IOException {
+        byte[] first = content(1);
+        byte[] second = content(2);
+        put("a", first);
+        put("b", second);
+        store.close();
+
+        // Zero the tail of the last record, as if the crash hit before its data reached the disk.
+        Path segment = segment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = lastNonZero(segment) + 1;
+            channel.write(ByteBuffer.allocate(1000), end - 1000);
+        }
+
+        store = open();
+        assertArrayEquals(first, read("a"));
+        assertFalse(store.contains("b"));
+
+        put("c", content(3));
+        store.close();
+        store = open();
+
+        assertArrayEquals(first, read("a"));
+        assertArrayEquals(content(3), read("c"));
+        assertFalse(store.contains("b"));
+    }
+
+    @Test
+    void testReopen_DropsTruncatedRecord() throws IOException {
+        byte[] first = content(1);
+        put("a", first);
+        put("b", content(2));
+        store.close();
+
+        Path segment = segment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(lastNonZero(segment) + 1 - IMAGE_SIZE - 10);
+        }
+
+        store = open();
+
+        assertArrayEquals(first, read("a"));
+        assertFalse(store.contains("b"));
+    }
+
+    @Test
+    void testReopen_AfterDelete() throws IOException {
+        byte[] second = content(2);
+        put("a", content(1));
+        put("b", second);
+        assertTrue(store.delete("a"));
+        store.close();
+
+        store = open();
+
+        assertFalse(store.contains("a"));
+        assertArrayEquals(second, read("b"));
+    }
+
+    @Test
+    void testReopen_AfterDeleteAndCompaction() throws IOException {
+        byte[] second = content(2);
+        byte[] third = content(3);
+        put("a", content(1));
+        put("b", second);
+        put("c", third);
+        assertTrue(store.delete("a"));
+
+        store.compact();
+        store.close();
+        store = open();
+
+        assertFalse(store.contains("a"));
+        assertArrayEquals(second, read("b"));
+        assertArrayEquals(third, read("c"));
+        try (Stream<Path> segments = Files.list(root.resolve("packs"))) {
+            assertTrue(segments.noneMatch(path -> path.getFileName().toString().equals("segment-000001.pack")));
+        }
+    }
+
+    @Test
+    void testCompact_WhileReadsInFlight() throws Exception {
+        byte[] second = content(2);
+        put("a", content(1));
+        put("b", second);
+        put("c", content(3));
+        store.delete("a");
+
+        ImageDTO opened = store.open("b", null, null).orElseThrow();
+        AtomicBoolean compacted = new AtomicBoolean();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Integer> reads = executor.submit(() -> {
+                int count = 0;
+                do {
+                    assertArrayEquals(second, read("b"));
+                    count++;
+                } while (!compacted.get());
+                return count;
+            });
+
+            store.compact();
+            compacted.set(true);
+
+            assertTrue(reads.get(10, TimeUnit.SECONDS) > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(second, opened.getResource().getContentAsByteArray());
+        assertArrayEquals(second, read("b"));
+    }
+
+    private PackFileImageStore open() throws IOException {
+        return new PackFileImageStore(new SimpleMeterRegistry(), root.toString(), SEGMENT_SIZE, 0.5);
+    }
+
+    private void put(String key, byte[] content) throws IOException {
+        Path temporary = store.createTempFile(".tmp");
+        Files.write(temporary, content);
+        store.put(key, temporary);
+        Files.deleteIfExists(temporary);
+    }
+
+    private byte[] read(String key) throws IOException {
+        try (InputStream in = store.read(key)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Path segment() {
+        return root.resolve("packs").resolve("segment-000001.pack");
+    }
+
+    private static byte[] content(int seed) {
+        byte[] content = new byte[IMAGE_SIZE];
+        Arrays.fill(content, (byte) seed);
+        return content;
+    }
+
+    private static long lastNonZero(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int last = bytes.length - 1;
+        while (last >= 0 && bytes[last] == 0)
+            last--;
+        return last;
+    }
+}
@@ -0,0 +1,79 @@
+package com.pedro.petshop.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.pedro.petshop.entities.User;
+import com.pedro.petshop.enums.Role;
+import com.pedro.petshop.repositories.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserRoleCacheServiceTest {
+
+    private static final String CPF = "12345678900";
+    private static final String NAME = "admin";
+
+    private UserRepository userRepository;
+    private UserRoleCacheService userRoleCacheService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userRoleCacheService = new UserRoleCacheService(userRepository, new SimpleMeterRegistry(), 100, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testEvictByCpf_RepeatsAfterCommit() {
+        when(userRepository.findByName(NAME)).thenReturn(Optional.of(user(Role.ADMIN)));
+        userRoleCacheService.findRoleByName(NAME);
+        TransactionSynchronizationManager.initSynchronization();
+
+        userRoleCacheService.evictByCpf(CPF);
+        userRoleCacheService.findRoleByName(NAME);
+
+        when(userRepository.findByName(NAME)).thenReturn(Optional.of(user(Role.CLIENT)));
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertEquals(Optional.of(Role.CLIENT), userRoleCacheService.findRoleByName(NAME));
+        verify(userRepository, times(3)).findByName(NAME);
+    }
+
+    @Test
+    void testFindRoleByName_LoadRacingEvictionIsNotCached() {
+        when(userRepository.findByName(NAME)).thenAnswer(invocation -> {
+            userRoleCacheService.evictByCpf(CPF);
+            return Optional.of(user(Role.ADMIN));
+        });
+        userRoleCacheService.findRoleByName(NAME);
+
+        when(userRepository.findByName(NAME)).thenReturn(Optional.of(user(Role.CLIENT)));
+
+        assertEquals(Optional.of(Role.CLIENT), userRoleCacheService.findRoleByName(NAME));
+    }
+
+    private static User user(Role role) {
+        User user = new User();
+        user.setCpf(CPF);
+        user.setName(NAME);
+        user.setRole(role);
+        return user;
+    }
+}